@@ -0,0 +1,215 @@
+package nl.naturalis.common.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Generates an {@code AccessorTableProvider} for each class annotated with
+ * {@code @GenerateAccessors}, and registers the generated providers in
+ * {@code META-INF/services}. The getters and setters in the generated tables
+ * are the ones that the {@code GetterFactory} (in strict mode) and the
+ * {@code SetterFactory} would find through reflection. The processor refers to
+ * the annotation by name only, so it does not depend on naturalis-common itself.
+ *
+ * @author Ayco Holleman
+ */
+@SupportedAnnotationTypes(AccessorTableProcessor.ANNOTATION)
+public final class AccessorTableProcessor extends AbstractProcessor {
+
+  static final String ANNOTATION = "nl.naturalis.common.invoke.GenerateAccessors";
+
+  static final String SERVICE = "nl.naturalis.common.invoke.AccessorTableProvider";
+
+  static final String SUFFIX = "$Accessors";
+
+  private static final String TABLE = "nl.naturalis.common.invoke.AccessorTable";
+
+  private static final Set<String> NON_GETTERS = Set.of("getClass",
+      "toString",
+      "hashCode");
+
+  private final Set<String> providers = new TreeSet<>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+    for (TypeElement annotation : annotations) {
+      for (Element e : round.getElementsAnnotatedWith(annotation)) {
+        if (e.getKind() != ElementKind.CLASS && e.getKind() != ElementKind.RECORD) {
+          error(e, "@GenerateAccessors only applies to classes and records");
+        } else if (!isAccessible((TypeElement) e)) {
+          error(e, "@GenerateAccessors requires a public, top-level or static class");
+        } else {
+          generate((TypeElement) e);
+        }
+      }
+    }
+    if (round.processingOver() && !providers.isEmpty()) {
+      writeServiceFile();
+    }
+    return false;
+  }
+
+  private void generate(TypeElement type) {
+    Map<String, ExecutableElement> getters = new LinkedHashMap<>();
+    Map<String, ExecutableElement> setters = new LinkedHashMap<>();
+    if (type.getKind() == ElementKind.RECORD) {
+      for (RecordComponentElement rc : type.getRecordComponents()) {
+        getters.put(rc.getSimpleName().toString(), rc.getAccessor());
+      }
+    } else {
+      collectAccessors(type, getters, setters);
+    }
+    String pkg = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+    String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+    String simpleName = (pkg.isEmpty() ? binaryName : binaryName.substring(pkg.length() + 1))
+        + SUFFIX;
+    String qualifiedName = pkg.isEmpty() ? simpleName : pkg + '.' + simpleName;
+    String bean = rawName(type);
+    StringBuilder sb = new StringBuilder(512);
+    if (!pkg.isEmpty()) {
+      sb.append("package ").append(pkg).append(";\n\n");
+    }
+    sb.append("// Generated by ").append(getClass().getName()).append(". Do not edit.\n")
+        .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+        .append("public final class ").append(simpleName)
+        .append(" implements ").append(SERVICE).append(" {\n\n")
+        .append("  @Override\n")
+        .append("  public java.util.List<").append(TABLE).append("<?>> getAccessorTables() {\n")
+        .append("    return java.util.List.of(").append(TABLE)
+        .append(".of(").append(bean).append(".class)");
+    getters.forEach((prop, m) -> sb.append("\n        .getter(\"").append(prop)
+        .append("\", ").append(rawName(m.getReturnType()))
+        .append(".class, ").append(bean).append("::").append(m.getSimpleName()).append(')'));
+    setters.forEach((prop, m) -> sb.append("\n        .setter(\"").append(prop)
+        .append("\", ").append(rawName(m.getParameters().get(0).asType()))
+        .append(".class, ").append(bean).append("::").append(m.getSimpleName()).append(')'));
+    sb.append("\n        .build());\n  }\n\n}\n");
+    try {
+      JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+      try (Writer w = file.openWriter()) {
+        w.write(sb.toString());
+      }
+    } catch (IOException e) {
+      error(type, "Failed to generate " + qualifiedName + ": " + e);
+      return;
+    }
+    providers.add(qualifiedName);
+  }
+
+  // Mirrors the way GetterFactory (in strict mode) and SetterFactory select methods
+  private void collectAccessors(TypeElement type,
+      Map<String, ExecutableElement> getters,
+      Map<String, ExecutableElement> setters) {
+    var members = processingEnv.getElementUtils().getAllMembers(type);
+    for (ExecutableElement m : ElementFilter.methodsIn(members)) {
+      Set<Modifier> mods = m.getModifiers();
+      if (!mods.contains(Modifier.PUBLIC) || mods.contains(Modifier.STATIC)) {
+        continue;
+      }
+      String n = m.getSimpleName().toString();
+      TypeMirror rt = m.getReturnType();
+      if (m.getParameters().isEmpty() && rt.getKind() != TypeKind.VOID) {
+        if (NON_GETTERS.contains(n)) {
+          continue;
+        }
+        if (n.length() > 4 && n.startsWith("get") && Character.isUpperCase(n.charAt(3))) {
+          getters.putIfAbsent(propertyName(n, 3), m);
+        } else if (n.length() > 3
+            && n.startsWith("is")
+            && Character.isUpperCase(n.charAt(2))
+            && isBoolean(rt)) {
+          getters.putIfAbsent(propertyName(n, 2), m);
+        }
+      } else if (m.getParameters().size() == 1
+          && rt.getKind() == TypeKind.VOID
+          && n.length() > 3
+          && n.startsWith("set")
+          && Character.isUpperCase(n.charAt(3))) {
+        if (setters.putIfAbsent(propertyName(n, 3), m) != null) {
+          warning(m, "Ignoring overloaded setter " + n);
+        }
+      }
+    }
+  }
+
+  private void writeServiceFile() {
+    try {
+      FileObject file = processingEnv.getFiler()
+          .createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/" + SERVICE);
+      try (Writer w = file.openWriter()) {
+        for (String provider : providers) {
+          w.write(provider);
+          w.write('\n');
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private boolean isAccessible(TypeElement type) {
+    if (!type.getModifiers().contains(Modifier.PUBLIC)) {
+      return false;
+    }
+    Element outer = type.getEnclosingElement();
+    if (outer instanceof PackageElement) {
+      return true;
+    }
+    return type.getModifiers().contains(Modifier.STATIC)
+        && outer instanceof TypeElement
+        && isAccessible((TypeElement) outer);
+  }
+
+  private boolean isBoolean(TypeMirror t) {
+    return t.getKind() == TypeKind.BOOLEAN || rawName(t).equals("java.lang.Boolean");
+  }
+
+  private String rawName(TypeElement type) {
+    return type.getQualifiedName().toString();
+  }
+
+  private String rawName(TypeMirror t) {
+    return processingEnv.getTypeUtils().erasure(t).toString();
+  }
+
+  private static String propertyName(String methodName, int from) {
+    return Character.toLowerCase(methodName.charAt(from)) + methodName.substring(from + 1);
+  }
+
+  private void error(Element e, String msg) {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, msg, e);
+  }
+
+  private void warning(Element e, String msg) {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, msg, e);
+  }
+
+}
@@ -0,0 +1,172 @@
+package nl.naturalis.common.processor;
+
+import nl.naturalis.common.invoke.AccessorTable;
+import nl.naturalis.common.invoke.AccessorTableProvider;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class AccessorTableProcessorTest {
+
+  private static final String PERSON = """
+      package com.example;
+
+      @nl.naturalis.common.invoke.GenerateAccessors
+      public class Person extends Base {
+        private String name;
+        private int age;
+        private boolean retired;
+        public String getName() {return name;}
+        public void setName(String name) {this.name = name;}
+        public int getAge() {return age;}
+        public void setAge(int age) {this.age = age;}
+        public boolean isRetired() {return retired;}
+        public void setRetired(boolean retired) {this.retired = retired;}
+        public String shout() {return name.toUpperCase();}
+        public static String getStatic() {return "";}
+        @nl.naturalis.common.invoke.GenerateAccessors
+        public static class Nested {
+          public java.util.List<String> getTags() {return java.util.List.of("a");}
+        }
+      }
+      """;
+
+  private static final String BASE = """
+      package com.example;
+
+      public class Base {
+        private long id;
+        public long getId() {return id;}
+        public void setId(long id) {this.id = id;}
+      }
+      """;
+
+  private static final String POINT = """
+      package com.example;
+
+      @nl.naturalis.common.invoke.GenerateAccessors
+      public record Point(int x, int y) {}
+      """;
+
+  private static final String HIDDEN = """
+      package com.example;
+
+      @nl.naturalis.common.invoke.GenerateAccessors
+      class Hidden {
+        public String getFoo() {return "foo";}
+      }
+      """;
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  @Test
+  public void generate00() throws Throwable {
+    Path out = tmp.newFolder().toPath();
+    DiagnosticCollector<JavaFileObject> diagnostics = compile(out, PERSON, BASE, POINT);
+    assertTrue(diagnostics.getDiagnostics().toString(), compiledOk(diagnostics));
+    Path services = out.resolve("META-INF/services/" + AccessorTableProcessor.SERVICE);
+    assertEquals(List.of("com.example.Person$Accessors",
+            "com.example.Person$Nested$Accessors",
+            "com.example.Point$Accessors"),
+        Files.readAllLines(services));
+    try (URLClassLoader loader = new URLClassLoader(new URL[] {out.toUri().toURL()},
+        getClass().getClassLoader())) {
+      AccessorTable<?> person = table(loader, "com.example.Person$Accessors");
+      assertEquals(Set.of("name", "age", "retired", "id"), person.getGetters().keySet());
+      assertEquals(Set.of("name", "age", "retired", "id"), person.getSetters().keySet());
+      assertEquals(int.class, person.getGetters().get("age").getReturnType());
+      Object bean = person.getBeanClass().getConstructor().newInstance();
+      person.getSetters().get("age").write(bean, 42);
+      person.getSetters().get("id").write(bean, 7);
+      assertEquals(42, person.getGetters().get("age").read(bean));
+      assertEquals(7L, person.getGetters().get("id").read(bean));
+      AccessorTable<?> nested = table(loader, "com.example.Person$Nested$Accessors");
+      assertEquals(Set.of("tags"), nested.getGetters().keySet());
+      AccessorTable<?> point = table(loader, "com.example.Point$Accessors");
+      assertEquals(Set.of("x", "y"), point.getGetters().keySet());
+      assertTrue(point.getSetters().isEmpty());
+    }
+  }
+
+  @Test
+  public void generate01() throws Exception {
+    DiagnosticCollector<JavaFileObject> diagnostics = compile(tmp.newFolder().toPath(), HIDDEN);
+    assertFalse(compiledOk(diagnostics));
+    assertTrue(diagnostics.getDiagnostics().get(0).getMessage(null).contains("public"));
+  }
+
+  private static AccessorTable<?> table(ClassLoader loader, String provider)
+      throws ReflectiveOperationException {
+    Class<?> c = loader.loadClass(provider);
+    AccessorTableProvider p = (AccessorTableProvider) c.getConstructor().newInstance();
+    assertEquals(1, p.getAccessorTables().size());
+    return p.getAccessorTables().get(0);
+  }
+
+  private static DiagnosticCollector<JavaFileObject> compile(Path out, String... sources)
+      throws Exception {
+    JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    List<JavaFileObject> units = new ArrayList<>();
+    for (String src : sources) {
+      String name = src.replaceAll("(?s).*?public (class|record) (\\w+).*", "$2");
+      if (name.equals(src)) {
+        name = src.replaceAll("(?s).*?\\nclass (\\w+).*", "$1");
+      }
+      units.add(new Source(name, src));
+    }
+    // The directory or jar containing naturalis-common
+    String lib = new File(AccessorTable.class.getProtectionDomain()
+        .getCodeSource()
+        .getLocation()
+        .toURI()).getPath();
+    List<String> options = List.of("-d", out.toString(), "-classpath", lib);
+    JavaCompiler.CompilationTask task = javac.getTask(null,
+        null,
+        diagnostics,
+        options,
+        null,
+        units);
+    task.setProcessors(List.of(new AccessorTableProcessor()));
+    task.call();
+    return diagnostics;
+  }
+
+  private static boolean compiledOk(DiagnosticCollector<JavaFileObject> diagnostics) {
+    return diagnostics.getDiagnostics().stream()
+        .noneMatch(d -> d.getKind() == javax.tools.Diagnostic.Kind.ERROR);
+  }
+
+  private static final class Source extends SimpleJavaFileObject {
+    private final String code;
+
+    Source(String className, String code) {
+      super(URI.create("string:///com/example/" + className + ".java"), Kind.SOURCE);
+      this.code = code;
+    }
+
+    @Override
+    public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+      return code;
+    }
+  }
+
+}
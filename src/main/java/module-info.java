@@ -5,6 +5,8 @@
  * @author Ayco Holleman
  */
 module nl.naturalis.common {
+  requires static jdk.incubator.vector;
+
   exports nl.naturalis.common;
   exports nl.naturalis.common.check;
   exports nl.naturalis.common.collection;
@@ -14,4 +16,6 @@ module nl.naturalis.common {
   exports nl.naturalis.common.path;
   exports nl.naturalis.common.io;
   exports nl.naturalis.common.util;
+
+  uses nl.naturalis.common.invoke.AccessorTableProvider;
 }
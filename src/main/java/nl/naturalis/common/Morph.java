@@ -2,9 +2,11 @@ package nl.naturalis.common;
 
 import nl.naturalis.common.check.Check;
 import nl.naturalis.common.invoke.BeanWriter;
+import nl.naturalis.common.util.EnumParser;
 
 import java.lang.reflect.Array;
 import java.util.Collection;
+import java.util.function.Function;
 
 import static nl.naturalis.common.ClassMethods.*;
 import static nl.naturalis.common.check.CommonChecks.notNull;
@@ -42,6 +44,53 @@ public class Morph<T> {
     return new Morph<>(targetType).convert(obj);
   }
 
+  /**
+   * Returns a function that converts instances of the specified source type to the
+   * specified target type. The function yields the same result as
+   * {@link #convert(Object, Class) convert}, but the decision as to <i>how</i> to
+   * convert instances of the source type is made just once, up front, rather than
+   * for each and every value. Use this method when converting large numbers of
+   * values whose type is known in advance, and cache the returned function. The
+   * function must only be passed non-null instances of exactly the specified source
+   * type (not subclasses of it).
+   *
+   * @param <U> The target type
+   * @param sourceType The type of the values to be converted
+   * @param targetType The type to which to convert the values
+   * @return A function converting instances of the source type to the target type
+   */
+  public static <U> Function<Object, U> converter(Class<?> sourceType,
+      Class<U> targetType) {
+    Check.notNull(sourceType, "sourceType");
+    Check.notNull(targetType, "targetType");
+    Class toType = targetType;
+    if (toType.isAssignableFrom(sourceType)) {
+      return obj -> (U) obj;
+    } else if (isAutoUnboxedAs(sourceType, toType)) {
+      return obj -> (U) obj;
+    } else if (toType == String.class) {
+      return obj -> (U) obj.toString();
+    } else if (toType.isArray()) {
+      return obj -> MorphToArray.morph(obj, toType);
+    } else if (isSubtype(toType, Collection.class)) {
+      return obj -> (U) MorphToCollection.morph(obj, toType);
+    } else if (sourceType.isArray() || isSubtype(sourceType, Collection.class)) {
+      // Depends on the array's or collection's first element
+      Morph<U> morph = new Morph<>(targetType);
+      return morph::convert;
+    }
+    Function<Object, Object> f = MorphToNumber.resolve(sourceType, toType);
+    if (f != null) {
+      return (Function<Object, U>) f;
+    } else if (toType.isEnum()) {
+      EnumParser parser = new EnumParser(toType);
+      return obj -> (U) parser.parse(obj);
+    }
+    return obj -> {
+      throw new TypeConversionException(obj, toType);
+    };
+  }
+
   private final Class<T> targetType;
 
   /**
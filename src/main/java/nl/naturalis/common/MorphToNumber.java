@@ -1,5 +1,7 @@
 package nl.naturalis.common;
 
+import java.util.function.Function;
+
 import static nl.naturalis.common.ArrayMethods.refIndexOf;
 import static nl.naturalis.common.ClassMethods.box;
 import static nl.naturalis.common.Morph.stringify;
@@ -29,6 +31,28 @@ final class MorphToNumber {
     return null;
   }
 
+  // Same as morph, but resolves the conversion for values of type myType up front.
+  // Returns null if toType is not a boolean, char or number type.
+  static Function<Object, Object> resolve(Class myType, Class toType) {
+    Class type = box(toType);
+    if (type == Boolean.class) {
+      return Bool::from;
+    } else if (type == Character.class) {
+      return obj -> toChar(obj, toType);
+    } else if (ClassMethods.isSubtype(type, Number.class)) {
+      if (ClassMethods.isSubtype(myType, Number.class)) {
+        return obj -> NumberMethods.convert((Number) obj, type);
+      } else if (myType.isEnum()) {
+        Object[] constants = myType.getEnumConstants();
+        return obj -> refIndexOf(constants, obj);
+      } else if (myType == Character.class) {
+        return obj -> charToNumber(obj, type);
+      }
+      return obj -> NumberMethods.parse(stringify(obj), type);
+    }
+    return null;
+  }
+
   private static Number toNumber(Object obj, Class toType) {
     Class myType = obj.getClass();
     if (ClassMethods.isSubtype(myType, Number.class)) {
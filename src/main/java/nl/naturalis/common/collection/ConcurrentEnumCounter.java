@@ -0,0 +1,169 @@
+package nl.naturalis.common.collection;
+
+import nl.naturalis.common.CollectionMethods;
+import nl.naturalis.common.check.Check;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.AbstractMap.SimpleImmutableEntry;
+import static nl.naturalis.common.check.CommonChecks.empty;
+
+/**
+ * A thread-safe, enum-keyed counter, for example to keep track of the number of
+ * records per status in a multithreaded batch job. Each enum constant gets its own
+ * {@link LongAdder}, so threads incrementing the counter for different constants
+ * never contend with each other, and threads incrementing the counter for the same
+ * constant contend far less than they would with a single atomic variable. As with
+ * {@code LongAdder}, reading the counters while they are being updated yields a
+ * value that is accurate only in the absence of concurrent updates.
+ *
+ * <p>Contrary to {@link EnumToIntMap} a {@code ConcurrentEnumCounter} has no
+ * notion of absent keys. Each enum constant starts out with a count of zero. Empty
+ * enum classes (i.e. enum classes without enum constants) are not supported.
+ *
+ * @param <K> The type of the enum class
+ * @author Ayco Holleman
+ * @see LongAdder
+ */
+public final class ConcurrentEnumCounter<K extends Enum<K>> {
+
+  private final K[] keys;
+  private final LongAdder[] cells;
+
+  /**
+   * Creates a new {@code ConcurrentEnumCounter} for the specified enum class.
+   *
+   * @param enumClass The type of the enum class
+   */
+  public ConcurrentEnumCounter(Class<K> enumClass) {
+    Check.notNull(enumClass, "enumClass");
+    this.keys = Check.that(enumClass.getEnumConstants())
+        .isNot(empty(), "enum class without enum constants").ok();
+    this.cells = new LongAdder[keys.length];
+    for (int i = 0; i < keys.length; ++i) {
+      cells[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Increments the counter for the specified enum constant by one.
+   *
+   * @param key The enum constant
+   */
+  public void increment(K key) {
+    cells[key.ordinal()].increment();
+  }
+
+  /**
+   * Decrements the counter for the specified enum constant by one.
+   *
+   * @param key The enum constant
+   */
+  public void decrement(K key) {
+    cells[key.ordinal()].decrement();
+  }
+
+  /**
+   * Adds the specified amount to the counter for the specified enum constant.
+   *
+   * @param key The enum constant
+   * @param amount The amount to add
+   */
+  public void add(K key, long amount) {
+    cells[key.ordinal()].add(amount);
+  }
+
+  /**
+   * Returns the current count for the specified enum constant.
+   *
+   * @param key The enum constant
+   * @return The current count for the enum constant
+   * @see LongAdder#sum()
+   */
+  public long sum(K key) {
+    return cells[key.ordinal()].sum();
+  }
+
+  /**
+   * Returns the current count for the specified enum constant and resets it to
+   * zero.
+   *
+   * @param key The enum constant
+   * @return The count for the enum constant before it was reset
+   * @see LongAdder#sumThenReset()
+   */
+  public long sumThenReset(K key) {
+    return cells[key.ordinal()].sumThenReset();
+  }
+
+  /**
+   * Returns the sum of the counts of all enum constants.
+   *
+   * @return the sum of the counts of all enum constants
+   */
+  public long total() {
+    long total = 0;
+    for (LongAdder cell : cells) {
+      total += cell.sum();
+    }
+    return total;
+  }
+
+  /**
+   * Resets the counters for all enum constants to zero.
+   *
+   * @see LongAdder#reset()
+   */
+  public void reset() {
+    for (LongAdder cell : cells) {
+      cell.reset();
+    }
+  }
+
+  /**
+   * Returns an {@link EnumToLongMap} containing the current count for each enum
+   * constant. The returned map is a copy and is not updated as the counters
+   * change.
+   *
+   * @return An {@code EnumToLongMap} containing the current count for each enum
+   *     constant
+   */
+  public EnumToLongMap<K> snapshot() {
+    return new EnumToLongMap<>(enumClass(), k -> cells[k.ordinal()].sum());
+  }
+
+  /**
+   * Returns an {@link EnumToLongMap} containing the current count for each enum
+   * constant, and resets all counters to zero.
+   *
+   * @return An {@code EnumToLongMap} containing the count for each enum constant
+   *     before it was reset
+   * @see #snapshot()
+   */
+  public EnumToLongMap<K> snapshotThenReset() {
+    return new EnumToLongMap<>(enumClass(),
+        k -> cells[k.ordinal()].sumThenReset());
+  }
+
+  /**
+   * Returns the type of the enum keys of this counter.
+   *
+   * @return the type of the enum keys
+   */
+  @SuppressWarnings("unchecked")
+  public Class<K> enumClass() {
+    return (Class<K>) keys[0].getDeclaringClass();
+  }
+
+  @Override
+  public String toString() {
+    Map.Entry<?, ?>[] entries = new Map.Entry[keys.length];
+    for (int i = 0; i < keys.length; ++i) {
+      entries[i] = new SimpleImmutableEntry<>(keys[i], cells[i].sum());
+    }
+    return '[' + CollectionMethods.implode(List.of(entries)) + ']';
+  }
+
+}
@@ -243,6 +243,109 @@ public final class EnumToIntMap<K extends Enum<K>> implements Emptyable {
         .then(m -> m.forEach(this::assign));
   }
 
+  /**
+   * Adds the values in the specified map to the values in this map, key by key.
+   * Keys absent from the specified map are left alone. Keys absent from this map,
+   * but present in the specified map, are added to this map with the value they have
+   * in the specified map. The two maps need not have the same
+   * <i>key-absent-value</i>. Overflows are silently ignored, as with ordinary
+   * {@code int} arithmetic. If a result equals the <i>key-absent-value</i> of this
+   * map, an {@link IllegalArgumentException} is thrown, leaving this map partially
+   * updated.
+   *
+   * @param other The {@code EnumToIntMap} whose values to add to this map
+   * @return This instance
+   */
+  public EnumToIntMap<K> addAll(EnumToIntMap<K> other) {
+    checkEnumClass(other);
+    int[] src = other.data;
+    for (int i = 0; i < data.length; ++i) {
+      if (src[i] != other.kav) {
+        data[i] = checkResult(data[i] == kav ? src[i] : data[i] + src[i]);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Subtracts the values in the specified map from the values in this map, key by
+   * key. Keys absent from the specified map are left alone. Keys absent from this
+   * map, but present in the specified map, are added to this map with the negated
+   * value they have in the specified map. Otherwise this method behaves like
+   * {@link #addAll(EnumToIntMap) addAll}.
+   *
+   * @param other The {@code EnumToIntMap} whose values to subtract from this map
+   * @return This instance
+   */
+  public EnumToIntMap<K> subtract(EnumToIntMap<K> other) {
+    checkEnumClass(other);
+    int[] src = other.data;
+    for (int i = 0; i < data.length; ++i) {
+      if (src[i] != other.kav) {
+        data[i] = checkResult(data[i] == kav ? -src[i] : data[i] - src[i]);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Sets the value of each key in this map to the greater of its own value and the
+   * value it has in the specified map. Keys absent from the specified map are left
+   * alone. Keys absent from this map, but present in the specified map, are added to
+   * this map with the value they have in the specified map.
+   *
+   * @param other The {@code EnumToIntMap} to compare this map with
+   * @return This instance
+   */
+  public EnumToIntMap<K> max(EnumToIntMap<K> other) {
+    checkEnumClass(other);
+    int[] src = other.data;
+    for (int i = 0; i < data.length; ++i) {
+      if (src[i] != other.kav) {
+        data[i] = checkResult(data[i] == kav ? src[i] : Math.max(data[i], src[i]));
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Sets the value of each key in this map to the lesser of its own value and the
+   * value it has in the specified map. Keys absent from the specified map are left
+   * alone. Keys absent from this map, but present in the specified map, are added to
+   * this map with the value they have in the specified map.
+   *
+   * @param other The {@code EnumToIntMap} to compare this map with
+   * @return This instance
+   */
+  public EnumToIntMap<K> min(EnumToIntMap<K> other) {
+    checkEnumClass(other);
+    int[] src = other.data;
+    for (int i = 0; i < data.length; ++i) {
+      if (src[i] != other.kav) {
+        data[i] = checkResult(data[i] == kav ? src[i] : Math.min(data[i], src[i]));
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Multiplies all values in this map by the specified factor. Overflows are
+   * silently ignored, as with ordinary {@code int} arithmetic. If a result equals
+   * the <i>key-absent-value</i> of this map, an {@link IllegalArgumentException} is
+   * thrown, leaving this map partially updated.
+   *
+   * @param factor The factor to multiply the values with
+   * @return This instance
+   */
+  public EnumToIntMap<K> scale(int factor) {
+    for (int i = 0; i < data.length; ++i) {
+      if (data[i] != kav) {
+        data[i] = checkResult(data[i] * factor);
+      }
+    }
+    return this;
+  }
+
   /**
    * Returns an immutable, fully-generic version of this map.
    *
@@ -410,9 +513,7 @@ public final class EnumToIntMap<K extends Enum<K>> implements Emptyable {
   }
 
   private void copyEntries(EnumToIntMap<K> other) {
-    Check.that(other.enumClass()).is(sameAs(),
-        enumClass(),
-        "enum type mismatch: {arg} vs. {obj}");
+    checkEnumClass(other);
     if (kav == other.kav) {
       System.arraycopy(other.data, 0, data, 0, data.length);
     } else if (other.containsValue(kav)) {
@@ -424,6 +525,20 @@ public final class EnumToIntMap<K extends Enum<K>> implements Emptyable {
     }
   }
 
+  private void checkEnumClass(EnumToIntMap<K> other) {
+    Check.notNull(other, "other");
+    Check.that(other.enumClass()).is(sameAs(),
+        enumClass(),
+        "enum type mismatch: {arg} vs. {obj}");
+  }
+
+  private int checkResult(int val) {
+    if (val == kav) {
+      fail("result must not be key-absent-value ({0})", kav);
+    }
+    return val;
+  }
+
   private Stream<K> streamKeys() {
     return Arrays.stream(keys).filter(k -> data[k.ordinal()] != kav);
   }
@@ -0,0 +1,539 @@
+package nl.naturalis.common.collection;
+
+import nl.naturalis.common.CollectionMethods;
+import nl.naturalis.common.Emptyable;
+import nl.naturalis.common.check.Check;
+import nl.naturalis.common.x.collection.ArraySet;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+import static java.util.AbstractMap.SimpleImmutableEntry;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static nl.naturalis.common.check.Check.fail;
+import static nl.naturalis.common.check.CommonChecks.*;
+
+/**
+ * A fast enum-to-long map. The map is backed by a simple long array with the same
+ * length as the number of constants in the {@code enum} class. One value must be
+ * designated to signify the absence of a key within the map. By default, this is
+ * {@link Long#MIN_VALUE}. If an element in the long array has this value, it means
+ * there is no entry for the corresponding enum constant in the map. It is not
+ * allowed to add a key with this value to the map, as is would in effect amount to
+ * <i>removing</i> that key from the map. It is also not allowed to pass this value
+ * to {@link #containsValue(long) containsValue}. In both cases an
+ * {@code IllegalArgumentException} is thrown. Empty enum classes (i.e. enum classes
+ * without enum constants) are not supported.
+ *
+ * @param <K> The type of the enum class
+ * @author Ayco Holleman
+ */
+public final class EnumToLongMap<K extends Enum<K>> implements Emptyable {
+
+  private final K[] keys;
+  private final long[] data;
+  private final long kav; // the key-absent-value
+
+  /**
+   * Creates a new empty {@code EnumToLongMap} for the specified enum class using
+   * {@code Long.MIN_VALUE} as the <i>key-absent-value</i> value. All elements in
+   * the backing array will be initialized to this value (meaning that the map is
+   * empty).
+   *
+   * @param enumClass The type of the enum class
+   */
+  public EnumToLongMap(Class<K> enumClass) {
+    this(enumClass, Long.MIN_VALUE);
+  }
+
+  /**
+   * Creates a new {@code EnumToLongMap} for the specified enum class with the
+   * specified value as the <i>key-absent-value</i> value. All elements in the
+   * backing array will be initialized to this value (meaning that the map is
+   * empty).
+   *
+   * @param enumClass The type of the enum class
+   * @param keyAbsentValue The value used to signify the absence of a key
+   */
+  public EnumToLongMap(Class<K> enumClass, long keyAbsentValue) {
+    this(enumClass, keyAbsentValue, k -> keyAbsentValue);
+  }
+
+  /**
+   * Creates a new {@code EnumToLongMap} using {@code Long.MIN_VALUE} as the
+   * <i>key-absent-value</i> value and with its keys initialized using the specified
+   * initializer function. For example:
+   *
+   * <blockquote><pre>{@code
+   * EnumToLongMap<DayOfWeek> map = new EnumToLongMap<>(DayOfWeek.class, k -> k.ordinal() + 1);
+   * }</pre></blockquote>
+   *
+   * @param enumClass The type of the enum class
+   * @param initializer A function called to initialize the array elements
+   */
+  public EnumToLongMap(Class<K> enumClass, ToLongFunction<K> initializer) {
+    this(enumClass, Long.MIN_VALUE, initializer);
+  }
+
+  /**
+   * Creates a new {@code EnumToLongMap} with the specified <i>key-absent-value</i>
+   * value and the specified initializer function.
+   *
+   * @param enumClass The type of the enum class
+   * @param keyAbsentValue The value used to signify the absence of a key
+   * @param initializer A function called to initialize the array elements
+   */
+  public EnumToLongMap(Class<K> enumClass,
+      long keyAbsentValue,
+      ToLongFunction<K> initializer) {
+    Check.notNull(enumClass, "enumClass");
+    Check.notNull(initializer, "initializer");
+    this.keys = Check.that(enumClass.getEnumConstants())
+        .isNot(empty(), "enum class without enum constants").ok();
+    this.data = new long[keys.length];
+    this.kav = keyAbsentValue;
+    Arrays.stream(keys).forEach(k -> assign(k, initializer.applyAsLong(k)));
+  }
+
+  /**
+   * Instantiates a new {@code EnumToLongMap} with the same key-value mappings as the
+   * specified {@code EnumToLongMap} and with the same <i>key-absent-value</i> value.
+   *
+   * @param other The {@code EnumToLongMap} whose key-value mappings to copy
+   */
+  public EnumToLongMap(EnumToLongMap<K> other) {
+    Check.notNull(other, "other");
+    this.keys = other.keys;
+    this.data = new long[keys.length];
+    this.kav = other.kav;
+    System.arraycopy(other.data, 0, this.data, 0, keys.length);
+  }
+
+  /**
+   * Instantiates a new {@code EnumToLongMap} with the same key-value mappings as the
+   * specified {@code EnumToLongMap}, but (potentially) with a new
+   * <i>key-absent-value</i>.
+   *
+   * @param other The {@code EnumToLongMap} whose key-value mappings to copy
+   * @param keyAbsentValue The value used to signify the absence of a key
+   */
+  public EnumToLongMap(EnumToLongMap<K> other, long keyAbsentValue) {
+    Check.notNull(other, "other");
+    this.keys = other.keys;
+    this.data = new long[keys.length];
+    this.kav = keyAbsentValue;
+    copyEntries(other);
+  }
+
+  /**
+   * Returns {@code true} if this map contains a mapping for the specified key.
+   *
+   * @param key The enum constant
+   * @return Whether the map contains an entry for the enum constant
+   * @see Map#containsKey(Object)
+   */
+  public boolean containsKey(K key) {
+    return Check.notNull(key).ok(k -> data[k.ordinal()] != kav);
+  }
+
+  /**
+   * Returns {@code true} if this map maps one or more keys to the specified value.
+   * It is not permitted to search for the <i>key-absent-value</i> value. An
+   * {@code IllegalArgumentException} is thrown if you do.
+   *
+   * @param val The value
+   * @return Whether the map contains the value
+   * @see Map#containsValue(Object)
+   */
+  public boolean containsValue(long val) {
+    Check.that(val).isNot(EQ(), kav);
+    return Arrays.stream(data).filter(x -> x == val).findFirst().isPresent();
+  }
+
+  /**
+   * Returns the value to which the specified enum constant is mapped, or the
+   * <i>key-absent-value</i> if this map contains no mapping for the key. (A regular
+   * {@code Map} would return {@code null} in the latter case.)
+   *
+   * @param key The key whose associated value is to be returned
+   * @return the value to which the specified key is mapped, or the
+   *     <i>key-absent-value</i> if this map contains no mapping for the key
+   * @see Map#get(Object)
+   */
+  public long get(K key) {
+    return valueOf(Check.notNull(key).ok());
+  }
+
+  /**
+   * Returns the value associated with the specified enum constant or {@code dfault}
+   * if the map did not contain an entry for the specified enum constant.
+   *
+   * @param key The key to retrieve the value of.
+   * @param dfault The value to return if the map did not contain the key
+   * @return the value associated with the key or {@code dfault}
+   * @see Map#getOrDefault(Object, Object)
+   */
+  public long getOrDefault(K key, long dfault) {
+    return containsKey(key) ? valueOf(key) : dfault;
+  }
+
+  /**
+   * Associates the specified value with the specified key in this map.
+   *
+   * @param key The key
+   * @param val The value
+   * @return the previous value associated with the specified enum constant or the
+   *     <i>key-absent-value</i> value if the map did not contain an entry for the
+   *     enum constant yet.
+   * @see Map#put(Object, Object)
+   */
+  public long put(K key, long val) {
+    Check.notNull(key, "key");
+    Check.that(val, "val").isNot(EQ(), kav);
+    long orig = valueOf(key);
+    assign(key, val);
+    return orig;
+  }
+
+  /**
+   * Much like {@code put}, but provides a fluent API for adding entries to the map.
+   *
+   * @param key The key
+   * @param val The value
+   * @return This instance
+   */
+  public EnumToLongMap<K> set(K key, long val) {
+    Check.notNull(key, "key");
+    Check.that(val, "val").isNot(EQ(), kav);
+    assign(key, val);
+    return this;
+  }
+
+  /**
+   * Adds all entries of the specified map to this map, overwriting any previous
+   * values. The source map must not contain the <i>key-absent-value</i> of this map.
+   * An {@link IllegalArgumentException} is thrown if it does.
+   *
+   * @param other The {@code EnumToLongMap} whose key-value mappings to copy
+   */
+  public void putAll(EnumToLongMap<K> other) {
+    Check.notNull(other, "other");
+    copyEntries(other);
+  }
+
+  /**
+   * Adds all entries of the specified map to this map. This method acts as a bridge
+   * to fully-generic map implementations. The source map must not contain the
+   * <i>key-absent-value</i> of this map. An {@link IllegalArgumentException} is
+   * thrown if it does.
+   *
+   * @param other The {@code Map} whose key-value mappings to copy
+   */
+  public void putAll(Map<K, Long> other) {
+    Check.notNull(other, "other")
+        .isNot(hasValue(), kav)
+        .then(m -> m.forEach(this::assign));
+  }
+
+  /**
+   * Adds the values in the specified map to the values in this map, key by key.
+   * Keys absent from the specified map are left alone. Keys absent from this map,
+   * but present in the specified map, are added to this map with the value they have
+   * in the specified map. The two maps need not have the same
+   * <i>key-absent-value</i>. Overflows are silently ignored, as with ordinary
+   * {@code long} arithmetic. If a result equals the <i>key-absent-value</i> of this
+   * map, an {@link IllegalArgumentException} is thrown, leaving this map partially
+   * updated.
+   *
+   * @param other The {@code EnumToLongMap} whose values to add to this map
+   * @return This instance
+   */
+  public EnumToLongMap<K> addAll(EnumToLongMap<K> other) {
+    checkEnumClass(other);
+    long[] src = other.data;
+    for (int i = 0; i < data.length; ++i) {
+      if (src[i] != other.kav) {
+        data[i] = checkResult(data[i] == kav ? src[i] : data[i] + src[i]);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Subtracts the values in the specified map from the values in this map, key by
+   * key. Keys absent from the specified map are left alone. Keys absent from this
+   * map, but present in the specified map, are added to this map with the negated
+   * value they have in the specified map. Otherwise this method behaves like
+   * {@link #addAll(EnumToLongMap) addAll}.
+   *
+   * @param other The {@code EnumToLongMap} whose values to subtract from this map
+   * @return This instance
+   */
+  public EnumToLongMap<K> subtract(EnumToLongMap<K> other) {
+    checkEnumClass(other);
+    long[] src = other.data;
+    for (int i = 0; i < data.length; ++i) {
+      if (src[i] != other.kav) {
+        data[i] = checkResult(data[i] == kav ? -src[i] : data[i] - src[i]);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Sets the value of each key in this map to the greater of its own value and the
+   * value it has in the specified map. Keys absent from the specified map are left
+   * alone. Keys absent from this map, but present in the specified map, are added to
+   * this map with the value they have in the specified map.
+   *
+   * @param other The {@code EnumToLongMap} to compare this map with
+   * @return This instance
+   */
+  public EnumToLongMap<K> max(EnumToLongMap<K> other) {
+    checkEnumClass(other);
+    long[] src = other.data;
+    for (int i = 0; i < data.length; ++i) {
+      if (src[i] != other.kav) {
+        data[i] = checkResult(data[i] == kav ? src[i] : Math.max(data[i], src[i]));
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Sets the value of each key in this map to the lesser of its own value and the
+   * value it has in the specified map. Keys absent from the specified map are left
+   * alone. Keys absent from this map, but present in the specified map, are added to
+   * this map with the value they have in the specified map.
+   *
+   * @param other The {@code EnumToLongMap} to compare this map with
+   * @return This instance
+   */
+  public EnumToLongMap<K> min(EnumToLongMap<K> other) {
+    checkEnumClass(other);
+    long[] src = other.data;
+    for (int i = 0; i < data.length; ++i) {
+      if (src[i] != other.kav) {
+        data[i] = checkResult(data[i] == kav ? src[i] : Math.min(data[i], src[i]));
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Multiplies all values in this map by the specified factor. Overflows are
+   * silently ignored, as with ordinary {@code long} arithmetic. If a result equals
+   * the <i>key-absent-value</i> of this map, an {@link IllegalArgumentException} is
+   * thrown, leaving this map partially updated.
+   *
+   * @param factor The factor to multiply the values with
+   * @return This instance
+   */
+  public EnumToLongMap<K> scale(long factor) {
+    for (int i = 0; i < data.length; ++i) {
+      if (data[i] != kav) {
+        data[i] = checkResult(data[i] * factor);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Returns an immutable, fully-generic version of this map.
+   *
+   * @return an immutable, fully-generic version of this map
+   */
+  public Map<K, Long> toGenericMap() {
+    return Map.ofEntries(entrySet().toArray(SimpleImmutableEntry[]::new));
+  }
+
+  /**
+   * Removes the mapping for a key from this map if it is present.
+   *
+   * @param key The key
+   * @return the previous value associated with key, or the <i>key-absent-value</i>
+   *     value if there was no mapping for key.
+   * @see Map#remove(Object)
+   */
+  public long remove(K key) {
+    Check.notNull(key, "key");
+    long v = valueOf(key);
+    assign(key, kav);
+    return v;
+  }
+
+  /**
+   * Returns a {@link Set} view of the keys contained in this map.
+   *
+   * @return a Set view of the keys contained in this map
+   * @see Map#keySet()
+   */
+  public Set<K> keySet() {
+    return streamKeys().collect(toSet());
+  }
+
+  /**
+   * Returns a {@code Collection} view of the values contained in this map.
+   *
+   * @return a {@code Collection} view of the values contained in this map
+   * @see Map#values()
+   */
+  public Collection<Long> values() {
+    return streamKeys().map(this::valueOf).collect(toList());
+  }
+
+  /**
+   * Returns a Set view of the mappings contained in this map.
+   *
+   * @return a set view of the mappings contained in this map
+   * @see Map#entrySet()
+   */
+  public Set<Map.Entry<K, Long>> entrySet() {
+    SimpleImmutableEntry[] entries = streamKeys()
+        .map(k -> new SimpleImmutableEntry(k, valueOf(k)))
+        .toArray(SimpleImmutableEntry[]::new);
+    return ArraySet.of(entries, true);
+  }
+
+  /**
+   * Returns {@code true} if this map contains no key-value mappings, {@code false}
+   * otherwise.
+   *
+   * @return {@code true} if this map contains no key-value mappings, {@code false}
+   *     otherwise
+   * @see Map#isEmpty()
+   */
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Performs the given action for each entry in this map until all entries have been
+   * processed or the action throws an exception.
+   *
+   * @param action The action to be performed for each entry
+   * @see Map#forEach(BiConsumer)
+   */
+  public void forEach(ObjLongConsumer<K> action) {
+    streamKeys().forEach(k -> action.accept(k, valueOf(k)));
+  }
+
+  /**
+   * Removes all mappings from this map.
+   *
+   * @see Map#clear()
+   */
+  public void clear() {
+    Arrays.fill(data, kav);
+  }
+
+  /**
+   * Returns the number of key-value mappings in this map.
+   *
+   * @return the number of key-value mappings in this map
+   * @see Map#size()
+   */
+  public int size() {
+    return (int) streamKeys().count();
+  }
+
+  /**
+   * Returns the type of the enum keys in this map.
+   *
+   * @return the type of the enum keys
+   */
+  @SuppressWarnings("unchecked")
+  public Class<K> enumClass() {
+    return (Class<K>) keys[0].getClass();
+  }
+
+  /**
+   * Returns the value used to signify the absence of a key within this map.
+   *
+   * @return the value used to signify the absence of a key
+   */
+  public long keyAbsentValue() {
+    return kav;
+  }
+
+  /**
+   * Returns {@code true} if the argument is an {@code EnumToLongMap} for the same
+   * enum class and if it contains the same key-value mappings. The two maps need not
+   * have the same <i>key-absent-value</i> value.
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj instanceof EnumToLongMap<?> that && enumClass() == that.enumClass()) {
+      if (this.kav == that.kav) {
+        return Arrays.equals(data, that.data);
+      }
+      for (int i = 0; i < keys.length; i++) {
+        long v = this.data[i] == this.kav ? that.kav : this.data[i];
+        if (v != that.data[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
+  public int hashCode() {
+    return entrySet().hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return '[' + CollectionMethods.implode(entrySet()) + ']';
+  }
+
+  private void copyEntries(EnumToLongMap<K> other) {
+    checkEnumClass(other);
+    if (kav == other.kav) {
+      System.arraycopy(other.data, 0, data, 0, data.length);
+    } else if (other.containsValue(kav)) {
+      fail("source map must not contain key-absent-value ({0})", kav);
+    } else {
+      for (int i = 0; i < data.length; ++i) {
+        data[i] = other.data[i] == other.kav ? kav : other.data[i];
+      }
+    }
+  }
+
+  private void checkEnumClass(EnumToLongMap<K> other) {
+    Check.notNull(other, "other");
+    Check.that(other.enumClass()).is(sameAs(),
+        enumClass(),
+        "enum type mismatch: {arg} vs. {obj}");
+  }
+
+  private long checkResult(long val) {
+    if (val == kav) {
+      fail("result must not be key-absent-value ({0})", kav);
+    }
+    return val;
+  }
+
+  private Stream<K> streamKeys() {
+    return Arrays.stream(keys).filter(k -> data[k.ordinal()] != kav);
+  }
+
+  private void assign(K key, long val) {
+    data[key.ordinal()] = val;
+  }
+
+  private long valueOf(K key) {
+    return data[key.ordinal()];
+  }
+
+}
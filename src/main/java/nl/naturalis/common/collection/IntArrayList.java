@@ -9,6 +9,7 @@ import nl.naturalis.common.util.ResizeMethod;
 import java.util.*;
 import java.util.function.IntConsumer;
 import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 import static java.lang.System.arraycopy;
 import static nl.naturalis.common.ArrayMethods.*;
@@ -114,22 +115,14 @@ public final class IntArrayList implements IntList {
 
   @Override
   public OptionalInt indexOf(int value) {
-    for (int x = 0; x < size; ++x) {
-      if (buf[x] == value) {
-        return OptionalInt.of(x);
-      }
-    }
-    return OptionalInt.empty();
+    int x = IntBulkOps.INSTANCE.indexOf(buf, 0, size, value);
+    return x == -1 ? OptionalInt.empty() : OptionalInt.of(x);
   }
 
   @Override
   public OptionalInt lastIndexOf(int value) {
-    for (int x = size - 1; x >= 0; --x) {
-      if (buf[x] == value) {
-        return OptionalInt.of(x);
-      }
-    }
-    return OptionalInt.empty();
+    int x = IntBulkOps.INSTANCE.lastIndexOf(buf, 0, size, value);
+    return x == -1 ? OptionalInt.empty() : OptionalInt.of(x);
   }
 
   @Override
@@ -292,6 +285,44 @@ public final class IntArrayList implements IntList {
     ArrayMethods.reverse(buf, 0, size);
   }
 
+  @Override
+  public void parallelSort() {
+    Arrays.parallelSort(buf, 0, size);
+  }
+
+  @Override
+  public void parallelSortDescending() {
+    // ~x reverses the natural order of ints without overflowing, so sorting the
+    // complements in ascending order sorts the original values in descending order
+    complement(buf, size);
+    Arrays.parallelSort(buf, 0, size);
+    complement(buf, size);
+  }
+
+  @Override
+  public long sum() {
+    return IntBulkOps.INSTANCE.sum(buf, 0, size);
+  }
+
+  @Override
+  public OptionalInt min() {
+    return size == 0
+        ? OptionalInt.empty()
+        : OptionalInt.of(IntBulkOps.INSTANCE.min(buf, 0, size));
+  }
+
+  @Override
+  public OptionalInt max() {
+    return size == 0
+        ? OptionalInt.empty()
+        : OptionalInt.of(IntBulkOps.INSTANCE.max(buf, 0, size));
+  }
+
+  @Override
+  public int count(int minValue, int maxValue) {
+    return IntBulkOps.INSTANCE.count(buf, 0, size, minValue, maxValue);
+  }
+
   @Override
   public boolean isEmpty() {
     return size == 0;
@@ -324,7 +355,12 @@ public final class IntArrayList implements IntList {
 
   @Override
   public IntStream stream() {
-    return Arrays.stream(buf, 0, size);
+    return StreamSupport.intStream(spliterator(), false);
+  }
+
+  @Override
+  public Spliterator.OfInt spliterator() {
+    return Spliterators.spliterator(buf, 0, size, Spliterator.ORDERED);
   }
 
   @Override
@@ -332,6 +368,12 @@ public final class IntArrayList implements IntList {
     stream().forEach(action);
   }
 
+  @Override
+  public void parallelForEach(IntConsumer action) {
+    Check.notNull(action);
+    StreamSupport.intStream(spliterator(), true).forEach(action);
+  }
+
   @Override
   public <E extends Throwable> void forEachThrowing(ThrowingIntConsumer<E> action)
       throws E {
@@ -374,6 +416,12 @@ public final class IntArrayList implements IntList {
     buf = newBuf;
   }
 
+  private static void complement(int[] buf, int size) {
+    for (int i = 0; i < size; ++i) {
+      buf[i] = ~buf[i];
+    }
+  }
+
   private static int[] getBuffer(IntList other) {
     // IntList is sealed, and as far as we know only permits
     // IntArrayList and UnmodifiableIntList
@@ -0,0 +1,50 @@
+package nl.naturalis.common.collection;
+
+/**
+ * Bulk operations on (a segment of) an {@code int} array, used by the
+ * {@link IntList} implementations. If the {@code jdk.incubator.vector} module is
+ * present at runtime (e.g. through {@code --add-modules jdk.incubator.vector}), the
+ * operations are carried out using the Vector API. Otherwise they are carried out
+ * using plain loops. Neither implementation performs any bounds checking.
+ *
+ * @author Ayco Holleman
+ */
+interface IntBulkOps {
+
+  /**
+   * The implementation in use for the current JVM.
+   */
+  IntBulkOps INSTANCE = load();
+
+  int indexOf(int[] array, int from, int to, int value);
+
+  int lastIndexOf(int[] array, int from, int to, int value);
+
+  long sum(int[] array, int from, int to);
+
+  // Range must not be empty
+  int min(int[] array, int from, int to);
+
+  // Range must not be empty
+  int max(int[] array, int from, int to);
+
+  // Counts values between minValue and maxValue (both inclusive)
+  int count(int[] array, int from, int to, int minValue, int maxValue);
+
+  private static IntBulkOps load() {
+    if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+      try {
+        // Load reflectively so this interface never links against the
+        // incubator module when it is absent
+        return (IntBulkOps) Class.forName(IntBulkOps.class.getPackageName()
+                + ".VectorIntBulkOps")
+            .getDeclaredConstructor()
+            .newInstance();
+      } catch (ReflectiveOperationException | LinkageError e) {
+        // fall through
+      }
+    }
+    return new ScalarIntBulkOps();
+  }
+
+}
@@ -8,6 +8,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.OptionalInt;
+import java.util.Spliterator;
 import java.util.function.IntConsumer;
 import java.util.stream.IntStream;
 
@@ -19,6 +20,13 @@ import static nl.naturalis.common.check.CommonChecks.notNull;
  * ({@link IntArrayList}) allows mutations on the list and the other is immutable.
  * Instances of the immutable variant can only be obtained through the static factory
  * methods on this interface.
+ *
+ * <p>The search and aggregate operations ({@link #indexOf(int) indexOf},
+ * {@link #lastIndexOf(int) lastIndexOf}, {@link #sum() sum}, {@link #min() min},
+ * {@link #max() max} and {@link #count(int, int) count}) use the Vector API if the
+ * {@code jdk.incubator.vector} module has been added to the runtime (using
+ * {@code --add-modules jdk.incubator.vector}). Otherwise they fall back to plain
+ * loops.
  */
 public sealed interface IntList extends Emptyable permits IntArrayList,
     UnmodifiableIntList {
@@ -369,6 +377,55 @@ public sealed interface IntList extends Emptyable permits IntArrayList,
    */
   void sortDescending();
 
+  /**
+   * Sorts the elements in this list in ascending order, using
+   * {@link Arrays#parallelSort(int[], int, int) Arrays.parallelSort}.
+   */
+  void parallelSort();
+
+  /**
+   * Sorts the elements in this list in descending order, using
+   * {@link Arrays#parallelSort(int[], int, int) Arrays.parallelSort}. The list is
+   * sorted in place; no intermediate copy of the elements is made.
+   */
+  void parallelSortDescending();
+
+  /**
+   * Returns the sum of the elements in this list. The sum is calculated as a
+   * {@code long}, so it will not overflow for lists with fewer than 2<sup>32</sup>
+   * elements.
+   *
+   * @return the sum of the elements in this list
+   */
+  long sum();
+
+  /**
+   * Returns an {@link OptionalInt} containing the smallest element in this list, or
+   * an empty {@link OptionalInt} if the list is empty.
+   *
+   * @return an {@link OptionalInt} containing the smallest element in this list
+   */
+  OptionalInt min();
+
+  /**
+   * Returns an {@link OptionalInt} containing the largest element in this list, or
+   * an empty {@link OptionalInt} if the list is empty.
+   *
+   * @return an {@link OptionalInt} containing the largest element in this list
+   */
+  OptionalInt max();
+
+  /**
+   * Returns the number of elements greater than or equal to {@code minValue} and
+   * less than or equal to {@code maxValue}. To count the occurrences of a single
+   * value, pass the same value for both arguments.
+   *
+   * @param minValue the lower bound of the value range (inclusive)
+   * @param maxValue the upper bound of the value range (inclusive)
+   * @return the number of elements within the specified value range
+   */
+  int count(int minValue, int maxValue);
+
   /**
    * Converts this {@code IntList} to a fixed-size, mutable {@code List<Integer>}.
    *
@@ -390,6 +447,18 @@ public sealed interface IntList extends Emptyable permits IntArrayList,
    */
   IntStream stream();
 
+  /**
+   * Returns a {@link Spliterator.OfInt} over the elements in this list. The
+   * {@code Spliterator} reports {@link Spliterator#SIZED SIZED},
+   * {@link Spliterator#SUBSIZED SUBSIZED} and {@link Spliterator#ORDERED ORDERED},
+   * and (for unmodifiable lists) {@link Spliterator#IMMUTABLE IMMUTABLE}. It always
+   * splits the remaining elements in half, which makes it well-suited for parallel
+   * streams.
+   *
+   * @return a {@link Spliterator.OfInt} over the elements in this list
+   */
+  Spliterator.OfInt spliterator();
+
   /**
    * Carries out the specified action for each of the elements in the list.
    *
@@ -397,6 +466,15 @@ public sealed interface IntList extends Emptyable permits IntArrayList,
    */
   void forEach(IntConsumer action);
 
+  /**
+   * Carries out the specified action for each of the elements in the list, using
+   * the common fork-join pool. The order in which the elements are processed is
+   * undefined, and the action must be safe for concurrent use.
+   *
+   * @param action the action to carry out for each of the elements
+   */
+  void parallelForEach(IntConsumer action);
+
   /**
    * Carries out the specified action for each of the elements in the list.
    *
@@ -0,0 +1,68 @@
+package nl.naturalis.common.collection;
+
+/**
+ * Loop-based implementation of {@link IntBulkOps}.
+ *
+ * @author Ayco Holleman
+ */
+final class ScalarIntBulkOps implements IntBulkOps {
+
+  @Override
+  public int indexOf(int[] array, int from, int to, int value) {
+    for (int i = from; i < to; ++i) {
+      if (array[i] == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public int lastIndexOf(int[] array, int from, int to, int value) {
+    for (int i = to - 1; i >= from; --i) {
+      if (array[i] == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public long sum(int[] array, int from, int to) {
+    long sum = 0;
+    for (int i = from; i < to; ++i) {
+      sum += array[i];
+    }
+    return sum;
+  }
+
+  @Override
+  public int min(int[] array, int from, int to) {
+    int min = array[from];
+    for (int i = from + 1; i < to; ++i) {
+      min = Math.min(min, array[i]);
+    }
+    return min;
+  }
+
+  @Override
+  public int max(int[] array, int from, int to) {
+    int max = array[from];
+    for (int i = from + 1; i < to; ++i) {
+      max = Math.max(max, array[i]);
+    }
+    return max;
+  }
+
+  @Override
+  public int count(int[] array, int from, int to, int minValue, int maxValue) {
+    int count = 0;
+    for (int i = from; i < to; ++i) {
+      if (array[i] >= minValue && array[i] <= maxValue) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+}
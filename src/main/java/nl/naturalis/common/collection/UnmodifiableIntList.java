@@ -8,9 +8,14 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.OptionalInt;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.IntConsumer;
 import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
+import static java.util.Spliterator.IMMUTABLE;
+import static java.util.Spliterator.ORDERED;
 import static nl.naturalis.common.ArrayMethods.box;
 import static nl.naturalis.common.ArrayMethods.implodeInts;
 import static nl.naturalis.common.check.CommonChecks.gte;
@@ -39,12 +44,14 @@ final class UnmodifiableIntList implements IntList {
 
   @Override
   public OptionalInt indexOf(int value) {
-    return ArrayMethods.indexOf(buf, value);
+    int x = IntBulkOps.INSTANCE.indexOf(buf, 0, buf.length, value);
+    return x == -1 ? OptionalInt.empty() : OptionalInt.of(x);
   }
 
   @Override
   public OptionalInt lastIndexOf(int value) {
-    return ArrayMethods.lastIndexOf(buf, value);
+    int x = IntBulkOps.INSTANCE.lastIndexOf(buf, 0, buf.length, value);
+    return x == -1 ? OptionalInt.empty() : OptionalInt.of(x);
   }
 
   @Override
@@ -160,6 +167,40 @@ final class UnmodifiableIntList implements IntList {
     throw new UnsupportedOperationException();
   }
 
+  @Override
+  public void parallelSort() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void parallelSortDescending() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public long sum() {
+    return IntBulkOps.INSTANCE.sum(buf, 0, buf.length);
+  }
+
+  @Override
+  public OptionalInt min() {
+    return buf.length == 0
+        ? OptionalInt.empty()
+        : OptionalInt.of(IntBulkOps.INSTANCE.min(buf, 0, buf.length));
+  }
+
+  @Override
+  public OptionalInt max() {
+    return buf.length == 0
+        ? OptionalInt.empty()
+        : OptionalInt.of(IntBulkOps.INSTANCE.max(buf, 0, buf.length));
+  }
+
+  @Override
+  public int count(int minValue, int maxValue) {
+    return IntBulkOps.INSTANCE.count(buf, 0, buf.length, minValue, maxValue);
+  }
+
   @Override
   public int[] toArray() {
     int[] b = new int[buf.length];
@@ -173,7 +214,12 @@ final class UnmodifiableIntList implements IntList {
 
   @Override
   public IntStream stream() {
-    return Arrays.stream(buf, 0, buf.length);
+    return StreamSupport.intStream(spliterator(), false);
+  }
+
+  @Override
+  public Spliterator.OfInt spliterator() {
+    return Spliterators.spliterator(buf, ORDERED | IMMUTABLE);
   }
 
   @Override
@@ -181,6 +227,12 @@ final class UnmodifiableIntList implements IntList {
     stream().forEach(Check.notNull(action).ok());
   }
 
+  @Override
+  public void parallelForEach(IntConsumer action) {
+    Check.notNull(action);
+    StreamSupport.intStream(spliterator(), true).forEach(action);
+  }
+
   @Override
   public <E extends Throwable> void forEachThrowing(ThrowingIntConsumer<E> action)
       throws E {
@@ -0,0 +1,134 @@
+package nl.naturalis.common.collection;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+import static jdk.incubator.vector.VectorOperators.*;
+
+/**
+ * Implementation of {@link IntBulkOps} using the Vector API. Only ever instantiated
+ * (reflectively) if the {@code jdk.incubator.vector} module is present.
+ *
+ * @author Ayco Holleman
+ */
+final class VectorIntBulkOps implements IntBulkOps {
+
+  private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+  private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+  // Has as many lanes as LONGS, so ints can be widened to longs one-on-one
+  private static final VectorSpecies<Integer> HALF_INTS = VectorSpecies.of(
+      int.class,
+      VectorShape.forBitSize(LONGS.vectorBitSize() / 2));
+
+  @Override
+  public int indexOf(int[] array, int from, int to, int value) {
+    int i = from;
+    int bound = from + INTS.loopBound(to - from);
+    for (; i < bound; i += INTS.length()) {
+      VectorMask<Integer> mask = IntVector.fromArray(INTS, array, i).eq(value);
+      if (mask.anyTrue()) {
+        return i + mask.firstTrue();
+      }
+    }
+    for (; i < to; ++i) {
+      if (array[i] == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public int lastIndexOf(int[] array, int from, int to, int value) {
+    int len = INTS.length();
+    int i = to - len;
+    for (; i >= from; i -= len) {
+      VectorMask<Integer> mask = IntVector.fromArray(INTS, array, i).eq(value);
+      if (mask.anyTrue()) {
+        return i + mask.lastTrue();
+      }
+    }
+    for (i = i + len - 1; i >= from; --i) {
+      if (array[i] == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public long sum(int[] array, int from, int to) {
+    LongVector acc = LongVector.zero(LONGS);
+    int i = from;
+    int bound = from + HALF_INTS.loopBound(to - from);
+    for (; i < bound; i += HALF_INTS.length()) {
+      IntVector v = IntVector.fromArray(HALF_INTS, array, i);
+      acc = acc.add(v.convertShape(I2L, LONGS, 0));
+    }
+    long sum = acc.reduceLanes(ADD);
+    for (; i < to; ++i) {
+      sum += array[i];
+    }
+    return sum;
+  }
+
+  @Override
+  public int min(int[] array, int from, int to) {
+    int len = INTS.length();
+    int i = from;
+    int min = Integer.MAX_VALUE;
+    if (to - from >= len) {
+      IntVector acc = IntVector.fromArray(INTS, array, i);
+      int bound = from + INTS.loopBound(to - from);
+      for (i += len; i < bound; i += len) {
+        acc = acc.min(IntVector.fromArray(INTS, array, i));
+      }
+      min = acc.reduceLanes(MIN);
+    }
+    for (; i < to; ++i) {
+      min = Math.min(min, array[i]);
+    }
+    return min;
+  }
+
+  @Override
+  public int max(int[] array, int from, int to) {
+    int len = INTS.length();
+    int i = from;
+    int max = Integer.MIN_VALUE;
+    if (to - from >= len) {
+      IntVector acc = IntVector.fromArray(INTS, array, i);
+      int bound = from + INTS.loopBound(to - from);
+      for (i += len; i < bound; i += len) {
+        acc = acc.max(IntVector.fromArray(INTS, array, i));
+      }
+      max = acc.reduceLanes(MAX);
+    }
+    for (; i < to; ++i) {
+      max = Math.max(max, array[i]);
+    }
+    return max;
+  }
+
+  @Override
+  public int count(int[] array, int from, int to, int minValue, int maxValue) {
+    int count = 0;
+    int i = from;
+    int bound = from + INTS.loopBound(to - from);
+    for (; i < bound; i += INTS.length()) {
+      IntVector v = IntVector.fromArray(INTS, array, i);
+      count += v.compare(GE, minValue).and(v.compare(LE, maxValue)).trueCount();
+    }
+    for (; i < to; ++i) {
+      if (array[i] >= minValue && array[i] <= maxValue) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+}
@@ -0,0 +1,53 @@
+package nl.naturalis.common.invoke;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Thread-safe per-class cache used by {@link GetterFactory} and
+ * {@link SetterFactory}. The cached values are attached to the bean classes
+ * themselves (via a {@link ClassValue}), so the cache does not prevent the bean
+ * classes from being unloaded.
+ *
+ * @param <V> The type of the cached values
+ * @author Ayco Holleman
+ */
+final class AccessorCache<V> {
+
+  private final LongAdder lookups = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  // Only used to keep track of the size of the cache
+  private final Map<Class<?>, Boolean> cached =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  private final ClassValue<V> cache;
+
+  AccessorCache(Function<Class<?>, V> loader) {
+    this.cache = new ClassValue<>() {
+      @Override
+      protected V computeValue(Class<?> type) {
+        misses.increment();
+        V value = loader.apply(type);
+        cached.put(type, Boolean.TRUE);
+        return value;
+      }
+    };
+  }
+
+  V get(Class<?> clazz) {
+    lookups.increment();
+    return cache.get(clazz);
+  }
+
+  CacheStats getStats() {
+    // Read misses first, so we never end up with a negative number of hits
+    long m = misses.sum();
+    long l = lookups.sum();
+    return new CacheStats(l - m, m, cached.size());
+  }
+
+}
@@ -0,0 +1,77 @@
+package nl.naturalis.common.invoke;
+
+import nl.naturalis.common.check.Check;
+
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The registry of {@link AccessorTable accessor tables} consulted by the
+ * {@link GetterFactory} and {@link SetterFactory} before they fall back on
+ * reflection. The first time the registry is consulted, it loads all
+ * {@link AccessorTableProvider} implementations visible to
+ * {@link ServiceLoader}. Providers can also be registered explicitly, but since
+ * the factories cache what they find, this must happen before the factories
+ * are asked for the getters or setters of the classes concerned. Registered
+ * bean classes cannot be unloaded.
+ *
+ * @author Ayco Holleman
+ */
+public final class AccessorIndex {
+
+  private static final Map<Class<?>, AccessorTable<?>> tables =
+      new ConcurrentHashMap<>();
+
+  private static volatile boolean loaded;
+
+  private AccessorIndex() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Registers the accessor tables supplied by the specified provider. Tables
+   * registered this way take precedence over tables for the same bean class
+   * supplied by providers discovered through {@code ServiceLoader}.
+   *
+   * @param provider The provider
+   */
+  public static void register(AccessorTableProvider provider) {
+    Check.notNull(provider, "provider");
+    for (AccessorTable<?> table : provider.getAccessorTables()) {
+      tables.put(table.getBeanClass(), table);
+    }
+  }
+
+  /**
+   * Returns whether an accessor table has been registered for the specified
+   * class.
+   *
+   * @param beanClass The bean class
+   * @return whether an accessor table has been registered for the class
+   */
+  public static boolean contains(Class<?> beanClass) {
+    Check.notNull(beanClass, "beanClass");
+    return get(beanClass) != null;
+  }
+
+  // Returns null if no table was registered for the class
+  static AccessorTable<?> get(Class<?> beanClass) {
+    if (!loaded) {
+      load();
+    }
+    return tables.get(beanClass);
+  }
+
+  private static synchronized void load() {
+    if (!loaded) {
+      for (AccessorTableProvider p : ServiceLoader.load(AccessorTableProvider.class)) {
+        for (AccessorTable<?> table : p.getAccessorTables()) {
+          tables.putIfAbsent(table.getBeanClass(), table);
+        }
+      }
+      loaded = true;
+    }
+  }
+
+}
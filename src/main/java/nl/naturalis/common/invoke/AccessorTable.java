@@ -0,0 +1,164 @@
+package nl.naturalis.common.invoke;
+
+import nl.naturalis.common.check.Check;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static nl.naturalis.common.check.CommonChecks.keyIn;
+
+/**
+ * A pre-built set of getters and setters for a single bean class, normally
+ * generated at compile time by the annotation processor for
+ * {@link GenerateAccessors @GenerateAccessors}. The getters and setters wrap
+ * method references rather than reflectively obtained methods, so using them
+ * requires no introspection, and they are {@link Getter#isCompiled() compiled}
+ * by definition.
+ *
+ * <blockquote><pre>{@code
+ * AccessorTable<Person> table = AccessorTable.of(Person.class)
+ *     .getter("name", String.class, Person::getName)
+ *     .getter("age", int.class, Person::getAge)
+ *     .setter("name", String.class, Person::setName)
+ *     .setter("age", int.class, Person::setAge)
+ *     .build();
+ * }</pre></blockquote>
+ *
+ * @param <T> The type of the bean
+ * @author Ayco Holleman
+ * @see AccessorTableProvider
+ */
+public final class AccessorTable<T> {
+
+  /**
+   * Returns a {@code Builder} for an {@code AccessorTable} for the specified bean
+   * class.
+   *
+   * @param beanClass The bean class
+   * @param <T> The type of the bean
+   * @return A {@code Builder} for an {@code AccessorTable}
+   */
+  public static <T> Builder<T> of(Class<T> beanClass) {
+    return new Builder<>(Check.notNull(beanClass, "beanClass").ok());
+  }
+
+  /**
+   * A builder class for {@code AccessorTable} instances.
+   *
+   * @param <T> The type of the bean
+   */
+  public static final class Builder<T> {
+
+    private final Class<T> beanClass;
+    private final Map<String, Getter> getters = new LinkedHashMap<>();
+    private final Map<String, Setter> setters = new LinkedHashMap<>();
+
+    private Builder(Class<T> beanClass) {
+      this.beanClass = beanClass;
+    }
+
+    /**
+     * Adds a getter for the specified property.
+     *
+     * @param property The name of the property
+     * @param type The type of the property. For primitive properties this must
+     *     be the primitive type (e.g. {@code int.class}).
+     * @param getter The function reading the property
+     * @param <V> The type of the property
+     * @return This {@code Builder} instance
+     */
+    @SuppressWarnings("unchecked")
+    public <V> Builder<T> getter(String property,
+        Class<V> type,
+        Function<? super T, ? extends V> getter) {
+      Check.notNull(property, "property").isNot(keyIn(),
+          getters,
+          "duplicate getter for property ${0}",
+          property);
+      Check.notNull(type, "type");
+      Check.notNull(getter, "getter");
+      getters.put(property,
+          new Getter(property, beanClass, type, (Function<Object, Object>) getter));
+      return this;
+    }
+
+    /**
+     * Adds a setter for the specified property.
+     *
+     * @param property The name of the property
+     * @param type The type of the property. For primitive properties this must
+     *     be the primitive type (e.g. {@code int.class}).
+     * @param setter The function writing the property
+     * @param <V> The type of the property
+     * @return This {@code Builder} instance
+     */
+    @SuppressWarnings("unchecked")
+    public <V> Builder<T> setter(String property,
+        Class<V> type,
+        BiConsumer<? super T, ? super V> setter) {
+      Check.notNull(property, "property").isNot(keyIn(),
+          setters,
+          "duplicate setter for property ${0}",
+          property);
+      Check.notNull(type, "type");
+      Check.notNull(setter, "setter");
+      setters.put(property,
+          new Setter(property, beanClass, type, (BiConsumer<Object, Object>) setter));
+      return this;
+    }
+
+    /**
+     * Returns a new {@code AccessorTable} containing the getters and setters
+     * added to this {@code Builder}.
+     *
+     * @return A new {@code AccessorTable}
+     */
+    public AccessorTable<T> build() {
+      return new AccessorTable<>(beanClass, getters, setters);
+    }
+
+  }
+
+  private final Class<T> beanClass;
+  private final Map<String, Getter> getters;
+  private final Map<String, Setter> setters;
+
+  private AccessorTable(Class<T> beanClass,
+      Map<String, Getter> getters,
+      Map<String, Setter> setters) {
+    this.beanClass = beanClass;
+    this.getters = Map.copyOf(getters);
+    this.setters = Map.copyOf(setters);
+  }
+
+  /**
+   * Returns the bean class for which this table contains the getters and
+   * setters.
+   *
+   * @return the bean class
+   */
+  public Class<T> getBeanClass() {
+    return beanClass;
+  }
+
+  /**
+   * Returns the getters in this table, keyed by property name.
+   *
+   * @return the getters in this table
+   */
+  public Map<String, Getter> getGetters() {
+    return getters;
+  }
+
+  /**
+   * Returns the setters in this table, keyed by property name.
+   *
+   * @return the setters in this table
+   */
+  public Map<String, Setter> getSetters() {
+    return setters;
+  }
+
+}
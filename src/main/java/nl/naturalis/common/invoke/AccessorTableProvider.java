@@ -0,0 +1,25 @@
+package nl.naturalis.common.invoke;
+
+import java.util.List;
+
+/**
+ * Service interface for classes that supply pre-built {@link AccessorTable
+ * accessor tables}. Implementations are normally generated by the annotation
+ * processor for {@link GenerateAccessors @GenerateAccessors}, but they can be
+ * written by hand as well. Providers are discovered through
+ * {@link java.util.ServiceLoader ServiceLoader} the first time a
+ * {@link GetterFactory} or {@link SetterFactory} introspects a class, or they can
+ * be registered explicitly through {@link AccessorIndex#register(AccessorTableProvider)}.
+ *
+ * @author Ayco Holleman
+ */
+public interface AccessorTableProvider {
+
+  /**
+   * Returns the accessor tables supplied by this provider.
+   *
+   * @return the accessor tables supplied by this provider
+   */
+  List<AccessorTable<?>> getAccessorTables();
+
+}
@@ -0,0 +1,162 @@
+package nl.naturalis.common.invoke;
+
+import nl.naturalis.common.check.Check;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compares, hashes and diffs beans of a particular type on a pre-resolved list of
+ * properties. As with a {@link ReadPlan}, the properties are identified by their
+ * index (or "slot") within the list. Comparing two beans involves no
+ * {@code Map} lookups and no intermediate collections, and the values of
+ * {@code int}, {@code short}, {@code byte}, {@code char}, {@code long} and
+ * {@code double} properties are compared without being boxed. Non-primitive
+ * properties are compared using {@link Object#equals(Object) equals}. A typical
+ * use is to detect whether a bean has changed before writing it back to a
+ * database. {@code BeanDiff} instances are obtained through
+ * {@link BeanReader#getBeanDiff(String...) BeanReader.getBeanDiff} and are
+ * thread-safe.
+ *
+ * <blockquote><pre>{@code
+ * BeanReader<Person> reader = new BeanReader<>(Person.class);
+ * BeanDiff<Person> diff = reader.getBeanDiff("firstName", "lastName", "birthDate");
+ * int[] changed = new int[diff.size()];
+ * int count = diff.diff(stored, edited, changed);
+ * for (int i = 0; i < count; ++i) {
+ *   System.out.println(diff.getProperties().get(changed[i]) + " has changed");
+ * }
+ * }</pre></blockquote>
+ *
+ * @param <T> The type of the bean
+ * @author Ayco Holleman
+ */
+public final class BeanDiff<T> {
+
+  private final Class<? super T> beanClass;
+  private final List<String> properties;
+  private final PropertyComparator[] comparators;
+
+  BeanDiff(Class<? super T> beanClass, List<String> properties, Getter[] getters) {
+    this.beanClass = beanClass;
+    this.properties = properties;
+    this.comparators = new PropertyComparator[getters.length];
+    for (int i = 0; i < getters.length; ++i) {
+      comparators[i] = PropertyComparator.forGetter(getters[i]);
+    }
+  }
+
+  /**
+   * Returns the type of the beans this {@code BeanDiff} compares.
+   *
+   * @return The type of the beans this {@code BeanDiff} compares
+   */
+  public Class<? super T> getBeanClass() {
+    return beanClass;
+  }
+
+  /**
+   * Returns the properties compared by this {@code BeanDiff}, in slot order.
+   *
+   * @return The properties compared by this {@code BeanDiff}
+   */
+  public List<String> getProperties() {
+    return properties;
+  }
+
+  /**
+   * Returns the number of properties compared by this {@code BeanDiff}.
+   *
+   * @return The number of properties compared by this {@code BeanDiff}
+   */
+  public int size() {
+    return comparators.length;
+  }
+
+  /**
+   * Returns whether the specified beans have equal values for all properties in
+   * this {@code BeanDiff}. Two {@code null} references are considered equal. The
+   * comparison stops at the first property that differs.
+   *
+   * @param bean0 The first bean
+   * @param bean1 The second bean
+   * @return Whether the beans are equal
+   */
+  public boolean equals(T bean0, T bean1) {
+    if (bean0 == bean1) {
+      return true;
+    } else if (bean0 == null || bean1 == null) {
+      return false;
+    }
+    for (PropertyComparator pc : comparators) {
+      if (!pc.equals(bean0, bean1)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns a hash code for the specified bean, calculated from the values of the
+   * properties in this {@code BeanDiff}. The hash code is consistent with
+   * {@link #equals(Object, Object) equals}, and it is the same as
+   * {@link Arrays#hashCode(Object[]) Arrays.hashCode} would return for an array
+   * containing the property values in slot order. The hash code of {@code null} is
+   * zero.
+   *
+   * @param bean The bean
+   * @return A hash code for the bean
+   */
+  public int hashCode(T bean) {
+    if (bean == null) {
+      return 0;
+    }
+    int hash = 1;
+    for (PropertyComparator pc : comparators) {
+      hash = 31 * hash + pc.hash(bean);
+    }
+    return hash;
+  }
+
+  /**
+   * Returns the slots of the properties whose values differ between the specified
+   * beans, in ascending order. If the beans are equal, a zero-length array is
+   * returned.
+   *
+   * @param bean0 The first bean
+   * @param bean1 The second bean
+   * @return The slots of the properties that differ
+   */
+  public int[] diff(T bean0, T bean1) {
+    Check.notNull(bean0, "bean0");
+    Check.notNull(bean1, "bean1");
+    int[] changed = new int[comparators.length];
+    int count = diff(bean0, bean1, changed);
+    return count == changed.length ? changed : Arrays.copyOf(changed, count);
+  }
+
+  /**
+   * Writes the slots of the properties whose values differ between the specified
+   * beans into the specified array, in ascending order, and returns the number of
+   * differing properties. This method performs no argument checks whatsoever,
+   * making it suitable for tight loops. The beans must not be {@code null} and the
+   * array must have a length of at least {@link #size()}. The array can be reused
+   * for each pair of beans.
+   *
+   * @param bean0 The first bean
+   * @param bean1 The second bean
+   * @param changed The array to receive the slots of the properties that differ
+   * @return The number of properties that differ
+   */
+  public int diff(T bean0, T bean1, int[] changed) {
+    PropertyComparator[] comparators = this.comparators;
+    int count = 0;
+    for (int i = 0; i < comparators.length; ++i) {
+      if (!comparators[i].equals(bean0, bean1)) {
+        changed[count++] = i;
+      }
+    }
+    return count;
+  }
+
+}
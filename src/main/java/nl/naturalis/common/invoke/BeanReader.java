@@ -3,6 +3,7 @@ package nl.naturalis.common.invoke;
 import nl.naturalis.common.check.Check;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -23,6 +24,7 @@ import static nl.naturalis.common.invoke.NoSuchPropertyException.noSuchProperty;
 public final class BeanReader<T> {
 
   private final Class<? super T> beanClass;
+  private final boolean strictNaming;
   private final Map<String, Getter> getters;
 
   /**
@@ -87,6 +89,7 @@ public final class BeanReader<T> {
     Check.notNull(includeExclude);
     Check.that(properties, "properties").is(deepNotNull());
     this.beanClass = beanClass;
+    this.strictNaming = strictNaming;
     this.getters = getGetters(strictNaming, includeExclude, properties);
   }
 
@@ -112,6 +115,51 @@ public final class BeanReader<T> {
     }
   }
 
+  /**
+   * Returns a {@link ReadPlan} for the specified properties. The properties will
+   * be read by their index in the specified array rather than by name. Use this
+   * method to avoid the {@code Map} lookup performed by
+   * {@link #read(Object, String) read} when the same properties must be read from
+   * a large number of beans. The returned {@code ReadPlan} uses
+   * {@link GetterFactory#COMPILED compiled} getters. If no properties are
+   * specified, the {@code ReadPlan} will read all properties that can be read by
+   * this {@code BeanReader}, in no particular order.
+   *
+   * @param properties The properties to read
+   * @return A {@code ReadPlan} for the specified properties
+   * @throws NoSuchPropertyException If any of the specified properties cannot
+   *     be read by this {@code BeanReader}
+   */
+  public ReadPlan<T> getReadPlan(String... properties)
+      throws NoSuchPropertyException {
+    Check.that(properties, "properties").is(deepNotNull());
+    if (properties.length == 0) {
+      properties = getters.keySet().toArray(String[]::new);
+    }
+    return new ReadPlan<>(beanClass, List.of(properties), getCompiledGetters(properties));
+  }
+
+  /**
+   * Returns a {@link BeanDiff} for the specified properties, which compares,
+   * hashes and diffs beans by their index in the specified array. The returned
+   * {@code BeanDiff} uses {@link GetterFactory#COMPILED compiled} getters. If no
+   * properties are specified, the {@code BeanDiff} will compare all properties that
+   * can be read by this {@code BeanReader}, in no particular order.
+   *
+   * @param properties The properties to compare
+   * @return A {@code BeanDiff} for the specified properties
+   * @throws NoSuchPropertyException If any of the specified properties cannot
+   *     be read by this {@code BeanReader}
+   */
+  public BeanDiff<T> getBeanDiff(String... properties)
+      throws NoSuchPropertyException {
+    Check.that(properties, "properties").is(deepNotNull());
+    if (properties.length == 0) {
+      properties = getters.keySet().toArray(String[]::new);
+    }
+    return new BeanDiff<>(beanClass, List.of(properties), getCompiledGetters(properties));
+  }
+
   /**
    * Returns the type of the objects this {@code BeanReader} can read.
    *
@@ -159,6 +207,18 @@ public final class BeanReader<T> {
     return getters;
   }
 
+  private Getter[] getCompiledGetters(String[] properties) {
+    Map<String, Getter> compiled = GetterFactory.COMPILED.getGetters(beanClass,
+        strictNaming);
+    Getter[] result = new Getter[properties.length];
+    for (int i = 0; i < properties.length; ++i) {
+      String prop = properties[i];
+      Check.that(prop).is(keyIn(), getters, () -> noSuchProperty(beanClass, prop));
+      result[i] = compiled.get(prop);
+    }
+    return result;
+  }
+
   private Map<String, Getter> getGetters(boolean strictNaming,
       IncludeExclude ie,
       String[] props) {
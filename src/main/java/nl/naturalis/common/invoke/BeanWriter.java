@@ -5,12 +5,16 @@ import nl.naturalis.common.TypeConversionException;
 import nl.naturalis.common.check.Check;
 import nl.naturalis.common.function.ThrowingBiFunction;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
+import static nl.naturalis.common.ClassMethods.getTypeDefault;
 import static nl.naturalis.common.check.CommonChecks.empty;
-import static nl.naturalis.common.check.CommonChecks.notNull;
 import static nl.naturalis.common.invoke.IncludeExclude.INCLUDE;
 import static nl.naturalis.common.invoke.NoSuchPropertyException.noSuchProperty;
 
@@ -40,15 +44,14 @@ public final class BeanWriter<T> {
    */
   public static <U> BeanWriter<U> getTolerantWriter(Class<U> beanClass,
       String... properties) {
-    return new BeanWriter<>(beanClass,
-        (setter, value) -> Morph.convert(value, setter.getParamType()),
-        INCLUDE,
-        properties);
+    return new BeanWriter<>(beanClass, properties, true);
   }
 
   private final Class<T> beanClass;
   private final ThrowingBiFunction<Setter, Object, Object, Throwable> converter;
   private final Map<String, Setter> setters;
+  // Only non-null for tolerant writers
+  private final Map<String, Conversion> conversions;
 
   /**
    * Creates a {@code BeanWriter} for the specified class. You can optionally specify
@@ -107,6 +110,7 @@ public final class BeanWriter<T> {
     Check.notNull(includeExclude, "includeExclude");
     Check.notNull(properties, "properties");
     this.setters = getSetters(includeExclude, properties);
+    this.conversions = null;
   }
 
   /**
@@ -148,6 +152,21 @@ public final class BeanWriter<T> {
     Check.notNull(includeExclude, "includeExclude");
     Check.notNull(properties, "properties");
     this.setters = getSetters(includeExclude, properties);
+    this.conversions = null;
+  }
+
+  // Creates a tolerant writer
+  private BeanWriter(Class<T> beanClass, String[] properties, boolean tolerant) {
+    this.beanClass = Check.notNull(beanClass, "beanClass").ok();
+    this.converter = (setter, value) -> Morph.convert(value, setter.getParamType());
+    Check.notNull(properties, "properties");
+    this.setters = getSetters(INCLUDE, properties);
+    Map<String, Setter> compiled = SetterFactory.COMPILED.getSetters(beanClass);
+    Map<String, Conversion> tmp = new HashMap<>(setters.size());
+    for (String property : setters.keySet()) {
+      tmp.put(property, new Conversion(compiled.get(property)));
+    }
+    this.conversions = Map.copyOf(tmp);
   }
 
   /**
@@ -165,15 +184,27 @@ public final class BeanWriter<T> {
    */
   public void set(T bean, String property, Object value) throws Throwable {
     Check.notNull(bean, "bean");
-    Setter setter = Check.notNull(property, "property").ok(setters::get);
-    Check.that(setter).is(notNull(), () -> noSuchProperty(bean, property));
-    set(bean, setter, value);
+    Check.notNull(property, "property");
+    if (!trySet(bean, property, value)) {
+      throw noSuchProperty(bean, property);
+    }
   }
 
   /**
    * Overwrites all properties in the second bean with the values they have in the
    * first bean. This can potentially nullify non-null properties in the second
-   * bean.
+   * bean. Properties that can be written but not read are skipped.
+   *
+   * <p>Bean-to-bean copies are executed using a copy plan that is created when
+   * this method, {@link #copyNonNull(Object, Object) copyNonNull} or
+   * {@link #enrich(Object, Object) enrich} is called for the first time. The plan
+   * pairs up each writable property with its getter. Unless this
+   * {@code BeanWriter} was created with a conversion function, {@code copy} and
+   * {@code copyNonNull} copy all properties through a single, composed
+   * {@code MethodHandle}, straight from getter to setter, without any {@code Map}
+   * lookups and without boxing primitive values. Otherwise
+   * {@link GetterFactory#COMPILED compiled} getters and
+   * {@link SetterFactory#COMPILED setters} are used.
    *
    * @param fromBean The bean from which to copy the values.
    * @param toBean The bean to which to copy the values.
@@ -181,9 +212,18 @@ public final class BeanWriter<T> {
    *     {@code java.lang.invoke} package
    */
   public void copy(T fromBean, T toBean) throws Throwable {
-    BeanReader<T> reader = getBeanReader();
-    for (Setter setter : setters.values()) {
-      set(toBean, setter, reader.read(fromBean, setter.getProperty()));
+    Check.notNull(fromBean, "fromBean");
+    Check.notNull(toBean, "toBean");
+    CopyPlan plan = getCopyPlan();
+    // For tolerant writers the conversion would be a no-op
+    if ((converter == null || conversions != null) && plan.copier != null) {
+      plan.copier.invokeExact((Object) toBean, (Object) fromBean);
+      return;
+    }
+    Getter[] getters = plan.getters;
+    Setter[] setters = plan.setters;
+    for (int i = 0; i < getters.length; ++i) {
+      set(toBean, setters[i], read(fromBean, getters[i]));
     }
   }
 
@@ -198,11 +238,19 @@ public final class BeanWriter<T> {
    *     {@code java.lang.invoke} package
    */
   public void copyNonNull(T fromBean, T toBean) throws Throwable {
-    BeanReader<T> reader = getBeanReader();
-    for (Setter setter : setters.values()) {
-      Object v = reader.read(fromBean, setter.getProperty());
+    Check.notNull(fromBean, "fromBean");
+    Check.notNull(toBean, "toBean");
+    CopyPlan plan = getCopyPlan();
+    if ((converter == null || conversions != null) && plan.nonNullCopier != null) {
+      plan.nonNullCopier.invokeExact((Object) toBean, (Object) fromBean);
+      return;
+    }
+    Getter[] getters = plan.getters;
+    Setter[] setters = plan.setters;
+    for (int i = 0; i < getters.length; ++i) {
+      Object v = read(fromBean, getters[i]);
       if (v != null) {
-        set(toBean, setter, v);
+        set(toBean, setters[i], v);
       }
     }
   }
@@ -218,11 +266,15 @@ public final class BeanWriter<T> {
    *     {@code java.lang.invoke} package
    */
   public void enrich(T fromBean, T toBean) throws Throwable {
-    BeanReader<T> reader = getBeanReader();
-    for (Setter setter : setters.values()) {
-      Object v = reader.read(fromBean, setter.getProperty());
-      if (v != null && reader.read(toBean, setter.getProperty()) == null) {
-        set(toBean, setter, v);
+    Check.notNull(fromBean, "fromBean");
+    Check.notNull(toBean, "toBean");
+    CopyPlan plan = getCopyPlan();
+    Getter[] getters = plan.getters;
+    Setter[] setters = plan.setters;
+    for (int i = 0; i < getters.length; ++i) {
+      Object v = read(fromBean, getters[i]);
+      if (v != null && read(toBean, getters[i]) == null) {
+        set(toBean, setters[i], v);
       }
     }
   }
@@ -248,10 +300,7 @@ public final class BeanWriter<T> {
     Check.notNull(toBean, "toBean");
     for (Map.Entry<String, ?> e : fromMap.entrySet()) {
       if (e.getKey() != null) {
-        Setter setter = setters.get(e.getKey());
-        if (setter != null) {
-          set(toBean, setter, e.getValue());
-        }
+        trySet(toBean, e.getKey(), e.getValue());
       }
     }
   }
@@ -275,10 +324,7 @@ public final class BeanWriter<T> {
     Check.notNull(toBean, "toBean");
     for (Map.Entry<String, ?> e : fromMap.entrySet()) {
       if (e.getValue() != null && e.getKey() != null) {
-        Setter setter = setters.get(e.getKey());
-        if (setter != null) {
-          set(toBean, setter, e.getValue());
-        }
+        trySet(toBean, e.getKey(), e.getValue());
       }
     }
   }
@@ -305,9 +351,9 @@ public final class BeanWriter<T> {
     BeanReader<T> reader = getBeanReader();
     for (Map.Entry<String, ?> e : fromMap.entrySet()) {
       if (e.getValue() != null && e.getKey() != null) {
-        Setter setter = setters.get(e.getKey());
-        if (setter != null && reader.read(toBean, e.getKey()) == null) {
-          set(toBean, setter, e.getValue());
+        if (setters.containsKey(e.getKey())
+            && reader.read(toBean, e.getKey()) == null) {
+          trySet(toBean, e.getKey(), e.getValue());
         }
       }
     }
@@ -365,7 +411,29 @@ public final class BeanWriter<T> {
     return tmp;
   }
 
+  // Returns false if the property is not writable
+  private boolean trySet(T bean, String property, Object value) throws Throwable {
+    if (conversions != null) {
+      Conversion conversion = conversions.get(property);
+      if (conversion == null) {
+        return false;
+      }
+      conversion.write(bean, value);
+    } else {
+      Setter setter = setters.get(property);
+      if (setter == null) {
+        return false;
+      }
+      set(bean, setter, value);
+    }
+    return true;
+  }
+
   private void set(T bean, Setter setter, Object value) throws Throwable {
+    if (conversions != null) {
+      conversions.get(setter.getProperty()).write(bean, value);
+      return;
+    }
     if (converter == null) {
       setter.write(bean, value);
     } else {
@@ -379,6 +447,75 @@ public final class BeanWriter<T> {
     }
   }
 
+  private static Object read(Object bean, Getter getter) {
+    try {
+      return getter.read(bean);
+    } catch (Throwable t) {
+      throw InvokeException.wrap(t, bean, getter);
+    }
+  }
+
+  /*
+   * Converts and writes values for a single property of a tolerant writer. The
+   * Morph conversion is resolved once for each type of value, so that, once
+   * warmed up, converting a value is just a single function call. The last used
+   * conversion is kept in a separate field, as a property usually receives values
+   * of just one type.
+   */
+  private static final class Conversion {
+
+    private record Resolved(Class<?> type, Function<Object, ?> converter) {}
+
+    private final Setter setter;
+    private final Object nullValue;
+    private final Map<Class<?>, Function<Object, ?>> converters =
+        new ConcurrentHashMap<>(4);
+
+    // Racy but benign, as Resolved is immutable
+    private Resolved last;
+
+    Conversion(Setter setter) {
+      this.setter = setter;
+      this.nullValue = getTypeDefault(setter.getParamType());
+    }
+
+    void write(Object bean, Object value) throws Throwable {
+      Object val;
+      try {
+        val = convert(value);
+      } catch (TypeConversionException e) {
+        throw setter.illegalAssignment(value);
+      }
+      setter.write(bean, val);
+    }
+
+    private Object convert(Object value) {
+      if (value == null) {
+        return nullValue;
+      }
+      Class<?> type = value.getClass();
+      Resolved r = last;
+      if (r == null || r.type() != type) {
+        r = new Resolved(type, converters.computeIfAbsent(type,
+            t -> Morph.converter(t, setter.getParamType())));
+        last = r;
+      }
+      return r.converter().apply(value);
+    }
+
+  }
+
+  // Lazily initialized. Since CopyPlan is immutable, a race between threads
+  // creating the plan at the same time is benign.
+  private CopyPlan copyPlan;
+
+  private CopyPlan getCopyPlan() {
+    if (copyPlan == null) {
+      copyPlan = CopyPlan.create(beanClass, setters.keySet());
+    }
+    return copyPlan;
+  }
+
   private BeanReader<T> beanReader;
 
   private BeanReader<T> getBeanReader() {
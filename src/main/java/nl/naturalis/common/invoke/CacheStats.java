@@ -0,0 +1,40 @@
+package nl.naturalis.common.invoke;
+
+/**
+ * Statistics about the cache of a {@link GetterFactory} or {@link SetterFactory}.
+ * Each miss corresponds to the introspection of a bean class, so the number of
+ * misses is a measure of the cost of introspection during application warm-up.
+ * Since the statistics are gathered while other threads may be using the cache,
+ * they are accurate only in the absence of concurrent access.
+ *
+ * @param hits The number of times a bean class was found in the cache
+ * @param misses The number of times a bean class had to be introspected
+ * @param size The number of bean classes currently in the cache. Bean classes
+ *     that have been unloaded by the garbage collector are no longer counted.
+ * @author Ayco Holleman
+ */
+public record CacheStats(long hits, long misses, int size) {
+
+  /**
+   * Returns the number of cache lookups ({@code hits + misses}).
+   *
+   * @return The number of cache lookups
+   */
+  public long lookups() {
+    return hits + misses;
+  }
+
+  /**
+   * Returns a {@code CacheStats} instance that sums up the statistics of this
+   * instance and the specified instance.
+   *
+   * @param other The statistics to add to this instance's statistics
+   * @return A {@code CacheStats} instance that sums up both statistics
+   */
+  public CacheStats plus(CacheStats other) {
+    return new CacheStats(hits + other.hits,
+        misses + other.misses,
+        size + other.size);
+  }
+
+}
@@ -0,0 +1,157 @@
+package nl.naturalis.common.invoke;
+
+import nl.naturalis.common.check.Check;
+
+import java.util.List;
+
+import static nl.naturalis.common.ClassMethods.simpleClassName;
+import static nl.naturalis.common.check.CommonChecks.arrayIndexOf;
+import static nl.naturalis.common.check.CommonChecks.instanceOf;
+import static nl.naturalis.common.check.CommonChecks.sameAs;
+
+/**
+ * The values of a fixed set of properties for a batch of beans, laid out column
+ * by column. Columns for properties with a primitive type are primitive arrays
+ * (e.g. an {@code int[]} array for an {@code int} property). Columns for all other
+ * properties are {@code Object[]} arrays. {@code ColumnBatch} instances are
+ * produced by the {@code readColumns} methods of {@link ReadPlan}.
+ *
+ * @author Ayco Holleman
+ */
+public final class ColumnBatch {
+
+  private final List<String> properties;
+  private final Class<?>[] types;
+  private final Object[] columns;
+  private final int size;
+
+  ColumnBatch(List<String> properties, Class<?>[] types, Object[] columns, int size) {
+    this.properties = properties;
+    this.types = types;
+    this.columns = columns;
+    this.size = size;
+  }
+
+  /**
+   * Returns the properties in this batch, in column order.
+   *
+   * @return The properties in this batch
+   */
+  public List<String> getProperties() {
+    return properties;
+  }
+
+  /**
+   * Returns the number of beans (rows) in this batch.
+   *
+   * @return The number of beans in this batch
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the number of columns in this batch.
+   *
+   * @return The number of columns in this batch
+   */
+  public int columnCount() {
+    return columns.length;
+  }
+
+  /**
+   * Returns the type of the property in the specified column.
+   *
+   * @param slot The column index
+   * @return The type of the property in the specified column
+   */
+  public Class<?> getColumnType(int slot) {
+    Check.that(slot, "slot").is(arrayIndexOf(), columns);
+    return types[slot];
+  }
+
+  /**
+   * Returns the specified column as an untyped array. The array is not copied.
+   * Its length is equal to the {@link #size() size} of the batch.
+   *
+   * @param slot The column index
+   * @return The column
+   */
+  public Object getColumn(int slot) {
+    Check.that(slot, "slot").is(arrayIndexOf(), columns);
+    return columns[slot];
+  }
+
+  /**
+   * Returns the specified column, which must contain the values of an {@code int}
+   * property.
+   *
+   * @param slot The column index
+   * @return The column
+   */
+  public int[] getIntColumn(int slot) {
+    return (int[]) getColumn(slot, int.class);
+  }
+
+  /**
+   * Returns the specified column, which must contain the values of a {@code long}
+   * property.
+   *
+   * @param slot The column index
+   * @return The column
+   */
+  public long[] getLongColumn(int slot) {
+    return (long[]) getColumn(slot, long.class);
+  }
+
+  /**
+   * Returns the specified column, which must contain the values of a
+   * {@code double} property.
+   *
+   * @param slot The column index
+   * @return The column
+   */
+  public double[] getDoubleColumn(int slot) {
+    return (double[]) getColumn(slot, double.class);
+  }
+
+  /**
+   * Returns the specified column, which must contain the values of a
+   * {@code boolean} property.
+   *
+   * @param slot The column index
+   * @return The column
+   */
+  public boolean[] getBooleanColumn(int slot) {
+    return (boolean[]) getColumn(slot, boolean.class);
+  }
+
+  /**
+   * Returns the specified column, which must contain the values of a
+   * non-primitive property.
+   *
+   * @param slot The column index
+   * @return The column
+   */
+  public Object[] getObjectColumn(int slot) {
+    Object column = getColumn(slot);
+    Check.that(column).is(instanceOf(),
+        Object[].class,
+        "column ${0} contains ${1} values",
+        slot,
+        simpleClassName(types[slot]));
+    return (Object[]) column;
+  }
+
+  private Object getColumn(int slot, Class<?> type) {
+    Object column = getColumn(slot);
+    Check.that(types[slot]).is(sameAs(),
+        type,
+        "column ${0} contains ${1} values, not ${2} values",
+        slot,
+        simpleClassName(types[slot]),
+        type);
+    return column;
+  }
+
+}
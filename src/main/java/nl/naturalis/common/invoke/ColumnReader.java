@@ -0,0 +1,192 @@
+package nl.naturalis.common.invoke;
+
+import nl.naturalis.common.x.invoke.InvokeUtils;
+
+import java.lang.reflect.Array;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Reads a single property from a range of beans into an array. Properties of type
+ * {@code int}, {@code long} and {@code double} are read through primitive
+ * specializations of {@code Function}, so they are never boxed.
+ *
+ * @author Ayco Holleman
+ */
+abstract sealed class ColumnReader {
+
+  static ColumnReader forGetter(Getter getter) {
+    Class<?> type = getter.getReturnType();
+    // Getters from an AccessorTable have no method to spin a primitive function for
+    if (getter.getMethod() == null) {
+      return type.isPrimitive()
+          ? new PrimitiveColumnReader(getter)
+          : new ObjectColumnReader(getter);
+    }
+    if (type == int.class) {
+      ToIntFunction<Object> fn = InvokeUtils.compileIntGetter(getter.getMethod());
+      if (fn != null) {
+        return new IntColumnReader(getter, fn);
+      }
+    } else if (type == long.class) {
+      ToLongFunction<Object> fn = InvokeUtils.compileLongGetter(getter.getMethod());
+      if (fn != null) {
+        return new LongColumnReader(getter, fn);
+      }
+    } else if (type == double.class) {
+      ToDoubleFunction<Object> fn = InvokeUtils.compileDoubleGetter(getter.getMethod());
+      if (fn != null) {
+        return new DoubleColumnReader(getter, fn);
+      }
+    }
+    return type.isPrimitive()
+        ? new PrimitiveColumnReader(getter)
+        : new ObjectColumnReader(getter);
+  }
+
+  final Getter getter;
+
+  ColumnReader(Getter getter) {
+    this.getter = getter;
+  }
+
+  Class<?> getColumnType() {
+    return getter.getReturnType();
+  }
+
+  Object newColumn(int length) {
+    return Array.newInstance(getter.getReturnType(), length);
+  }
+
+  // Reads the property from beans[from] up to beans[to] into column[from] up to
+  // column[to]
+  abstract void read(List<?> beans, int from, int to, Object column);
+
+  InvokeException readError(Throwable t, Object bean) {
+    return InvokeException.wrap(t, bean, getter);
+  }
+
+  static final class IntColumnReader extends ColumnReader {
+
+    private final ToIntFunction<Object> fn;
+
+    IntColumnReader(Getter getter, ToIntFunction<Object> fn) {
+      super(getter);
+      this.fn = fn;
+    }
+
+    @Override
+    void read(List<?> beans, int from, int to, Object column) {
+      int[] values = (int[]) column;
+      int i = from;
+      try {
+        for (; i < to; ++i) {
+          values[i] = fn.applyAsInt(beans.get(i));
+        }
+      } catch (Throwable t) {
+        throw readError(t, beans.get(i));
+      }
+    }
+
+  }
+
+  static final class LongColumnReader extends ColumnReader {
+
+    private final ToLongFunction<Object> fn;
+
+    LongColumnReader(Getter getter, ToLongFunction<Object> fn) {
+      super(getter);
+      this.fn = fn;
+    }
+
+    @Override
+    void read(List<?> beans, int from, int to, Object column) {
+      long[] values = (long[]) column;
+      int i = from;
+      try {
+        for (; i < to; ++i) {
+          values[i] = fn.applyAsLong(beans.get(i));
+        }
+      } catch (Throwable t) {
+        throw readError(t, beans.get(i));
+      }
+    }
+
+  }
+
+  static final class DoubleColumnReader extends ColumnReader {
+
+    private final ToDoubleFunction<Object> fn;
+
+    DoubleColumnReader(Getter getter, ToDoubleFunction<Object> fn) {
+      super(getter);
+      this.fn = fn;
+    }
+
+    @Override
+    void read(List<?> beans, int from, int to, Object column) {
+      double[] values = (double[]) column;
+      int i = from;
+      try {
+        for (; i < to; ++i) {
+          values[i] = fn.applyAsDouble(beans.get(i));
+        }
+      } catch (Throwable t) {
+        throw readError(t, beans.get(i));
+      }
+    }
+
+  }
+
+  // boolean, char, byte, short and float properties, as well as int, long and
+  // double properties that could not be compiled
+  static final class PrimitiveColumnReader extends ColumnReader {
+
+    PrimitiveColumnReader(Getter getter) {
+      super(getter);
+    }
+
+    @Override
+    void read(List<?> beans, int from, int to, Object column) {
+      int i = from;
+      try {
+        for (; i < to; ++i) {
+          Array.set(column, i, getter.read(beans.get(i)));
+        }
+      } catch (Throwable t) {
+        throw readError(t, beans.get(i));
+      }
+    }
+
+  }
+
+  static final class ObjectColumnReader extends ColumnReader {
+
+    ObjectColumnReader(Getter getter) {
+      super(getter);
+    }
+
+    @Override
+    Object newColumn(int length) {
+      // Always Object[], so callers can uniformly cast non-primitive columns
+      return new Object[length];
+    }
+
+    @Override
+    void read(List<?> beans, int from, int to, Object column) {
+      Object[] values = (Object[]) column;
+      int i = from;
+      try {
+        for (; i < to; ++i) {
+          values[i] = getter.read(beans.get(i));
+        }
+      } catch (Throwable t) {
+        throw readError(t, beans.get(i));
+      }
+    }
+
+  }
+
+}
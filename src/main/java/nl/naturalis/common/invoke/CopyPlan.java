@@ -0,0 +1,111 @@
+package nl.naturalis.common.invoke;
+
+import nl.naturalis.common.ExceptionMethods;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static java.lang.invoke.MethodHandles.*;
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * A pre-resolved plan for copying properties from one bean to another, used by
+ * {@link BeanWriter}. The plan pairs up each property with its (compiled) getter
+ * and setter. If, for each property, the getter's return type equals the setter's
+ * parameter type, the plan also contains a single {@code MethodHandle} that
+ * copies all properties in one go. It is composed from the getters' and setters'
+ * {@code MethodHandles}, which allows primitive values to be copied without being
+ * boxed.
+ *
+ * @author Ayco Holleman
+ */
+final class CopyPlan {
+
+  private static final MethodType COPIER_TYPE = methodType(void.class,
+      Object.class,
+      Object.class);
+
+  private static final MethodHandle NON_NULL;
+
+  static {
+    try {
+      NON_NULL = lookup().findStatic(Objects.class,
+          "nonNull",
+          methodType(boolean.class, Object.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw ExceptionMethods.uncheck(e);
+    }
+  }
+
+  static CopyPlan create(Class<?> beanClass, Set<String> properties) {
+    Map<String, Getter> allGetters = GetterFactory.COMPILED.getGetters(beanClass,
+        true);
+    Map<String, Setter> allSetters = SetterFactory.COMPILED.getSetters(beanClass);
+    List<Getter> getters = new ArrayList<>(properties.size());
+    List<Setter> setters = new ArrayList<>(properties.size());
+    for (String property : properties) {
+      Getter getter = allGetters.get(property);
+      if (getter != null) {
+        getters.add(getter);
+        setters.add(allSetters.get(property));
+      }
+    }
+    return new CopyPlan(getters.toArray(Getter[]::new),
+        setters.toArray(Setter[]::new));
+  }
+
+  // getters[i] and setters[i] access the same property
+  final Getter[] getters;
+  final Setter[] setters;
+
+  // Both have type (Object toBean, Object fromBean)void. Null if the getter and
+  // setter types do not match up for at least one property.
+  final MethodHandle copier;
+  final MethodHandle nonNullCopier;
+
+  private CopyPlan(Getter[] getters, Setter[] setters) {
+    this.getters = getters;
+    this.setters = setters;
+    if (getters.length != 0 && typesMatch()) {
+      this.copier = compose(false);
+      this.nonNullCopier = compose(true);
+    } else {
+      this.copier = null;
+      this.nonNullCopier = null;
+    }
+  }
+
+  private boolean typesMatch() {
+    for (int i = 0; i < getters.length; ++i) {
+      if (getters[i].getReturnType() != setters[i].getParamType()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private MethodHandle compose(boolean skipNulls) {
+    MethodHandle copier = null;
+    for (int i = 0; i < getters.length; ++i) {
+      MethodHandle setter = setters[i].getMethodHandle();
+      if (skipNulls && !setters[i].getParamType().isPrimitive()) {
+        // (toBean, value) -> if (value != null) setter(toBean, value)
+        MethodType type = setter.type();
+        MethodHandle test = dropArguments(NON_NULL.asType(methodType(boolean.class,
+            type.parameterType(1))), 0, type.parameterType(0));
+        setter = guardWithTest(test, setter, empty(type));
+      }
+      // (toBean, fromBean) -> setter(toBean, getter(fromBean))
+      MethodHandle mh = filterArguments(setter, 1, getters[i].getMethodHandle());
+      mh = mh.asType(COPIER_TYPE);
+      copier = copier == null ? mh : foldArguments(mh, copier);
+    }
+    return copier;
+  }
+
+}
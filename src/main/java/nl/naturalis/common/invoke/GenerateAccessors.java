@@ -0,0 +1,37 @@
+package nl.naturalis.common.invoke;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.CLASS;
+
+/**
+ * Marks a bean class or record for which the annotation processor in the
+ * {@code naturalis-common-processor} artifact should generate an
+ * {@link AccessorTable}. For each annotated class {@code Foo} the processor
+ * generates a class {@code Foo$Accessors} in the same package, implementing
+ * {@link AccessorTableProvider}, and registers it in
+ * {@code META-INF/services/nl.naturalis.common.invoke.AccessorTableProvider}.
+ * The {@link GetterFactory} and {@link SetterFactory} then use the generated
+ * method references instead of introspecting the class. Annotated classes must be
+ * public and either top-level or {@code static}. Only the getters that
+ * {@link GetterFactory#getGetters(Class, boolean) strict} introspection would
+ * find end up in the table; non-strict introspection still uses reflection.
+ *
+ * <p>Within a named module, {@code ServiceLoader} ignores
+ * {@code META-INF/services}, so the module must declare the generated providers
+ * itself:
+ *
+ * <blockquote><pre>{@code
+ * provides nl.naturalis.common.invoke.AccessorTableProvider
+ *     with com.example.Foo$Accessors;
+ * }</pre></blockquote>
+ *
+ * @author Ayco Holleman
+ */
+@Documented
+@Retention(CLASS)
+@Target(TYPE)
+public @interface GenerateAccessors {}
@@ -1,11 +1,15 @@
 package nl.naturalis.common.invoke;
 
 import nl.naturalis.common.ExceptionMethods;
+import nl.naturalis.common.x.invoke.InvokeUtils;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
+import java.util.function.Function;
 
 import static java.lang.invoke.MethodHandles.lookup;
+import static java.lang.invoke.MethodHandles.publicLookup;
+import static java.lang.invoke.MethodType.methodType;
 
 /**
  * Represents a getter for a single property.
@@ -14,18 +18,48 @@ import static java.lang.invoke.MethodHandles.lookup;
  */
 public final class Getter {
 
+  private static final MethodHandle APPLY;
+
+  static {
+    try {
+      APPLY = publicLookup().findVirtual(Function.class,
+          "apply",
+          methodType(Object.class, Object.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  // Null if the getter comes from an AccessorTable
   private final Method method;
   private final MethodHandle mh;
   private final String property;
+  private final Class<?> returnType;
+  // Null if not compiled, or if compilation was not possible
+  private final Function<Object, Object> fn;
 
-  Getter(Method method, String property) {
+  Getter(Method method, String property, boolean compile) {
     this.method = method;
     this.property = property;
+    this.returnType = method.getReturnType();
     try {
       this.mh = lookup().unreflect(method);
     } catch (IllegalAccessException e) {
       throw ExceptionMethods.uncheck(e);
     }
+    this.fn = compile ? InvokeUtils.compileGetter(method) : null;
+  }
+
+  // For getters in an AccessorTable
+  Getter(String property,
+      Class<?> beanClass,
+      Class<?> returnType,
+      Function<Object, Object> fn) {
+    this.method = null;
+    this.property = property;
+    this.returnType = returnType;
+    this.fn = fn;
+    this.mh = APPLY.bindTo(fn).asType(methodType(returnType, beanClass));
   }
 
   /**
@@ -43,7 +77,20 @@ public final class Getter {
    * @return the type of the property
    */
   public Class<?> getReturnType() {
-    return method.getReturnType();
+    return returnType;
+  }
+
+  /**
+   * Returns whether this {@code Getter} calls the underlying method through a
+   * {@link java.lang.invoke.LambdaMetafactory LambdaMetafactory}-generated
+   * {@code Function} rather than through a {@code MethodHandle}. Only getters
+   * obtained from {@link GetterFactory#COMPILED} are compiled, and even then
+   * only if access rules allow it.
+   *
+   * @return whether this {@code Getter} is compiled
+   */
+  public boolean isCompiled() {
+    return fn != null;
   }
 
   /**
@@ -55,7 +102,15 @@ public final class Getter {
    *     {@link MethodHandle#invoke(Object...) MethodHandle.invoke}.
    */
   public Object read(Object bean) throws Throwable {
-    return mh.invoke(bean);
+    return fn == null ? mh.invoke(bean) : fn.apply(bean);
+  }
+
+  Method getMethod() {
+    return method;
+  }
+
+  MethodHandle getMethodHandle() {
+    return mh;
   }
 
 }
@@ -4,8 +4,8 @@ import nl.naturalis.common.check.Check;
 import nl.naturalis.common.x.invoke.InvokeUtils;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -15,21 +15,48 @@ import static nl.naturalis.common.check.CommonChecks.empty;
 import static nl.naturalis.common.x.invoke.InvokeUtils.getPropertyNameFromGetter;
 
 /**
- * Provides and caches {@link Getter getters} for classes.
+ * Provides and caches {@link Getter getters} for classes. {@code GetterFactory}
+ * instances are thread-safe. The cache does not prevent bean classes from being
+ * unloaded.
  *
  * @author Ayco Holleman
  */
 public final class GetterFactory {
 
-  public static final GetterFactory INSTANCE = new GetterFactory();
+  /**
+   * A {@code GetterFactory} producing {@link Getter Getters} that call the underlying method through a
+   * {@code MethodHandle}.
+   */
+  public static final GetterFactory INSTANCE = new GetterFactory(false);
+
+  /**
+   * A {@code GetterFactory} producing {@link Getter Getters} that call the underlying method through a
+   * {@link java.lang.invoke.LambdaMetafactory LambdaMetafactory}-generated {@code Function}, which
+   * the JIT compiler can inline. Creating these getters is more expensive, but reading bean
+   * properties through them is considerably faster. If the underlying method cannot be accessed
+   * from within this module (for example because it is declared in a package that is opened but
+   * not exported), the getter silently falls back on a {@code MethodHandle}.
+   *
+   * @see Getter#isCompiled()
+   */
+  public static final GetterFactory COMPILED = new GetterFactory(true);
 
-  private final Map<Class<?>, Map<String, Getter>> cache = new HashMap<>();
+  private final boolean compile;
+  private final AccessorCache<Map<String, Getter>> strictCache;
+  private final AccessorCache<Map<String, Getter>> lenientCache;
 
-  private GetterFactory() {}
+  private GetterFactory(boolean compile) {
+    this.compile = compile;
+    this.strictCache = new AccessorCache<>(c -> createGetters(c, true));
+    this.lenientCache = new AccessorCache<>(c -> createGetters(c, false));
+  }
 
   /**
    * Returns the public {@link Getter getters} for the specified class. The returned {@code Map}
-   * maps property names to {@code Getter} instances.
+   * maps property names to {@code Getter} instances. If the class is a {@code record}, the
+   * accessor methods of its record components are returned as getters, and the {@code strict}
+   * argument is ignored. If an {@link AccessorTable} was registered for the class, its getters
+   * are returned for strict lookups, and the class is not introspected at all.
    *
    * @param clazz The class for which to retrieve the public getters
    * @param strict If {@code false}, all methods with a zero-length parameter list and a
@@ -41,19 +68,51 @@ public final class GetterFactory {
    * @throws IllegalAssignmentException If the does not have any public getters
    */
   public Map<String, Getter> getGetters(Class<?> clazz, boolean strict) {
-    Map<String, Getter> getters = cache.get(clazz);
-    if (getters == null) {
-      List<Method> methods = InvokeUtils.getGetters(clazz, strict);
-      Check.that(methods).isNot(empty(), () -> new NoPublicGettersException(clazz));
-      List<Entry<String, Getter>> entries = new ArrayList<>(methods.size());
-      for (Method m : methods) {
-        String prop = getPropertyNameFromGetter(m, strict);
-        entries.add(entry(prop, new Getter(m, prop)));
+    Check.notNull(clazz, "clazz");
+    return strict ? strictCache.get(clazz) : lenientCache.get(clazz);
+  }
+
+  /**
+   * Returns the hit, miss and size statistics of this factory's cache. A class
+   * that has been introspected both strictly and non-strictly is counted twice.
+   *
+   * @return the statistics of this factory's cache
+   */
+  public CacheStats getCacheStats() {
+    return strictCache.getStats().plus(lenientCache.getStats());
+  }
+
+  private Map<String, Getter> createGetters(Class<?> clazz, boolean strict) {
+    // Accessor tables only contain the getters found by strict introspection
+    if (strict || clazz.isRecord()) {
+      AccessorTable<?> table = AccessorIndex.get(clazz);
+      if (table != null && !table.getGetters().isEmpty()) {
+        return table.getGetters();
       }
-      getters = Map.ofEntries(entries.toArray(Entry[]::new));
-      cache.put(clazz, getters);
     }
-    return getters;
+    if (clazz.isRecord()) {
+      return createRecordGetters(clazz);
+    }
+    List<Method> methods = InvokeUtils.getGetters(clazz, strict);
+    Check.that(methods).isNot(empty(), () -> new NoPublicGettersException(clazz));
+    List<Entry<String, Getter>> entries = new ArrayList<>(methods.size());
+    for (Method m : methods) {
+      String prop = getPropertyNameFromGetter(m, strict);
+      entries.add(entry(prop, new Getter(m, prop, compile)));
+    }
+    return Map.ofEntries(entries.toArray(Entry[]::new));
+  }
+
+  // The accessors of a record's components are its getters, whatever their names
+  private Map<String, Getter> createRecordGetters(Class<?> clazz) {
+    RecordComponent[] components = clazz.getRecordComponents();
+    Check.that(components).isNot(empty(), () -> new NoPublicGettersException(clazz));
+    List<Entry<String, Getter>> entries = new ArrayList<>(components.length);
+    for (RecordComponent rc : components) {
+      entries.add(entry(rc.getName(),
+          new Getter(rc.getAccessor(), rc.getName(), compile)));
+    }
+    return Map.ofEntries(entries.toArray(Entry[]::new));
   }
 
 }
@@ -34,7 +34,7 @@ public sealed class InvokeException extends RuntimeException permits
     return new InvokeException(msg);
   }
 
-  static InvokeException wrap(Throwable t, Object bean, Getter getter) {
+  public static InvokeException wrap(Throwable t, Object bean, Getter getter) {
     return new InvokeException("Error while reading %s.%s: %s",
         simpleClassName(bean),
         getter.getProperty(),
@@ -11,6 +11,12 @@ public final class NoSuchPropertyException extends InvokeException {
     return new NoSuchPropertyException(NO_SUCH_PROPERTY, cn, property);
   }
 
+  public static NoSuchPropertyException noSuchProperty(Class<?> beanClass,
+      String property) {
+    String cn = ClassMethods.className(beanClass);
+    return new NoSuchPropertyException(NO_SUCH_PROPERTY, cn, property);
+  }
+
   public NoSuchPropertyException(String message, Object... msgArgs) {
     super(message, msgArgs);
   }
@@ -0,0 +1,179 @@
+package nl.naturalis.common.invoke;
+
+import nl.naturalis.common.x.invoke.InvokeUtils;
+
+import java.util.Objects;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Compares and hashes a single property of two beans. Properties of type
+ * {@code int}, {@code short}, {@code byte}, {@code char}, {@code long} and
+ * {@code double} are read through primitive specializations of {@code Function},
+ * so they are never boxed. The hash of each property equals the hash code of its
+ * boxed value.
+ *
+ * @author Ayco Holleman
+ */
+abstract sealed class PropertyComparator {
+
+  static PropertyComparator forGetter(Getter getter) {
+    Class<?> type = getter.getReturnType();
+    // Getters from an AccessorTable have no method to spin a primitive function for
+    if (getter.getMethod() == null) {
+      return new ObjectComparator(getter);
+    }
+    if (type == int.class || type == short.class || type == byte.class
+        || type == char.class) {
+      ToIntFunction<Object> fn = InvokeUtils.compileIntGetter(getter.getMethod());
+      if (fn != null) {
+        return new IntComparator(getter, fn);
+      }
+    } else if (type == long.class) {
+      ToLongFunction<Object> fn = InvokeUtils.compileLongGetter(getter.getMethod());
+      if (fn != null) {
+        return new LongComparator(getter, fn);
+      }
+    } else if (type == double.class) {
+      ToDoubleFunction<Object> fn = InvokeUtils.compileDoubleGetter(getter.getMethod());
+      if (fn != null) {
+        return new DoubleComparator(getter, fn);
+      }
+    }
+    return new ObjectComparator(getter);
+  }
+
+  final Getter getter;
+
+  PropertyComparator(Getter getter) {
+    this.getter = getter;
+  }
+
+  abstract boolean equals(Object bean0, Object bean1);
+
+  abstract int hash(Object bean);
+
+  InvokeException readError(Throwable t, Object bean) {
+    return InvokeException.wrap(t, bean, getter);
+  }
+
+  static final class IntComparator extends PropertyComparator {
+
+    private final ToIntFunction<Object> fn;
+
+    IntComparator(Getter getter, ToIntFunction<Object> fn) {
+      super(getter);
+      this.fn = fn;
+    }
+
+    @Override
+    boolean equals(Object bean0, Object bean1) {
+      return read(bean0) == read(bean1);
+    }
+
+    @Override
+    int hash(Object bean) {
+      // Same as Byte.hashCode, Short.hashCode and Character.hashCode
+      return read(bean);
+    }
+
+    private int read(Object bean) {
+      try {
+        return fn.applyAsInt(bean);
+      } catch (Throwable t) {
+        throw readError(t, bean);
+      }
+    }
+
+  }
+
+  static final class LongComparator extends PropertyComparator {
+
+    private final ToLongFunction<Object> fn;
+
+    LongComparator(Getter getter, ToLongFunction<Object> fn) {
+      super(getter);
+      this.fn = fn;
+    }
+
+    @Override
+    boolean equals(Object bean0, Object bean1) {
+      return read(bean0) == read(bean1);
+    }
+
+    @Override
+    int hash(Object bean) {
+      return Long.hashCode(read(bean));
+    }
+
+    private long read(Object bean) {
+      try {
+        return fn.applyAsLong(bean);
+      } catch (Throwable t) {
+        throw readError(t, bean);
+      }
+    }
+
+  }
+
+  static final class DoubleComparator extends PropertyComparator {
+
+    private final ToDoubleFunction<Object> fn;
+
+    DoubleComparator(Getter getter, ToDoubleFunction<Object> fn) {
+      super(getter);
+      this.fn = fn;
+    }
+
+    @Override
+    boolean equals(Object bean0, Object bean1) {
+      // Same semantics as Double.equals: NaN equals NaN and 0.0 does not equal -0.0
+      return Double.doubleToLongBits(read(bean0))
+          == Double.doubleToLongBits(read(bean1));
+    }
+
+    @Override
+    int hash(Object bean) {
+      return Double.hashCode(read(bean));
+    }
+
+    private double read(Object bean) {
+      try {
+        return fn.applyAsDouble(bean);
+      } catch (Throwable t) {
+        throw readError(t, bean);
+      }
+    }
+
+  }
+
+  // Non-primitive properties, boolean and float properties, and primitive
+  // properties that could not be compiled
+  static final class ObjectComparator extends PropertyComparator {
+
+    ObjectComparator(Getter getter) {
+      super(getter);
+    }
+
+    @Override
+    boolean equals(Object bean0, Object bean1) {
+      return Objects.equals(read(bean0), read(bean1));
+    }
+
+    @Override
+    int hash(Object bean) {
+      return Objects.hashCode(read(bean));
+    }
+
+    private Object read(Object bean) {
+      try {
+        return getter.read(bean);
+      } catch (Throwable t) {
+        throw readError(t, bean);
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,310 @@
+package nl.naturalis.common.invoke;
+
+import nl.naturalis.common.check.Check;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static nl.naturalis.common.check.CommonChecks.arrayIndexOf;
+import static nl.naturalis.common.check.CommonChecks.gt;
+
+/**
+ * A pre-resolved list of properties to be read from beans of a particular type.
+ * The properties are accessed by their index (or "slot") within the list rather
+ * than by name, so reading them involves no {@code Map} lookups. A
+ * {@code ReadPlan} is meant for situations where the same few properties must be
+ * read from a large number of beans, for example when exporting beans to a CSV
+ * file or a database table. {@code ReadPlan} instances are obtained through
+ * {@link BeanReader#getReadPlan(String...) BeanReader.getReadPlan} and are
+ * thread-safe.
+ *
+ * <blockquote><pre>{@code
+ * BeanReader<Person> reader = new BeanReader<>(Person.class);
+ * ReadPlan<Person> plan = reader.getReadPlan("id", "firstName", "lastName");
+ * Object[] row = new Object[plan.size()];
+ * for (Person person : persons) {
+ *   plan.readInto(person, row);
+ *   csvWriter.writeRow(row);
+ * }
+ * }</pre></blockquote>
+ *
+ * <p>Alternatively, the values can be extracted column by column, using one of
+ * the {@code readColumns} methods. The values of {@code int}, {@code long} and
+ * {@code double} properties are then read straight into primitive arrays, without
+ * being boxed.
+ *
+ * @param <T> The type of the bean
+ * @author Ayco Holleman
+ */
+public final class ReadPlan<T> {
+
+  private final Class<? super T> beanClass;
+  private final List<String> properties;
+  private final Getter[] getters;
+
+  // Lazily initialized. Racy but benign.
+  private volatile ColumnReader[] columnReaders;
+
+  ReadPlan(Class<? super T> beanClass, List<String> properties, Getter[] getters) {
+    this.beanClass = beanClass;
+    this.properties = properties;
+    this.getters = getters;
+  }
+
+  /**
+   * Returns the type of the beans this {@code ReadPlan} reads.
+   *
+   * @return The type of the beans this {@code ReadPlan} reads
+   */
+  public Class<? super T> getBeanClass() {
+    return beanClass;
+  }
+
+  /**
+   * Returns the properties read by this {@code ReadPlan}, in slot order.
+   *
+   * @return The properties read by this {@code ReadPlan}
+   */
+  public List<String> getProperties() {
+    return properties;
+  }
+
+  /**
+   * Returns the number of properties read by this {@code ReadPlan}.
+   *
+   * @return The number of properties read by this {@code ReadPlan}
+   */
+  public int size() {
+    return getters.length;
+  }
+
+  /**
+   * Returns the slot of the specified property, or -1 if the property is not read
+   * by this {@code ReadPlan}.
+   *
+   * @param property The property
+   * @return The slot of the property
+   */
+  public int slotOf(String property) {
+    return properties.indexOf(property);
+  }
+
+  /**
+   * Returns the value of the property in the specified slot.
+   *
+   * @param <U> The type of the property
+   * @param bean The bean
+   * @param slot The slot of the property
+   * @return The value of the property
+   */
+  @SuppressWarnings("unchecked")
+  public <U> U read(T bean, int slot) {
+    Check.notNull(bean, "bean");
+    Check.that(slot, "slot").is(arrayIndexOf(), getters);
+    return (U) read(bean, getters[slot]);
+  }
+
+  /**
+   * Returns the values of all properties read by this {@code ReadPlan}, in slot
+   * order.
+   *
+   * @param bean The bean
+   * @return The values of all properties in this {@code ReadPlan}
+   */
+  public Object[] read(T bean) {
+    Check.notNull(bean, "bean");
+    Object[] row = new Object[getters.length];
+    readInto(bean, row);
+    return row;
+  }
+
+  /**
+   * Reads the values of all properties in this {@code ReadPlan} into the
+   * specified array, in slot order. This method performs no argument checks
+   * whatsoever, making it suitable for tight loops. The bean must not be
+   * {@code null} and the array must have a length of at least {@link #size()}.
+   * The array can be reused for each bean.
+   *
+   * @param bean The bean
+   * @param row The array to receive the property values
+   */
+  public void readInto(T bean, Object[] row) {
+    Getter[] getters = this.getters;
+    for (int i = 0; i < getters.length; ++i) {
+      row[i] = read(bean, getters[i]);
+    }
+  }
+
+  /**
+   * Reads the values of all properties in this {@code ReadPlan} from each of the
+   * specified beans. The returned array contains one row per bean.
+   *
+   * @param beans The beans
+   * @return The property values of all beans
+   */
+  public Object[][] readAll(List<? extends T> beans) {
+    Check.notNull(beans, "beans");
+    Object[][] rows = new Object[beans.size()][];
+    int i = 0;
+    for (T bean : beans) {
+      Object[] row = new Object[getters.length];
+      readInto(bean, row);
+      rows[i++] = row;
+    }
+    return rows;
+  }
+
+  /**
+   * Extracts the values of all properties in this {@code ReadPlan} from the
+   * specified beans, column by column. The beans must not be {@code null}.
+   *
+   * @param beans The beans
+   * @return A {@code ColumnBatch} containing the property values of all beans
+   */
+  public ColumnBatch readColumns(List<? extends T> beans) {
+    Check.notNull(beans, "beans");
+    ColumnReader[] readers = getColumnReaders();
+    Object[] columns = newColumns(readers, beans.size());
+    for (int i = 0; i < readers.length; ++i) {
+      readers[i].read(beans, 0, beans.size(), columns[i]);
+    }
+    return newBatch(readers, columns, beans.size());
+  }
+
+  /**
+   * Extracts the values of all properties in this {@code ReadPlan} from the
+   * specified beans, column by column, spreading the work across the threads of
+   * the specified {@code ForkJoinPool}. Each thread processes a contiguous range
+   * of beans. The list should therefore support fast random access, and the beans
+   * must not be modified while the extraction is in progress.
+   *
+   * @param beans The beans
+   * @param pool The {@code ForkJoinPool} to use, for example
+   *     {@link ForkJoinPool#commonPool()}
+   * @return A {@code ColumnBatch} containing the property values of all beans
+   */
+  public ColumnBatch readColumns(List<? extends T> beans, ForkJoinPool pool) {
+    Check.notNull(beans, "beans");
+    Check.notNull(pool, "pool");
+    ColumnReader[] readers = getColumnReaders();
+    Object[] columns = newColumns(readers, beans.size());
+    int threshold = Math.max(MIN_RANGE, beans.size() / (pool.getParallelism() * 4));
+    pool.invoke(new ColumnTask(readers, beans, columns, 0, beans.size(), threshold));
+    return newBatch(readers, columns, beans.size());
+  }
+
+  /**
+   * Extracts the values of all properties in this {@code ReadPlan} from the
+   * beans in the specified stream, column by column, and passes them in batches
+   * to the specified consumer. At most {@code batchSize} beans are held in memory
+   * at any time (plus whatever the consumer holds on to). Each batch contains
+   * {@code batchSize} beans, except possibly the last one. A new
+   * {@code ColumnBatch} is created for each batch, so the consumer may safely
+   * keep a reference to it.
+   *
+   * @param beans The beans
+   * @param batchSize The maximum number of beans in a batch
+   * @param consumer The consumer of the batches
+   */
+  public void readColumns(Stream<? extends T> beans,
+      int batchSize,
+      Consumer<? super ColumnBatch> consumer) {
+    Check.notNull(beans, "beans");
+    Check.that(batchSize, "batchSize").is(gt(), 0);
+    Check.notNull(consumer, "consumer");
+    List<T> batch = new ArrayList<>(batchSize);
+    Iterator<? extends T> iterator = beans.iterator();
+    while (iterator.hasNext()) {
+      batch.add(iterator.next());
+      if (batch.size() == batchSize) {
+        consumer.accept(readColumns(batch));
+        batch.clear();
+      }
+    }
+    if (!batch.isEmpty()) {
+      consumer.accept(readColumns(batch));
+    }
+  }
+
+  private static final int MIN_RANGE = 1024;
+
+  private static final class ColumnTask extends RecursiveAction {
+
+    private final ColumnReader[] readers;
+    private final List<?> beans;
+    private final Object[] columns;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    ColumnTask(ColumnReader[] readers,
+        List<?> beans,
+        Object[] columns,
+        int from,
+        int to,
+        int threshold) {
+      this.readers = readers;
+      this.beans = beans;
+      this.columns = columns;
+      this.from = from;
+      this.to = to;
+      this.threshold = threshold;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= threshold) {
+        for (int i = 0; i < readers.length; ++i) {
+          readers[i].read(beans, from, to, columns[i]);
+        }
+      } else {
+        int mid = (from + to) >>> 1;
+        invokeAll(new ColumnTask(readers, beans, columns, from, mid, threshold),
+            new ColumnTask(readers, beans, columns, mid, to, threshold));
+      }
+    }
+
+  }
+
+  private ColumnReader[] getColumnReaders() {
+    ColumnReader[] readers = columnReaders;
+    if (readers == null) {
+      readers = new ColumnReader[getters.length];
+      for (int i = 0; i < getters.length; ++i) {
+        readers[i] = ColumnReader.forGetter(getters[i]);
+      }
+      columnReaders = readers;
+    }
+    return readers;
+  }
+
+  private static Object[] newColumns(ColumnReader[] readers, int size) {
+    Object[] columns = new Object[readers.length];
+    for (int i = 0; i < readers.length; ++i) {
+      columns[i] = readers[i].newColumn(size);
+    }
+    return columns;
+  }
+
+  private ColumnBatch newBatch(ColumnReader[] readers, Object[] columns, int size) {
+    Class<?>[] types = new Class[readers.length];
+    for (int i = 0; i < readers.length; ++i) {
+      types[i] = readers[i].getColumnType();
+    }
+    return new ColumnBatch(properties, types, columns, size);
+  }
+
+  private static Object read(Object bean, Getter getter) {
+    try {
+      return getter.read(bean);
+    } catch (Throwable t) {
+      throw InvokeException.wrap(t, bean, getter);
+    }
+  }
+
+}
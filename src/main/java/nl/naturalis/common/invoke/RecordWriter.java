@@ -0,0 +1,202 @@
+package nl.naturalis.common.invoke;
+
+import nl.naturalis.common.ExceptionMethods;
+import nl.naturalis.common.check.Check;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.RecordComponent;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.lang.invoke.MethodType.methodType;
+import static nl.naturalis.common.ClassMethods.getTypeDefault;
+import static nl.naturalis.common.x.invoke.InvokeUtils.isDynamicallyAssignable;
+
+/**
+ * Creates {@code record} instances from a {@code Map} or from another bean. Since
+ * records are immutable, they cannot be populated through a {@link BeanWriter}.
+ * A {@code RecordWriter} instead assembles the arguments for the record's
+ * canonical constructor and then calls the constructor in one go. The
+ * constructor's {@code MethodHandle} is resolved once per record class and shared
+ * by all {@code RecordWriter} instances for that class. Likewise, a
+ * {@code RecordWriter} maps each type of source bean just once onto the
+ * constructor's argument slots.
+ *
+ * <p>Record components for which no value is found in the {@code Map} or
+ * source bean, or for which the value is {@code null}, are assigned the default
+ * value of their type ({@code null} for reference types, zero or {@code false}
+ * for primitive types).
+ *
+ * @param <R> The type of the record
+ * @author Ayco Holleman
+ */
+public final class RecordWriter<R extends Record> {
+
+  private static final ClassValue<CanonicalConstructor> CONSTRUCTORS =
+      new ClassValue<>() {
+        @Override
+        protected CanonicalConstructor computeValue(Class<?> type) {
+          return new CanonicalConstructor(type);
+        }
+      };
+
+  private final Class<R> recordClass;
+  private final CanonicalConstructor constructor;
+
+  // For each type of source bean, the getters to use for the constructor's
+  // argument slots. A getter may be null if the source bean does not have a
+  // property with the same name as the record component.
+  private final ClassValue<Getter[]> argPlans = new ClassValue<>() {
+    @Override
+    protected Getter[] computeValue(Class<?> type) {
+      Map<String, Getter> getters = GetterFactory.COMPILED.getGetters(type, true);
+      String[] names = constructor.names;
+      Getter[] plan = new Getter[names.length];
+      for (int i = 0; i < names.length; ++i) {
+        plan[i] = getters.get(names[i]);
+      }
+      return plan;
+    }
+  };
+
+  /**
+   * Creates a new {@code RecordWriter} for the specified record class.
+   *
+   * @param recordClass The record class
+   */
+  public RecordWriter(Class<R> recordClass) {
+    this.recordClass = Check.notNull(recordClass, "recordClass").ok();
+    this.constructor = CONSTRUCTORS.get(recordClass);
+  }
+
+  /**
+   * Creates a record instance from the entries in the specified map. Map keys must
+   * correspond to the names of the record components. Map keys that do not
+   * correspond to any record component are quietly ignored.
+   *
+   * @param map The {@code Map} providing the values for the record components
+   * @return A new record instance
+   * @throws IllegalAssignmentException If a value cannot be assigned to the
+   *     corresponding record component
+   */
+  public R fromMap(Map<String, ?> map) throws IllegalAssignmentException {
+    Check.notNull(map, "map");
+    String[] names = constructor.names;
+    Object[] args = new Object[names.length];
+    for (int i = 0; i < names.length; ++i) {
+      args[i] = map.get(names[i]);
+    }
+    return newInstance(args);
+  }
+
+  /**
+   * Creates a record instance from the properties of the specified bean, which
+   * may itself be a record. The properties of the bean must have the same names
+   * as the record components. Properties that do not correspond to any record
+   * component are ignored.
+   *
+   * @param bean The bean providing the values for the record components
+   * @return A new record instance
+   * @throws IllegalAssignmentException If a value cannot be assigned to the
+   *     corresponding record component
+   */
+  public R fromBean(Object bean) throws IllegalAssignmentException {
+    Check.notNull(bean, "bean");
+    Getter[] plan = argPlans.get(bean.getClass());
+    Object[] args = new Object[plan.length];
+    for (int i = 0; i < plan.length; ++i) {
+      if (plan[i] != null) {
+        try {
+          args[i] = plan[i].read(bean);
+        } catch (Throwable t) {
+          throw InvokeException.wrap(t, bean, plan[i]);
+        }
+      }
+    }
+    return newInstance(args);
+  }
+
+  /**
+   * Returns the record class.
+   *
+   * @return The record class
+   */
+  public Class<R> getRecordClass() {
+    return recordClass;
+  }
+
+  /**
+   * Returns the names of the record components, in declaration order.
+   *
+   * @return The names of the record components
+   */
+  public List<String> getComponentNames() {
+    return List.of(constructor.names);
+  }
+
+  @SuppressWarnings("unchecked")
+  private R newInstance(Object[] args) {
+    Object[] defaults = constructor.defaults;
+    for (int i = 0; i < args.length; ++i) {
+      if (args[i] == null) {
+        args[i] = defaults[i];
+      }
+    }
+    try {
+      return (R) constructor.mh.invokeExact(args);
+    } catch (ClassCastException e) {
+      IllegalAssignmentException exc = illegalAssignment(args);
+      throw exc == null ? e : exc;
+    } catch (Throwable t) {
+      throw ExceptionMethods.uncheck(t);
+    }
+  }
+
+  // Returns null if all arguments are assignable to their record component, in
+  // which case the ClassCastException must have come from inside the constructor
+  private IllegalAssignmentException illegalAssignment(Object[] args) {
+    Class<?>[] types = constructor.types;
+    for (int i = 0; i < args.length; ++i) {
+      if (args[i] != null && !isDynamicallyAssignable(args[i], types[i])) {
+        return new IllegalAssignmentException(recordClass,
+            constructor.names[i],
+            types[i],
+            args[i]);
+      }
+    }
+    return null;
+  }
+
+  // The canonical constructor of a record class, spread out so that it takes an
+  // Object[] array with one argument per record component
+  private static final class CanonicalConstructor {
+
+    private final String[] names;
+    private final Class<?>[] types;
+    private final Object[] defaults;
+    private final MethodHandle mh;
+
+    CanonicalConstructor(Class<?> recordClass) {
+      RecordComponent[] components = recordClass.getRecordComponents();
+      names = new String[components.length];
+      types = new Class[components.length];
+      defaults = new Object[components.length];
+      for (int i = 0; i < components.length; ++i) {
+        names[i] = components[i].getName();
+        types[i] = components[i].getType();
+        defaults[i] = getTypeDefault(types[i]);
+      }
+      try {
+        MethodHandle ctor = lookup().unreflectConstructor(
+            recordClass.getDeclaredConstructor(types));
+        mh = ctor.asSpreader(Object[].class, types.length)
+            .asType(methodType(Record.class, Object[].class));
+      } catch (NoSuchMethodException | IllegalAccessException e) {
+        throw ExceptionMethods.uncheck(e);
+      }
+    }
+
+  }
+
+}
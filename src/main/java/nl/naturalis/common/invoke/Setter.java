@@ -1,10 +1,15 @@
 package nl.naturalis.common.invoke;
 
+import nl.naturalis.common.ClassMethods;
 import nl.naturalis.common.ExceptionMethods;
+import nl.naturalis.common.x.invoke.InvokeUtils;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+
+import static java.lang.invoke.MethodType.methodType;
 
 /**
  * Represents a setter for a single property.
@@ -13,18 +18,51 @@ import java.lang.reflect.Method;
  */
 public final class Setter {
 
-  private final Method method;
+  private static final MethodHandle ACCEPT;
+
+  static {
+    try {
+      ACCEPT = MethodHandles.publicLookup().findVirtual(BiConsumer.class,
+          "accept",
+          methodType(void.class, Object.class, Object.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private final Class<?> beanClass;
   private final MethodHandle mh;
   private final String property;
+  // Null if not compiled, or if compilation was not possible
+  private final BiConsumer<Object, Object> fn;
+  private final Class<?> paramType;
+  // The exact type of value that fn can accept without a widening conversion
+  private final Class<?> exact;
 
-  Setter(Method method, String property) {
-    this.method = method;
+  Setter(Method method, String property, boolean compile) {
+    this.beanClass = method.getDeclaringClass();
     this.property = property;
     try {
       this.mh = MethodHandles.lookup().unreflect(method);
     } catch (IllegalAccessException e) {
       throw ExceptionMethods.uncheck(e);
     }
+    this.fn = compile ? InvokeUtils.compileSetter(method) : null;
+    this.paramType = method.getParameterTypes()[0];
+    this.exact = ClassMethods.box(paramType);
+  }
+
+  // For setters in an AccessorTable
+  Setter(String property,
+      Class<?> beanClass,
+      Class<?> paramType,
+      BiConsumer<Object, Object> fn) {
+    this.beanClass = beanClass;
+    this.property = property;
+    this.fn = fn;
+    this.paramType = paramType;
+    this.exact = ClassMethods.box(paramType);
+    this.mh = ACCEPT.bindTo(fn).asType(methodType(void.class, beanClass, paramType));
   }
 
   /**
@@ -42,7 +80,19 @@ public final class Setter {
    * @return the type of the property
    */
   public Class<?> getParamType() {
-    return method.getParameterTypes()[0];
+    return paramType;
+  }
+
+  /**
+   * Returns whether this {@code Setter} calls the underlying method through a
+   * {@link java.lang.invoke.LambdaMetafactory LambdaMetafactory}-generated
+   * {@code BiConsumer} rather than through a {@code MethodHandle}.
+   *
+   * @return whether this {@code Setter} is compiled
+   * @see Getter#isCompiled()
+   */
+  public boolean isCompiled() {
+    return fn != null;
   }
 
   /**
@@ -60,12 +110,19 @@ public final class Setter {
   public void write(Object bean, Object value)
       throws IllegalAssignmentException, Throwable {
     if (value == null) {
-      if (getParamType().isPrimitive()) {
+      if (paramType.isPrimitive()) {
         throw illegalAssignment(null);
       }
     }
     try {
-      mh.invoke(bean, value);
+      // The compiled setter does not do widening conversions (e.g. Integer to
+      // long), so we leave those to the MethodHandle
+      if (fn != null && (value == null || value.getClass() == exact
+          || !paramType.isPrimitive())) {
+        fn.accept(bean, value);
+      } else {
+        mh.invoke(bean, value);
+      }
     } catch (ClassCastException e) {
       throw illegalAssignment(value);
     }
@@ -80,10 +137,14 @@ public final class Setter {
    */
   public IllegalAssignmentException illegalAssignment(Object value) {
     return new IllegalAssignmentException(
-        method.getDeclaringClass(),
+        beanClass,
         property,
         getParamType(),
         value);
   }
 
+  MethodHandle getMethodHandle() {
+    return mh;
+  }
+
 }
@@ -5,7 +5,6 @@ import nl.naturalis.common.x.invoke.InvokeUtils;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -14,40 +13,76 @@ import static java.util.Map.entry;
 import static nl.naturalis.common.check.CommonChecks.empty;
 
 /**
- * Provides and caches {@link Setter setters} for classes.
+ * Provides and caches {@link Setter setters} for classes. {@code SetterFactory}
+ * instances are thread-safe. The cache does not prevent bean classes from being
+ * unloaded.
  *
  * @author Ayco Holleman
  */
 public final class SetterFactory {
 
-  public static final SetterFactory INSTANCE = new SetterFactory();
+  /**
+   * A {@code SetterFactory} producing {@link Setter Setters} that call the underlying method through a
+   * {@code MethodHandle}.
+   */
+  public static final SetterFactory INSTANCE = new SetterFactory(false);
+
+  /**
+   * A {@code SetterFactory} producing {@link Setter Setters} that call the underlying method through a
+   * {@link java.lang.invoke.LambdaMetafactory LambdaMetafactory}-generated {@code BiConsumer}, which
+   * the JIT compiler can inline. Creating these setters is more expensive, but writing bean
+   * properties through them is considerably faster. If the underlying method cannot be accessed
+   * from within this module (for example because it is declared in a package that is opened but
+   * not exported), the setter silently falls back on a {@code MethodHandle}.
+   *
+   * @see Setter#isCompiled()
+   */
+  public static final SetterFactory COMPILED = new SetterFactory(true);
 
-  private final Map<Class<?>, Map<String, Setter>> cache = new HashMap<>();
+  private final boolean compile;
+  private final AccessorCache<Map<String, Setter>> cache;
 
-  private SetterFactory() {}
+  private SetterFactory(boolean compile) {
+    this.compile = compile;
+    this.cache = new AccessorCache<>(this::createSetters);
+  }
 
   /**
    * Returns the public {@link Setter setters} for the specified class. The returned {@code Map}
-   * maps property names to {@code Setter} instances.
+   * maps property names to {@code Setter} instances. If an {@link AccessorTable} was registered
+   * for the class, its setters are returned, and the class is not introspected at all.
    *
    * @param clazz The class for which to retrieve the public setters
    * @return The public setters of the specified class
    * @throws IllegalAssignmentException If the does not have any public setters
    */
   public Map<String, Setter> getSetters(Class<?> clazz) {
-    Map<String, Setter> setters = cache.get(clazz);
-    if (setters == null) {
-      List<Method> methods = InvokeUtils.getSetters(clazz);
-      Check.that(methods).isNot(empty(), () -> new NoPublicSettersException(clazz));
-      List<Entry<String, Setter>> entries = new ArrayList<>(methods.size());
-      for (Method m : methods) {
-        String prop = InvokeUtils.getPropertyNameFromSetter(m);
-        entries.add(entry(prop, new Setter(m, prop)));
-      }
-      setters = Map.ofEntries(entries.toArray(Entry[]::new));
-      cache.put(clazz, setters);
+    Check.notNull(clazz, "clazz");
+    return cache.get(clazz);
+  }
+
+  /**
+   * Returns the hit, miss and size statistics of this factory's cache.
+   *
+   * @return the statistics of this factory's cache
+   */
+  public CacheStats getCacheStats() {
+    return cache.getStats();
+  }
+
+  private Map<String, Setter> createSetters(Class<?> clazz) {
+    AccessorTable<?> table = AccessorIndex.get(clazz);
+    if (table != null && !table.getSetters().isEmpty()) {
+      return table.getSetters();
+    }
+    List<Method> methods = InvokeUtils.getSetters(clazz);
+    Check.that(methods).isNot(empty(), () -> new NoPublicSettersException(clazz));
+    List<Entry<String, Setter>> entries = new ArrayList<>(methods.size());
+    for (Method m : methods) {
+      String prop = InvokeUtils.getPropertyNameFromSetter(m);
+      entries.add(entry(prop, new Setter(m, prop, compile)));
     }
-    return setters;
+    return Map.ofEntries(entries.toArray(Entry[]::new));
   }
 
 }
@@ -1,6 +1,6 @@
 /**
- * Provides a bean reader and bean writer based on method handles and a minimal
- * amount of reflection.
+ * Provides a bean reader, a bean writer and a record writer based on method handles
+ * and a minimal amount of reflection.
  *
  * @author Ayco Holleman
  */
@@ -2,7 +2,6 @@ package nl.naturalis.common.path;
 
 import java.util.OptionalInt;
 
-import static nl.naturalis.common.NumberMethods.toInt;
 import static nl.naturalis.common.ObjectMethods.isEmpty;
 import static nl.naturalis.common.path.PathWalkerException.*;
 
@@ -13,16 +12,16 @@ final class ArraySegmentReader extends SegmentReader<Object[]> {
   }
 
   @Override
-  Object read(Object[] array, Path path, int segment) {
-    OptionalInt opt = toInt(path.segment(segment));
+  Object read(Object[] array, ParsedPath path, int segment) {
+    OptionalInt opt = path.index(segment);
     if (opt.isEmpty()) {
-      return deadEnd(indexExpected(path, segment));
+      return deadEnd(indexExpected(path.path(), segment));
     }
     int idx = opt.getAsInt();
     if (idx < array.length) {
       return new ObjectReader(se, kd).read(array[idx], path, ++segment);
     }
-    return deadEnd(indexOutOfBounds(path, segment));
+    return deadEnd(indexOutOfBounds(path.path(), segment));
   }
 
 }
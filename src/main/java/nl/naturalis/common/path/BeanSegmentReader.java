@@ -15,22 +15,22 @@ final class BeanSegmentReader extends SegmentReader<Object> {
   }
 
   @Override
-  Object read(Object bean, Path path, int segment) {
+  Object read(Object bean, ParsedPath path, int segment) {
     String property = path.segment(segment);
     if (isEmpty(property)) {
-      return deadEnd(emptySegment(path, segment));
+      return deadEnd(emptySegment(path.path(), segment));
     }
     BeanReader reader;
     try {
       reader = new BeanReader(bean.getClass());
     } catch (NoPublicGettersException e) {
-      return deadEnd(terminalValue(path, segment, bean.getClass()));
+      return deadEnd(terminalValue(path.path(), segment, bean.getClass()));
     }
     try {
       Object val = reader.read(bean, path.segment(segment));
       return new ObjectReader(se, kd).read(val, path, ++segment);
     } catch (NoSuchPropertyException e) {
-      return deadEnd(noSuchProperty(path, segment, bean.getClass()));
+      return deadEnd(noSuchProperty(path.path(), segment, bean.getClass()));
     }
   }
 
@@ -4,7 +4,6 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.OptionalInt;
 
-import static nl.naturalis.common.NumberMethods.toInt;
 import static nl.naturalis.common.path.PathWalkerException.indexExpected;
 import static nl.naturalis.common.path.PathWalkerException.indexOutOfBounds;
 
@@ -17,10 +16,10 @@ final class CollectionSegmentReader extends SegmentReader<Collection> {
   }
 
   @Override
-  Object read(Collection collection, Path path, int segment) {
-    OptionalInt opt = toInt(path.segment(segment));
+  Object read(Collection collection, ParsedPath path, int segment) {
+    OptionalInt opt = path.index(segment);
     if (opt.isEmpty()) {
-      return deadEnd(indexExpected(path, segment));
+      return deadEnd(indexExpected(path.path(), segment));
     }
     int idx = opt.getAsInt();
     if (idx < collection.size()) {
@@ -31,7 +30,7 @@ final class CollectionSegmentReader extends SegmentReader<Collection> {
         return new ObjectReader(se, kd).read(iter.next(), path, ++segment);
       }
     }
-    return deadEnd(indexOutOfBounds(path, segment));
+    return deadEnd(indexOutOfBounds(path.path(), segment));
   }
 
 }
@@ -8,6 +8,14 @@ import java.util.List;
  * {@link PathWalker#PathWalker(List, boolean, KeyDeserializer) constructor} of the
  * {@link PathWalker} class. It is needed when reading or writing to objects that
  * are, or contain maps with a non-{@code String} key type.
+ *
+ * <p>The {@code PathWalker} calls the {@code KeyDeserializer} just once for each
+ * segment of each path, when the {@code PathWalker} is created, and stores the
+ * resulting keys alongside the paths. Since at that point it is not yet known
+ * which segments will end up being used as map keys, the {@code KeyDeserializer}
+ * is also called for segments that represent bean properties or array indexes.
+ * Any exception it throws for such segments is stored as well, and only
+ * surfaces if the segment actually turns out to be a map key.
  */
 @FunctionalInterface
 public interface KeyDeserializer {
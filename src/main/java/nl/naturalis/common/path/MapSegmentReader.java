@@ -11,20 +11,16 @@ final class MapSegmentReader extends SegmentReader<Map<?, ?>> {
   }
 
   @Override
-  Object read(Map<?, ?> map, Path path, int segment) {
+  Object read(Map<?, ?> map, ParsedPath path, int segment) {
     Object key;
-    if (kd == null) {
-      key = path.segment(segment);
-    } else {
-      try {
-        key = kd.deserialize(path, segment);
-      } catch (KeyDeserializationException e) {
-        return deadEnd(keyDeserializationFailed(path, segment, e));
-      }
+    try {
+      key = path.key(segment);
+    } catch (KeyDeserializationException e) {
+      return deadEnd(keyDeserializationFailed(path.path(), segment, e));
     }
     Object val = map.get(key);
     if (val == null && !map.containsKey(key)) {
-      return deadEnd(noSuchKey(path, segment, key));
+      return deadEnd(noSuchKey(path.path(), segment, key));
     }
     return new ObjectReader(se, kd).read(val, path, ++segment);
   }
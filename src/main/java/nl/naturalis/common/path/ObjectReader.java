@@ -16,11 +16,11 @@ final class ObjectReader {
     this.kd = keyDeserializer;
   }
 
-  Object read(Object obj, Path path, int segment) {
+  Object read(Object obj, ParsedPath path, int segment) {
     if (segment == path.size()) {
       return obj;
     } else if (obj == null) {
-      return deadEnd(nullValue(path, segment));
+      return deadEnd(nullValue(path.path(), segment));
     } else if (obj instanceof Collection c) {
       return new CollectionSegmentReader(se, kd).read(c, path, segment);
     } else if (obj instanceof Object[] o) {
@@ -0,0 +1,113 @@
+package nl.naturalis.common.path;
+
+import java.util.Arrays;
+import java.util.OptionalInt;
+
+import static nl.naturalis.common.NumberMethods.toInt;
+
+/**
+ * A {@link Path} along with the array indexes and map keys its segments
+ * represent. The indexes are parsed, and the keys deserialized, just once, when
+ * the {@code ParsedPath} is created, so reading the path over and over again
+ * involves no parsing or key deserialization at all. If key deserialization
+ * fails for a segment, the exception is stored and rethrown once the segment is
+ * actually used as a map key. After all, most segments will turn out to be bean
+ * properties or array indexes rather than map keys.
+ *
+ * @author Ayco Holleman
+ */
+final class ParsedPath {
+
+  // A failed key deserialization
+  private record Failure(Exception exception) {}
+
+  private final Path path;
+  private final OptionalInt[] indexes;
+  // The map keys, or null if there is no KeyDeserializer, in which case the
+  // segments themselves are the keys
+  private final Object[] keys;
+
+  ParsedPath(Path path, KeyDeserializer keyDeserializer) {
+    this.path = path;
+    this.indexes = new OptionalInt[path.size()];
+    for (int i = 0; i < indexes.length; ++i) {
+      String segment = path.segment(i);
+      indexes[i] = segment == null ? OptionalInt.empty() : toInt(segment);
+    }
+    if (keyDeserializer == null) {
+      this.keys = null;
+    } else {
+      this.keys = new Object[path.size()];
+      for (int i = 0; i < keys.length; ++i) {
+        try {
+          keys[i] = keyDeserializer.deserialize(path, i);
+        } catch (KeyDeserializationException | RuntimeException e) {
+          keys[i] = new Failure(e);
+        }
+      }
+    }
+  }
+
+  private ParsedPath(Path path, OptionalInt[] indexes, Object[] keys) {
+    this.path = path;
+    this.indexes = indexes;
+    this.keys = keys;
+  }
+
+  static ParsedPath[] parse(Path[] paths, KeyDeserializer keyDeserializer) {
+    ParsedPath[] parsed = new ParsedPath[paths.length];
+    for (int i = 0; i < paths.length; ++i) {
+      parsed[i] = new ParsedPath(paths[i], keyDeserializer);
+    }
+    return parsed;
+  }
+
+  /*
+   * Returns the ParsedPath for the parent of this path. The keys and indexes are
+   * copied rather than resolved again. The path must not be empty.
+   */
+  ParsedPath parent() {
+    int size = indexes.length - 1;
+    return new ParsedPath(path.parent(),
+        Arrays.copyOf(indexes, size),
+        keys == null ? null : Arrays.copyOf(keys, size));
+  }
+
+  Path path() {
+    return path;
+  }
+
+  int size() {
+    return indexes.length;
+  }
+
+  String segment(int segment) {
+    return path.segment(segment);
+  }
+
+  /*
+   * Returns the array index represented by the specified segment, or an empty
+   * OptionalInt if the segment is not an integer.
+   */
+  OptionalInt index(int segment) {
+    return indexes[segment];
+  }
+
+  /*
+   * Returns the map key represented by the specified segment.
+   */
+  Object key(int segment) throws KeyDeserializationException {
+    if (keys == null) {
+      return path.segment(segment);
+    }
+    Object key = keys[segment];
+    if (key instanceof Failure f) {
+      if (f.exception instanceof KeyDeserializationException e) {
+        throw e;
+      }
+      throw (RuntimeException) f.exception;
+    }
+    return key;
+  }
+
+}
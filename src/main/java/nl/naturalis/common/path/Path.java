@@ -7,10 +7,10 @@ import nl.naturalis.common.x.Param;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-import static java.lang.System.arraycopy;
-import static java.util.Arrays.copyOfRange;
 import static java.util.function.Predicate.not;
 import static nl.naturalis.common.ArrayMethods.EMPTY_STRING_ARRAY;
 import static nl.naturalis.common.ArrayMethods.implode;
@@ -63,12 +63,37 @@ import static nl.naturalis.common.check.CommonChecks.*;
  * String} array) to the constructor. Only escape them when passing a complete path
  * string.
  *
+ * <h4>Wildcards and slices</h4>
+ * <p>When streaming values using {@link PathWalker#stream(Object)
+ * PathWalker.stream}, two more types of segments are recognized. A segment
+ * consisting of a single asterisk ({@link #WILDCARD "*"}) matches all elements of a
+ * collection or array, all values of a map, and all properties of a JavaBean. A
+ * segment of the form {@code from:to} (a slice) matches the elements of a list or
+ * array with an index greater than or equal to {@code from} and less than
+ * {@code to}. Either bound may be left out: {@code "2:"} matches all elements from
+ * index 2 onwards, and {@code ":2"} matches the first two elements. Thus, the path
+ * {@code "orders.*.lines.0:3.price"} matches the prices of the first three lines of
+ * all orders. In all other contexts, such segments are taken literally.
+ *
+ * <p>A {@code Path} created from a path string without escape sequences keeps a
+ * reference to the path string and the offsets of the segments within it. The
+ * segments themselves are only extracted when requested. Paths obtained through
+ * {@link #subpath(int) subpath}, {@link #parent() parent} and
+ * {@link #shift() shift} share their data with the original path rather than
+ * copying it.
+ *
  * @author Ayco Holleman
  */
 public final class Path implements Comparable<Path>, Iterable<String>, Emptyable {
 
   private static Path EMPTY_PATH = new Path();
 
+  /**
+   * The segment that, when streaming values, matches all elements of a collection,
+   * array or map, and all properties of a JavaBean.
+   */
+  public static final String WILDCARD = "*";
+
   // segment separator
   private static final char SEP = '.';
 
@@ -78,6 +103,12 @@ public final class Path implements Comparable<Path>, Iterable<String>, Emptyable
   // escape sequence to use for null keys
   private static final String NULL_SEGMENT = "^0";
 
+  // must be a power of 2
+  private static final int CACHE_SIZE = 512;
+
+  // Racy but benign: Path instances are immutable
+  private static final Path[] CACHE = new Path[CACHE_SIZE];
+
   /**
    * Returns a new {@code Path} instance for the specified path string.
    *
@@ -92,6 +123,34 @@ public final class Path implements Comparable<Path>, Iterable<String>, Emptyable
     return new Path(path);
   }
 
+  /**
+   * Returns a {@code Path} instance for the specified path string, possibly
+   * retrieved from a small, fixed-size cache of recently interned paths. Use this
+   * method instead of {@link #from(String) from} if the same path strings are
+   * parsed over and over again, for example when they are hard-coded in a loop.
+   * Since {@code Path} instances are immutable, the caller cannot tell whether it
+   * received a cached instance or a new one. The cache never holds more than
+   * {@value #CACHE_SIZE} paths. When two path strings compete for the same slot in
+   * the cache, the most recent one wins.
+   *
+   * @param path the path string from which to create a {@code Path}
+   * @return a {@code Path} instance for the specified path string
+   */
+  public static Path intern(String path) {
+    Check.notNull(path, Param.PATH);
+    if (path.isEmpty()) {
+      return EMPTY_PATH;
+    }
+    int h = path.hashCode();
+    int slot = (h ^ (h >>> 16)) & (CACHE_SIZE - 1);
+    Path p = CACHE[slot];
+    // Use toString() rather than str, which may not (yet) be visible to this thread
+    if (p == null || !path.equals(p.toString())) {
+      CACHE[slot] = p = new Path(path);
+    }
+    return p;
+  }
+
   /**
    * Returns an empty {@code Path} instance, consisting of zero path segments.
    *
@@ -236,31 +295,77 @@ public final class Path implements Comparable<Path>, Iterable<String>, Emptyable
     return sb.toString();
   }
 
+  // The path string from which the segments are extracted as they are requested.
+  // Null if the segments were specified individually, or if the path string
+  // contained escape sequences, in which case it is parsed eagerly.
+  private final String src;
+  // The offsets of the segments within src, followed by src.length() + 1
+  private final int[] offsets;
+  // The segments. Shared by all paths derived from the same path through
+  // subpath(), parent() and shift(). If src is not null, the segments are
+  // materialized lazily (racy but benign).
   private final String[] elems;
+  // The index of the first segment of this path within elems
+  private final int from;
+  // The number of segments in this path
+  private final int size;
+
   private String str; // Caches toString()
   private int hash; // Caches hashCode()
 
   // Reserved for EMPTY_PATH
   private Path() {
-    elems = EMPTY_STRING_ARRAY;
+    this.src = null;
+    this.offsets = null;
+    this.elems = EMPTY_STRING_ARRAY;
+    this.from = 0;
+    this.size = 0;
+    this.str = StringMethods.EMPTY;
   }
 
   private Path(String path) {
-    elems = parse(str = path);
+    this.str = path;
+    if (path.indexOf(ESC) == -1) {
+      this.src = path;
+      this.offsets = offsets(path);
+      this.elems = new String[offsets.length - 1];
+    } else {
+      this.src = null;
+      this.offsets = null;
+      this.elems = parse(path);
+    }
+    this.from = 0;
+    this.size = elems.length;
   }
 
   private Path(String[] segments) {
-    elems = new String[segments.length];
-    arraycopy(segments, 0, elems, 0, segments.length);
+    this.src = null;
+    this.offsets = null;
+    this.elems = Arrays.copyOf(segments, segments.length);
+    this.from = 0;
+    this.size = segments.length;
   }
 
   private Path(Path other) {
     // Since we are immutable we can happily share state
+    this.src = other.src;
+    this.offsets = other.offsets;
     this.elems = other.elems;
+    this.from = other.from;
+    this.size = other.size;
     this.str = other.str;
     this.hash = other.hash;
   }
 
+  // Creates a view on a range of segments of another path
+  private Path(Path other, int offset, int length) {
+    this.src = other.src;
+    this.offsets = other.offsets;
+    this.elems = other.elems;
+    this.from = other.from + offset;
+    this.size = length;
+  }
+
   /**
    * Returns the path segment at the specified index. Specify a negative index to
    * retrieve a segment relative to end of the {@code Path} (-1 would return the last
@@ -270,12 +375,9 @@ public final class Path implements Comparable<Path>, Iterable<String>, Emptyable
    * @return the path segment at the specified index.
    */
   public String segment(int index) {
-    if (index < 0) {
-      return Check.that(elems.length + index)
-          .is(arrayIndexOf(), elems)
-          .ok(x -> elems[x]);
-    }
-    return Check.that(index).is(arrayIndexOf(), elems).ok(x -> elems[x]);
+    int x = index < 0 ? size + index : index;
+    Check.that(x, Param.INDEX).is(gte(), 0).is(lt(), size);
+    return elem(from + x);
   }
 
   /**
@@ -289,10 +391,10 @@ public final class Path implements Comparable<Path>, Iterable<String>, Emptyable
    */
   public Path subpath(int offset) {
     int from = offset < 0
-        ? elems.length + offset
+        ? size + offset
         : offset;
-    Check.that(from).is(lt(), elems.length);
-    return new Path(copyOfRange(elems, from, elems.length));
+    Check.that(from).is(lt(), size);
+    return new Path(this, from, size - from);
   }
 
   /**
@@ -308,10 +410,10 @@ public final class Path implements Comparable<Path>, Iterable<String>, Emptyable
    */
   public Path subpath(int offset, int length) {
     if (offset < 0) {
-      offset = elems.length + offset;
+      offset = size + offset;
     }
-    Check.offsetLength(elems.length, offset, length);
-    return new Path(copyOfRange(elems, offset, offset + length));
+    Check.offsetLength(size, offset, length);
+    return length == 0 ? EMPTY_PATH : new Path(this, offset, length);
   }
 
   /**
@@ -322,13 +424,12 @@ public final class Path implements Comparable<Path>, Iterable<String>, Emptyable
    * @return the parent of this {@code Path}
    */
   public Path parent() {
-    if (elems.length == 0) {
+    if (size == 0) {
       return null;
-    } else if (elems.length == 1) {
+    } else if (size == 1) {
       return EMPTY_PATH;
     }
-    String[] segments = copyOfRange(elems, 0, elems.length - 1);
-    return new Path(segments);
+    return new Path(this, 0, size - 1);
   }
 
   /**
@@ -367,7 +468,7 @@ public final class Path implements Comparable<Path>, Iterable<String>, Emptyable
    */
   public Path append(Path other) {
     Check.notNull(other);
-    return new Path(ArrayMethods.concat(elems, other.elems));
+    return new Path(ArrayMethods.concat(toArray(), other.toArray()));
   }
 
   /**
@@ -382,8 +483,8 @@ public final class Path implements Comparable<Path>, Iterable<String>, Emptyable
   public Path replace(int index, String newValue) {
     Check.on(indexOutOfBounds(), index, Param.INDEX)
         .is(gte(), 0)
-        .is(lte(), elems.length);
-    String[] copy = Arrays.copyOf(elems, elems.length);
+        .is(lte(), size);
+    String[] copy = toArray();
     copy[index] = newValue;
     return new Path(copy);
   }
@@ -395,13 +496,11 @@ public final class Path implements Comparable<Path>, Iterable<String>, Emptyable
    * @return
    */
   public Path shift() {
-    Check.on(illegalState(), elems.length).is(ne(), 0, "cannot shift empty path");
-    if (elems.length == 1) {
+    Check.on(illegalState(), size).is(ne(), 0, "cannot shift empty path");
+    if (size == 1) {
       return EMPTY_PATH;
     }
-    String[] shifted = new String[elems.length - 1];
-    arraycopy(elems, 1, shifted, 0, elems.length - 1);
-    return new Path(shifted);
+    return new Path(this, 1, size - 1);
   }
 
   /**
@@ -415,12 +514,12 @@ public final class Path implements Comparable<Path>, Iterable<String>, Emptyable
       private int i;
 
       public boolean hasNext() {
-        return i < elems.length;
+        return i < size;
       }
 
       public String next() {
-        if (i < elems.length) {
-          return elems[i++];
+        if (i < size) {
+          return elem(from + i++);
         }
         throw new IndexOutOfBoundsException(i);
       }
@@ -433,7 +532,25 @@ public final class Path implements Comparable<Path>, Iterable<String>, Emptyable
    * @return a {@code Stream} of path segments
    */
   public Stream<String> stream() {
-    return Arrays.stream(elems);
+    return IntStream.range(from, from + size).mapToObj(this::elem);
+  }
+
+  /**
+   * Returns {@code true} if this {@code Path} contains one or more
+   * {@link #WILDCARD wildcard} or slice segments. Such segments are only
+   * interpreted as such by {@link PathWalker#stream(Object) PathWalker.stream}.
+   *
+   * @return {@code true} if this {@code Path} contains one or more wildcard or slice
+   *     segments
+   */
+  public boolean hasWildcards() {
+    for (int i = from; i < from + size; ++i) {
+      String s = elem(i);
+      if (WILDCARD.equals(s) || isSlice(s)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   /**
@@ -442,7 +559,7 @@ public final class Path implements Comparable<Path>, Iterable<String>, Emptyable
    * @return the number of segments in this {@code Path}
    */
   public int size() {
-    return elems.length;
+    return size;
   }
 
   /**
@@ -453,19 +570,45 @@ public final class Path implements Comparable<Path>, Iterable<String>, Emptyable
    *     segments
    */
   public boolean isEmpty() {
-    return elems.length == 0;
+    return size == 0;
   }
 
   @Override
   public boolean equals(Object obj) {
-    return this == obj
-        || (obj instanceof Path p && Arrays.equals(elems, p.elems));
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof Path other) || size != other.size) {
+      return false;
+    }
+    if (src != null && other.src != null) {
+      for (int i = 0; i < size; ++i) {
+        int x = from + i, y = other.from + i;
+        int len = offsets[x + 1] - offsets[x] - 1;
+        if (len != other.offsets[y + 1] - other.offsets[y] - 1
+            || !src.regionMatches(offsets[x], other.src, other.offsets[y], len)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    for (int i = 0; i < size; ++i) {
+      if (!Objects.equals(elem(from + i), other.elem(other.from + i))) {
+        return false;
+      }
+    }
+    return true;
   }
 
   @Override
   public int hashCode() {
     if (hash == 0) {
-      hash = Arrays.deepHashCode(elems);
+      // Same as Arrays.hashCode(segments), but without materializing the segments
+      int h = 1;
+      for (int i = from; i < from + size; ++i) {
+        h = 31 * h + elemHash(i);
+      }
+      hash = h;
     }
     return hash;
   }
@@ -473,7 +616,7 @@ public final class Path implements Comparable<Path>, Iterable<String>, Emptyable
   @Override
   public int compareTo(Path other) {
     Check.notNull(other);
-    return Arrays.compare(elems, other.elems);
+    return Arrays.compare(toArray(), other.toArray());
   }
 
   /**
@@ -484,11 +627,75 @@ public final class Path implements Comparable<Path>, Iterable<String>, Emptyable
   @Override
   public String toString() {
     if (str == null) {
-      str = implode(elems, Path::escape, ".", 0, elems.length);
+      if (src != null) {
+        str = src.substring(offsets[from], offsets[from + size] - 1);
+      } else {
+        str = implode(elems, Path::escape, ".", from, from + size);
+      }
     }
     return str;
   }
 
+  private String elem(int i) {
+    String s = elems[i];
+    if (s == null && src != null) {
+      // Escape-free path strings cannot contain null segments
+      elems[i] = s = src.substring(offsets[i], offsets[i + 1] - 1);
+    }
+    return s;
+  }
+
+  private int elemHash(int i) {
+    if (src == null || elems[i] != null) {
+      return Objects.hashCode(elems[i]);
+    }
+    int h = 0;
+    for (int j = offsets[i], end = offsets[i + 1] - 1; j < end; ++j) {
+      h = 31 * h + src.charAt(j);
+    }
+    return h;
+  }
+
+  private String[] toArray() {
+    String[] segments = new String[size];
+    for (int i = 0; i < size; ++i) {
+      segments[i] = elem(from + i);
+    }
+    return segments;
+  }
+
+  // Only called for path strings without escape sequences
+  private static int[] offsets(String path) {
+    int n = 1;
+    for (int i = path.indexOf(SEP); i != -1; i = path.indexOf(SEP, i + 1)) {
+      ++n;
+    }
+    int[] offsets = new int[n + 1];
+    for (int i = 0, j = path.indexOf(SEP); j != -1; j = path.indexOf(SEP, j + 1)) {
+      offsets[++i] = j + 1;
+    }
+    offsets[n] = path.length() + 1;
+    return offsets;
+  }
+
+  // Whether the segment has the form "from:to", with from and to optional
+  static boolean isSlice(String segment) {
+    if (segment == null) {
+      return false;
+    }
+    int colon = segment.indexOf(':');
+    if (colon == -1) {
+      return false;
+    }
+    for (int i = 0; i < segment.length(); ++i) {
+      char c = segment.charAt(i);
+      if (i != colon && (c < '0' || c > '9')) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   private static String[] parse(String path) {
     ArrayList<String> elems = new ArrayList<>();
     StringBuilder sb = new StringBuilder();
@@ -0,0 +1,294 @@
+package nl.naturalis.common.path;
+
+import nl.naturalis.common.invoke.Getter;
+import nl.naturalis.common.invoke.GetterFactory;
+import nl.naturalis.common.invoke.InvokeException;
+import nl.naturalis.common.invoke.NoPublicGettersException;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+import static nl.naturalis.common.path.PathWalkerException.*;
+
+/**
+ * Lazily yields the values matching a path that may contain wildcard and slice
+ * segments, on behalf of {@link PathWalker#stream(Object)}. Regular segments are
+ * read using {@link ReadStep read steps}. Wildcard and slice segments iterate
+ * over the elements of the object they are applied to, without copying them. The
+ * traversal is depth-first, so memory use is proportional to the number of
+ * wildcard and slice segments in the path, not to the size of the collections
+ * being traversed. {@code PathMatcher} instances are thread-safe; the iterators
+ * they create are not.
+ *
+ * @author Ayco Holleman
+ */
+@SuppressWarnings({"rawtypes"})
+final class PathMatcher {
+
+  // Either a ReadStep or a Multi
+  private final Object[] steps;
+  private final Path path;
+  private final boolean se;
+
+  PathMatcher(ParsedPath parsed, boolean suppressExceptions) {
+    this.path = parsed.path();
+    this.se = suppressExceptions;
+    this.steps = new Object[path.size()];
+    for (int i = 0; i < steps.length; ++i) {
+      String segment = path.segment(i);
+      if (Path.WILDCARD.equals(segment)) {
+        steps[i] = new Multi(0, Integer.MAX_VALUE, false);
+      } else if (Path.isSlice(segment)) {
+        int colon = segment.indexOf(':');
+        int from = colon == 0 ? 0 : parseBound(segment, 0, colon);
+        int to = colon == segment.length() - 1
+            ? Integer.MAX_VALUE
+            : parseBound(segment, colon + 1, segment.length());
+        steps[i] = new Multi(from, to, true);
+      } else {
+        steps[i] = new ReadStep(parsed, i);
+      }
+    }
+  }
+
+  Iterator<Object> iterator(Object host) {
+    return new Matches(host);
+  }
+
+  // Slice bounds saturate at Integer.MAX_VALUE
+  private static int parseBound(String segment, int from, int to) {
+    long l = 0;
+    for (int i = from; i < to && l <= Integer.MAX_VALUE; ++i) {
+      l = l * 10 + segment.charAt(i) - '0';
+    }
+    return (int) Math.min(l, Integer.MAX_VALUE);
+  }
+
+  // A wildcard (slice == false) or a slice segment
+  private record Multi(int from, int to, boolean slice) {}
+
+  // Signals that no (more) values could be found
+  private static final Object NONE = new Object();
+
+  private final class Matches implements Iterator<Object> {
+
+    // For each wildcard or slice segment that is being iterated over, the iterator
+    // over its elements
+    private final Iterator[] iterators = new Iterator[steps.length];
+    // The positions of the segments that are being iterated over
+    private final int[] stack = new int[steps.length];
+    private int sp;
+
+    private Object host;
+    private Object next = NONE;
+    private boolean done;
+
+    Matches(Object host) {
+      this.host = host;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (next == NONE && !done) {
+        next = findNext();
+        done = next == NONE;
+      }
+      return !done;
+    }
+
+    @Override
+    public Object next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      Object obj = next;
+      next = NONE;
+      return obj;
+    }
+
+    private Object findNext() {
+      Object obj;
+      int pos;
+      if (host != NONE) {
+        obj = host;
+        host = NONE;
+        pos = 0;
+      } else if ((pos = pull()) == -1) {
+        return NONE;
+      } else {
+        obj = iterators[pos].next();
+        ++pos;
+      }
+      while (true) {
+        if (pos == steps.length) {
+          return obj;
+        }
+        Object val;
+        if (obj == null) {
+          val = deadEnd(nullValue(path, pos));
+        } else if (steps[pos] instanceof Multi multi) {
+          Iterator iter = iterator(obj, multi, pos);
+          if (iter != null) {
+            iterators[pos] = iter;
+            stack[sp++] = pos;
+          }
+          val = NONE;
+        } else {
+          ReadStep step = (ReadStep) steps[pos];
+          val = step.read(obj);
+          if (val == ReadStep.MISSING) {
+            val = deadEnd(step.error(obj, path, pos));
+          }
+        }
+        if (val == NONE) {
+          if ((pos = pull()) == -1) {
+            return NONE;
+          }
+          obj = iterators[pos].next();
+        } else {
+          obj = val;
+        }
+        ++pos;
+      }
+    }
+
+    // Returns the position of the deepest wildcard or slice segment that still
+    // has elements, or -1 if there is none
+    private int pull() {
+      while (sp != 0) {
+        int pos = stack[sp - 1];
+        if (iterators[pos].hasNext()) {
+          return pos;
+        }
+        iterators[pos] = null;
+        --sp;
+      }
+      return -1;
+    }
+
+    // Returns null if the segment is a dead end and exceptions are suppressed
+    private Iterator iterator(Object obj, Multi multi, int pos) {
+      if (obj instanceof List list && list instanceof RandomAccess) {
+        return new IndexIterator(multi, list.size()) {
+          @Override
+          Object get(int i) {
+            return list.get(i);
+          }
+        };
+      } else if (obj instanceof Collection c) {
+        Iterator iter = c.iterator();
+        if (multi.slice) {
+          return new SliceIterator(iter, multi);
+        }
+        return iter;
+      } else if (obj instanceof Object[] array) {
+        return new IndexIterator(multi, array.length) {
+          @Override
+          Object get(int i) {
+            return array[i];
+          }
+        };
+      } else if (obj.getClass().isArray()) {
+        return new IndexIterator(multi, Array.getLength(obj)) {
+          @Override
+          Object get(int i) {
+            return Array.get(obj, i);
+          }
+        };
+      } else if (multi.slice) {
+        deadEnd(indexExpected(path, pos));
+        return null;
+      } else if (obj instanceof Map map) {
+        return map.values().iterator();
+      }
+      Collection<Getter> getters;
+      try {
+        getters = GetterFactory.COMPILED.getGetters(obj.getClass(), true).values();
+      } catch (NoPublicGettersException e) {
+        deadEnd(terminalValue(path, pos, obj));
+        return null;
+      }
+      Iterator<Getter> iter = getters.iterator();
+      return new Iterator<>() {
+        @Override
+        public boolean hasNext() {
+          return iter.hasNext();
+        }
+
+        @Override
+        public Object next() {
+          Getter getter = iter.next();
+          try {
+            return getter.read(obj);
+          } catch (Throwable t) {
+            throw InvokeException.wrap(t, obj, getter);
+          }
+        }
+      };
+    }
+
+    private Object deadEnd(PathWalkerException.Factory excFactory) {
+      if (se) {
+        return NONE;
+      }
+      throw excFactory.get();
+    }
+
+  }
+
+  private abstract static class IndexIterator implements Iterator<Object> {
+
+    private final int to;
+    private int i;
+
+    IndexIterator(Multi multi, int size) {
+      this.i = multi.from;
+      this.to = Math.min(multi.to, size);
+    }
+
+    @Override
+    public boolean hasNext() {
+      return i < to;
+    }
+
+    @Override
+    public Object next() {
+      return get(i++);
+    }
+
+    abstract Object get(int i);
+
+  }
+
+  private static final class SliceIterator implements Iterator<Object> {
+
+    private final Iterator iter;
+    private int i;
+    private final int to;
+
+    SliceIterator(Iterator iter, Multi multi) {
+      this.iter = iter;
+      this.to = multi.to;
+      for (; i < multi.from && iter.hasNext(); ++i, iter.next())
+        ;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return i < to && iter.hasNext();
+    }
+
+    @Override
+    public Object next() {
+      ++i;
+      return iter.next();
+    }
+
+  }
+
+}
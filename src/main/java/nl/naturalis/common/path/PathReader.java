@@ -0,0 +1,50 @@
+package nl.naturalis.common.path;
+
+import static nl.naturalis.common.path.PathWalkerException.nullValue;
+
+/**
+ * Reads the value of a single path on behalf of a compiled {@link PathWalker}.
+ * Contrary to {@link ObjectReader}, which instantiates a new segment reader for
+ * each segment, a {@code PathReader} walks a pre-built chain of
+ * {@link ReadStep read steps}, each of which remembers how to read its segment
+ * from the types of objects it has seen before. The read steps are shared with
+ * the {@link PathTrie} that created the {@code PathReader}.
+ *
+ * @author Ayco Holleman
+ */
+final class PathReader {
+
+  private final Path path;
+  private final ReadStep[] steps;
+  private final boolean se;
+
+  PathReader(Path path, ReadStep[] steps, boolean suppressExceptions) {
+    this.path = path;
+    this.steps = steps;
+    this.se = suppressExceptions;
+  }
+
+  Object read(Object host) {
+    Object obj = host;
+    ReadStep[] steps = this.steps;
+    for (int i = 0; i < steps.length; ++i) {
+      if (obj == null) {
+        return deadEnd(nullValue(path, i));
+      }
+      Object val = steps[i].read(obj);
+      if (val == ReadStep.MISSING) {
+        return deadEnd(steps[i].error(obj, path, i));
+      }
+      obj = val;
+    }
+    return obj;
+  }
+
+  private Object deadEnd(PathWalkerException.Factory excFactory) {
+    if (se) {
+      return null;
+    }
+    throw excFactory.get();
+  }
+
+}
@@ -0,0 +1,205 @@
+package nl.naturalis.common.path;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static nl.naturalis.common.path.PathWalkerException.nullValue;
+
+/**
+ * A prefix trie of the paths of a compiled {@link PathWalker}. Paths that share a
+ * prefix share the {@link ReadStep read steps} for that prefix, so when reading
+ * the values of all paths from a host object, each shared prefix is walked just
+ * once, and the trie fans out where the paths diverge. For each individual path
+ * the trie also provides a {@link PathReader} that walks the very same read
+ * steps.
+ *
+ * @author Ayco Holleman
+ */
+final class PathTrie {
+
+  private static final int[] NONE = new int[0];
+
+  private static final class Node {
+
+    // Null for the root node
+    final ReadStep step;
+    // The first path that runs through this node, and the position of the node's
+    // segment within it
+    final Path path;
+    final int pos;
+    final List<Node> kids = new ArrayList<>(2);
+    final List<Integer> ends = new ArrayList<>(1);
+    final List<Integer> all = new ArrayList<>(1);
+
+    Node(ReadStep step, Path path, int pos) {
+      this.step = step;
+      this.path = path;
+      this.pos = pos;
+    }
+
+    Node kid(String segment) {
+      for (Node kid : kids) {
+        if (Objects.equals(kid.step.segment(), segment)) {
+          return kid;
+        }
+      }
+      return null;
+    }
+
+  }
+
+  // The frozen version of Node
+  private record Branch(ReadStep step,
+      Path path,
+      int pos,
+      Branch[] kids,
+      int[] ends,
+      int[] all) {}
+
+  private final Branch root;
+  private final PathReader[] readers;
+  private final boolean se;
+
+  PathTrie(ParsedPath[] paths, boolean suppressExceptions) {
+    this.se = suppressExceptions;
+    this.readers = new PathReader[paths.length];
+    Node root = new Node(null, null, -1);
+    for (int i = 0; i < paths.length; ++i) {
+      ParsedPath path = paths[i];
+      ReadStep[] steps = new ReadStep[path.size()];
+      Node node = root;
+      node.all.add(i);
+      for (int j = 0; j < steps.length; ++j) {
+        String segment = path.segment(j);
+        Node kid = node.kid(segment);
+        if (kid == null) {
+          // Paths running through the same node are identical up to and
+          // including the node's segment, and so are their keys and indexes
+          kid = new Node(new ReadStep(path, j), path.path(), j);
+          node.kids.add(kid);
+        }
+        kid.all.add(i);
+        steps[j] = kid.step;
+        node = kid;
+      }
+      node.ends.add(i);
+      readers[i] = new PathReader(path.path(), steps, suppressExceptions);
+    }
+    this.root = freeze(root);
+  }
+
+  PathReader reader(int pathIndex) {
+    return readers[pathIndex];
+  }
+
+  /*
+   * Reads the values of all paths into the output array
+   */
+  void read(Object host, Object[] output) {
+    if (!read(root, host, output)) {
+      // Some path could not be read and suppressExceptions is false. Re-read the
+      // paths one by one, so that the exception thrown is the same as the one a
+      // non-compiled PathWalker would throw.
+      for (PathReader reader : readers) {
+        reader.read(host);
+      }
+    }
+  }
+
+  // Returns false if a path could not be read and suppressExceptions is false
+  private boolean read(Branch branch, Object obj, Object[] output) {
+    for (int i : branch.ends) {
+      output[i] = obj;
+    }
+    for (Branch kid : branch.kids) {
+      Object val = obj == null
+          ? ReadStep.MISSING
+          : kid.step.read(obj);
+      if (val == ReadStep.MISSING) {
+        if (!se) {
+          return false;
+        }
+        for (int i : kid.all) {
+          output[i] = null;
+        }
+      } else if (!read(kid, val, output)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /*
+   * Returns true if the specified path is one of the paths in this trie, or a
+   * prefix of one of them.
+   */
+  boolean contains(Path path) {
+    Branch branch = root;
+    outer:
+    for (String segment : path) {
+      for (Branch kid : branch.kids) {
+        if (Objects.equals(kid.step.segment(), segment)) {
+          branch = kid;
+          continue outer;
+        }
+      }
+      return false;
+    }
+    return true;
+  }
+
+  /*
+   * Writes the values to the paths whose parents make up this trie. The value of
+   * each parent is read just once, and shared prefixes of the parents are walked
+   * just once. The values of paths whose parent ends at a particular node are
+   * written before the node's children are visited. Returns the number of
+   * values written.
+   */
+  int write(Object host, WriteStep[] writers, Object[] values) {
+    return write(root, host, writers, values);
+  }
+
+  private int write(Branch branch, Object obj, WriteStep[] writers, Object[] values) {
+    int x = 0;
+    for (int i : branch.ends) {
+      if (writers[i].write(obj, values[i])) {
+        ++x;
+      }
+    }
+    for (Branch kid : branch.kids) {
+      Object val;
+      if (obj == null) {
+        if (!se) {
+          throw nullValue(kid.path, kid.pos).get();
+        }
+        continue;
+      } else if ((val = kid.step.read(obj)) == ReadStep.MISSING) {
+        if (!se) {
+          throw kid.step.error(obj, kid.path, kid.pos).get();
+        }
+        continue;
+      }
+      x += write(kid, val, writers, values);
+    }
+    return x;
+  }
+
+  private static Branch freeze(Node node) {
+    Branch[] kids = new Branch[node.kids.size()];
+    for (int i = 0; i < kids.length; ++i) {
+      kids[i] = freeze(node.kids.get(i));
+    }
+    return new Branch(node.step,
+        node.path,
+        node.pos,
+        kids,
+        toArray(node.ends),
+        toArray(node.all));
+  }
+
+  private static int[] toArray(List<Integer> ints) {
+    return ints.isEmpty() ? NONE : ints.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+}
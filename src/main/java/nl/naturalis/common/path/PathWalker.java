@@ -4,8 +4,16 @@ import nl.naturalis.common.check.Check;
 import nl.naturalis.common.x.Param;
 
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static nl.naturalis.common.check.CommonChecks.*;
 import static nl.naturalis.common.check.CommonGetters.length;
@@ -21,16 +29,52 @@ import static nl.naturalis.common.check.CommonGetters.length;
  * {@code PathWalker} will return {@code null} in either case (although you can
  * change this).
  *
+ * <p>By default a {@code PathWalker} figures out anew, for each object it
+ * encounters, how to read the next path segment from it. If the same paths are to
+ * be read from a large number of similarly shaped object graphs, you should
+ * obtain a {@link #compiled() compiled} {@code PathWalker} instead. A compiled
+ * {@code PathWalker} caches, for each segment of each path, how to read that
+ * segment from each type of object encountered at that position: the getter to
+ * call, the parsed array index, or the map key. Once warmed up, it reads values
+ * without any introspection and without allocating anything but the output.
+ * The paths of a compiled {@code PathWalker} are organized into a prefix trie, so
+ * when reading the values of multiple paths, segments shared by two or more paths
+ * (like {@code a.b.c} in {@code a.b.c.x} and {@code a.b.c.y}) are read just once
+ * per host object. Likewise, when writing the values of multiple paths, the
+ * parents of the paths are read just once per host object.
+ *
+ * <p>When reading the same paths from a large number of host objects, use one of
+ * the batch methods ({@link #readValues(List, Object[][]) readValues} and
+ * {@link #readColumns(List, Object[][]) readColumns} with a {@code List} or
+ * {@code Stream} of hosts). They fill pre-allocated arrays, and the
+ * {@code List}-based variants can spread the work across the threads of a
+ * {@code ForkJoinPool}. Errors are handled in the same way as for a single host:
+ * if {@code suppressExceptions} is {@code false}, the first error encountered
+ * aborts the entire batch.
+ *
  * @author Ayco Holleman
  */
 @SuppressWarnings({"unchecked"})
 public final class PathWalker {
 
   private static final String PATHS = "paths";
+  private static final String HOSTS = "hosts";
+  private static final String COLUMNS = "columns";
+  private static final String BUFFER = "buffer";
+  private static final String CONSUMER = "consumer";
+  private static final String POOL = "pool";
+  private static final String CHUNK_SIZE = "chunkSize";
 
   private final Path[] paths;
+  // The array indexes and map keys within the paths, resolved up front
+  private final ParsedPath[] parsed;
   private final boolean se;
   private final KeyDeserializer kd;
+  // Null unless this is a compiled PathWalker
+  private final PathTrie trie;
+  // Lazily initialized for compiled PathWalkers. Racy but benign.
+  private volatile PathMatcher[] matchers;
+  private volatile WritePlan writePlan;
 
   /**
    * Creates a {@code PathWalker} for the specified paths.
@@ -43,6 +87,8 @@ public final class PathWalker {
     this.paths = Arrays.copyOf(paths, paths.length);
     this.se = true;
     this.kd = null;
+    this.parsed = ParsedPath.parse(this.paths, kd);
+    this.trie = null;
   }
 
   /**
@@ -55,6 +101,8 @@ public final class PathWalker {
     this.paths = Arrays.stream(paths).map(Path::from).toArray(Path[]::new);
     this.se = true;
     this.kd = null;
+    this.parsed = ParsedPath.parse(this.paths, kd);
+    this.trie = null;
   }
 
   /**
@@ -81,6 +129,8 @@ public final class PathWalker {
     this.paths = paths.toArray(Path[]::new);
     this.se = suppressExceptions;
     this.kd = null;
+    this.parsed = ParsedPath.parse(this.paths, kd);
+    this.trie = null;
   }
 
   /**
@@ -104,6 +154,8 @@ public final class PathWalker {
     this.paths = paths.toArray(Path[]::new);
     this.se = suppressExceptions;
     this.kd = keyDeserializer;
+    this.parsed = ParsedPath.parse(this.paths, kd);
+    this.trie = null;
   }
 
   // For internal use
@@ -113,6 +165,37 @@ public final class PathWalker {
     this.paths = new Path[] {path};
     this.se = suppressExceptions;
     this.kd = keyDeserializer;
+    this.parsed = ParsedPath.parse(this.paths, kd);
+    this.trie = null;
+  }
+
+  private PathWalker(PathWalker other) {
+    this.paths = other.paths;
+    this.se = other.se;
+    this.kd = other.kd;
+    this.parsed = other.parsed;
+    this.trie = new PathTrie(parsed, se);
+  }
+
+  /**
+   * Returns a compiled {@code PathWalker} for the same paths, with the same
+   * settings as this {@code PathWalker}. If this {@code PathWalker} already is a
+   * compiled {@code PathWalker}, it is returned as-is. Compiled {@code PathWalker}
+   * instances are thread-safe.
+   *
+   * @return A compiled {@code PathWalker}
+   */
+  public PathWalker compiled() {
+    return trie == null ? new PathWalker(this) : this;
+  }
+
+  /**
+   * Returns whether this is a {@link #compiled() compiled} {@code PathWalker}.
+   *
+   * @return whether this is a compiled {@code PathWalker}
+   */
+  public boolean isCompiled() {
+    return trie != null;
   }
 
   /**
@@ -124,8 +207,13 @@ public final class PathWalker {
    *     {@code PathWalker} fails to retrieve the values of one or more paths.
    */
   public Object[] readValues(Object host) throws PathWalkerException {
+    if (trie != null) {
+      Object[] values = new Object[paths.length];
+      trie.read(host, values);
+      return values;
+    }
     ObjectReader reader = new ObjectReader(se, kd);
-    return Arrays.stream(paths).map(path -> reader.read(host, path, 0)).toArray();
+    return Arrays.stream(parsed).map(path -> reader.read(host, path, 0)).toArray();
   }
 
   /**
@@ -140,9 +228,13 @@ public final class PathWalker {
    */
   public void readValues(Object host, Object[] output) throws PathWalkerException {
     Check.notNull(output, Param.OUTPUT).has(length(), gte(), paths.length);
+    if (trie != null) {
+      trie.read(host, output);
+      return;
+    }
     ObjectReader reader = new ObjectReader(se, kd);
     for (int i = 0; i < paths.length; ++i) {
-      output[i] = reader.read(host, paths[i], 0);
+      output[i] = reader.read(host, parsed[i], 0);
     }
   }
 
@@ -158,8 +250,16 @@ public final class PathWalker {
   public void readValues(Object host, Map<Path, Object> output)
       throws PathWalkerException {
     Check.notNull(output, Param.OUTPUT);
+    if (trie != null) {
+      Object[] values = new Object[paths.length];
+      trie.read(host, values);
+      for (int i = 0; i < paths.length; ++i) {
+        output.put(paths[i], values[i]);
+      }
+      return;
+    }
     ObjectReader reader = new ObjectReader(se, kd);
-    Arrays.stream(paths).forEach(p -> output.put(p, reader.read(host, p, 0)));
+    Arrays.stream(parsed).forEach(p -> output.put(p.path(), reader.read(host, p, 0)));
   }
 
   /**
@@ -173,19 +273,230 @@ public final class PathWalker {
    *     {@code PathWalker} fails to retrieve the value of the first path.
    */
   public <T> T read(Object host) {
-    return (T) new ObjectReader(se, kd).read(host, paths[0], 0);
+    if (trie != null) {
+      return (T) trie.reader(0).read(host);
+    }
+    return (T) new ObjectReader(se, kd).read(host, parsed[0], 0);
+  }
+
+  /**
+   * Reads the values of all paths from each of the specified hosts. The values of
+   * the n-th host are placed into the n-th row of the output array. Rows that are
+   * {@code null} are allocated by this method. Other rows must have a length equal
+   * to, or greater than the number of paths specified through the constructor.
+   *
+   * @param hosts The objects to read the values from
+   * @param output The array into which to place the values. Must have at least
+   *     as many rows as there are hosts.
+   * @throws PathWalkerException If {@code suppressExceptions} is false and the
+   *     {@code PathWalker} fails to retrieve the value of a path from any of the
+   *     hosts.
+   */
+  public void readValues(List<?> hosts, Object[][] output) throws PathWalkerException {
+    checkRows(hosts, output);
+    readRows(hosts, 0, hosts.size(), output);
+  }
+
+  /**
+   * Reads the values of all paths from each of the specified hosts, spreading the
+   * work across the threads of the specified {@code ForkJoinPool}. Each thread
+   * processes a contiguous range of at most {@code chunkSize} hosts. The list
+   * should therefore support fast random access, and neither the list nor the
+   * hosts must be modified while the values are being read. Otherwise this method
+   * behaves like {@link #readValues(List, Object[][])}.
+   *
+   * @param hosts The objects to read the values from
+   * @param output The array into which to place the values. Must have at least
+   *     as many rows as there are hosts.
+   * @param pool The {@code ForkJoinPool} to use, for example
+   *     {@link ForkJoinPool#commonPool()}
+   * @param chunkSize The maximum number of hosts processed by a single task
+   * @throws PathWalkerException If {@code suppressExceptions} is false and the
+   *     {@code PathWalker} fails to retrieve the value of a path from any of the
+   *     hosts.
+   */
+  public void readValues(List<?> hosts,
+      Object[][] output,
+      ForkJoinPool pool,
+      int chunkSize) throws PathWalkerException {
+    checkRows(hosts, output);
+    Check.notNull(pool, POOL);
+    Check.that(chunkSize, CHUNK_SIZE).is(gt(), 0);
+    pool.invoke(new BatchTask(this, hosts, output, false, 0, hosts.size(), chunkSize));
+  }
+
+  /**
+   * Reads the values of all paths from the hosts in the specified stream. The
+   * values are placed into the rows of the provided buffer. Whenever the buffer is
+   * full, and once more after the last host, the buffer is passed to the specified
+   * consumer, along with the number of rows filled. The buffer is reused for each
+   * batch of hosts, so the consumer must not hold on to it. Rows that are
+   * {@code null} are allocated by this method.
+   *
+   * @param hosts The objects to read the values from
+   * @param buffer The array into which to place the values
+   * @param consumer The consumer of the filled buffer and the number of rows
+   *     filled
+   * @return the total number of hosts read
+   * @throws PathWalkerException If {@code suppressExceptions} is false and the
+   *     {@code PathWalker} fails to retrieve the value of a path from any of the
+   *     hosts.
+   */
+  public int readValues(Stream<?> hosts,
+      Object[][] buffer,
+      ObjIntConsumer<Object[][]> consumer) throws PathWalkerException {
+    Check.notNull(hosts, HOSTS);
+    Check.notNull(buffer, BUFFER).isNot(empty());
+    Check.notNull(consumer, CONSUMER);
+    checkRows(buffer, buffer.length);
+    int total = 0;
+    int row = 0;
+    Iterator<?> iterator = hosts.iterator();
+    while (iterator.hasNext()) {
+      if (buffer[row] == null) {
+        buffer[row] = new Object[paths.length];
+      }
+      readInto(iterator.next(), buffer[row]);
+      ++total;
+      if (++row == buffer.length) {
+        consumer.accept(buffer, row);
+        row = 0;
+      }
+    }
+    if (row != 0) {
+      consumer.accept(buffer, row);
+    }
+    return total;
+  }
+
+  /**
+   * Reads the values of all paths from each of the specified hosts, column by
+   * column. The value of the n-th path within the m-th host is placed into
+   * {@code columns[n][m]}. The output array must contain a (non-null) column for
+   * each path specified through the constructor, and each column must have a
+   * length equal to, or greater than the number of hosts.
+   *
+   * @param hosts The objects to read the values from
+   * @param columns The arrays into which to place the values
+   * @throws PathWalkerException If {@code suppressExceptions} is false and the
+   *     {@code PathWalker} fails to retrieve the value of a path from any of the
+   *     hosts.
+   */
+  public void readColumns(List<?> hosts, Object[][] columns)
+      throws PathWalkerException {
+    checkColumns(hosts, columns);
+    readColumns(hosts, 0, hosts.size(), columns);
+  }
+
+  /**
+   * Reads the values of all paths from each of the specified hosts, column by
+   * column, spreading the work across the threads of the specified
+   * {@code ForkJoinPool}. Each thread processes a contiguous range of at most
+   * {@code chunkSize} hosts. The list should therefore support fast random access,
+   * and neither the list nor the hosts must be modified while the values are being
+   * read. Otherwise this method behaves like
+   * {@link #readColumns(List, Object[][])}.
+   *
+   * @param hosts The objects to read the values from
+   * @param columns The arrays into which to place the values
+   * @param pool The {@code ForkJoinPool} to use, for example
+   *     {@link ForkJoinPool#commonPool()}
+   * @param chunkSize The maximum number of hosts processed by a single task
+   * @throws PathWalkerException If {@code suppressExceptions} is false and the
+   *     {@code PathWalker} fails to retrieve the value of a path from any of the
+   *     hosts.
+   */
+  public void readColumns(List<?> hosts,
+      Object[][] columns,
+      ForkJoinPool pool,
+      int chunkSize) throws PathWalkerException {
+    checkColumns(hosts, columns);
+    Check.notNull(pool, POOL);
+    Check.that(chunkSize, CHUNK_SIZE).is(gt(), 0);
+    pool.invoke(new BatchTask(this, hosts, columns, true, 0, hosts.size(), chunkSize));
+  }
+
+  /**
+   * Returns a {@code Stream} of the values matching the paths specified through the
+   * constructor. The paths may contain {@link Path#WILDCARD wildcard} and slice
+   * segments, each of which may match any number of values. The stream first
+   * yields the values matching the first path, then those matching the second
+   * path, etc. Values are pulled from the host object as the stream is consumed:
+   * no intermediate collections are created, so memory use does not depend on the
+   * size of the collections and arrays being traversed. The host object must not
+   * be modified while the stream is being consumed.
+   *
+   * <p>If {@code suppressExceptions} is {@code true}, dead ends (for example a
+   * non-existent map key, or a {@code null} value halfway down the path) are
+   * silently skipped. Otherwise a {@code PathWalkerException} is thrown from the
+   * stream operation that encounters the dead end.
+   *
+   * @param host the object from which to stream the values
+   * @return a {@code Stream} of the values matching the paths
+   */
+  public Stream<Object> stream(Object host) {
+    PathMatcher[] matchers = getMatchers();
+    if (matchers.length == 1) {
+      return stream(matchers[0], host);
+    }
+    return Arrays.stream(matchers).flatMap(m -> stream(m, host));
+  }
+
+  private static Stream<Object> stream(PathMatcher matcher, Object host) {
+    Spliterator<Object> spliterator = Spliterators.spliteratorUnknownSize(
+        matcher.iterator(host),
+        Spliterator.ORDERED);
+    return StreamSupport.stream(spliterator, false);
+  }
+
+  // Non-compiled PathWalkers create their matchers anew for each stream
+  private PathMatcher[] getMatchers() {
+    PathMatcher[] m = matchers;
+    if (m == null) {
+      m = new PathMatcher[paths.length];
+      for (int i = 0; i < paths.length; ++i) {
+        m[i] = new PathMatcher(parsed[i], se);
+      }
+      if (trie != null) {
+        matchers = m;
+      }
+    }
+    return m;
   }
 
   /**
    * Sets the values of the paths specified through the constructor. The provided
    * array of values must have the same length as the number of paths.
    *
+   * <p>A compiled {@code PathWalker} reads the parent of each path just once per
+   * host object, and the shared prefixes of the parents just once as well. It
+   * then writes the values using setters and array and map writers cached per
+   * type of parent object. If a path to be written is itself (a prefix of) the
+   * parent of another path, the values are written one path at a time, in the
+   * order of the paths, so that the other path is written into the new value.
+   * Otherwise the order in which the values are written is unspecified. So if
+   * {@code suppressExceptions} is {@code false} and a value cannot be written,
+   * the values of other paths may or may not have been written already.
+   *
    * @param host the object to which to write the values
    * @param values The values to write
    * @return the number of successfully written values
    */
   public int writeValues(Object host, Object... values) {
     Check.notNull(values, Param.VALUES).has(length(), eq(), paths.length);
+    WritePlan plan = getWritePlan();
+    if (plan != null) {
+      if (plan.sequential) {
+        int x = 0;
+        for (int i = 0; i < paths.length; ++i) {
+          if (plan.write(i, host, values[i])) {
+            ++x;
+          }
+        }
+        return x;
+      }
+      return plan.parents.write(host, plan.writers, values);
+    }
     ObjectWriter writer = new ObjectWriter(se, kd);
     int x = 0;
     for (int i = 0; i < paths.length; ++i) {
@@ -205,7 +516,143 @@ public final class PathWalker {
    * @return {@code true} if the value was successfully written
    */
   public boolean write(Object host, Object value) {
+    WritePlan plan = getWritePlan();
+    if (plan != null) {
+      return plan.write(0, host, value);
+    }
     return new ObjectWriter(se, kd).write(host, paths[0], value);
   }
 
+  /*
+   * The parents of the paths, organized into a prefix trie, plus a WriteStep for
+   * the last segment of each path. If sequential is true, some path is (a prefix
+   * of) the parent of another path.
+   */
+  private record WritePlan(PathTrie parents, WriteStep[] writers, boolean sequential) {
+
+    boolean write(int path, Object host, Object value) {
+      return writers[path].write(parents.reader(path).read(host), value);
+    }
+
+  }
+
+  // Returns null for non-compiled PathWalkers, and if one of the paths is empty
+  private WritePlan getWritePlan() {
+    if (trie == null) {
+      return null;
+    }
+    WritePlan plan = writePlan;
+    if (plan == null) {
+      if (Arrays.stream(paths).anyMatch(Path::isEmpty)) {
+        return null;
+      }
+      ParsedPath[] parents = new ParsedPath[paths.length];
+      WriteStep[] writers = new WriteStep[paths.length];
+      for (int i = 0; i < paths.length; ++i) {
+        parents[i] = parsed[i].parent();
+        writers[i] = new WriteStep(parsed[i], se);
+      }
+      PathTrie trie = new PathTrie(parents, se);
+      boolean sequential = Arrays.stream(paths).anyMatch(trie::contains);
+      writePlan = plan = new WritePlan(trie, writers, sequential);
+    }
+    return plan;
+  }
+
+  private void checkRows(List<?> hosts, Object[][] output) {
+    Check.notNull(hosts, HOSTS);
+    Check.notNull(output, Param.OUTPUT).has(length(), gte(), hosts.size());
+    checkRows(output, hosts.size());
+  }
+
+  private void checkRows(Object[][] output, int numRows) {
+    for (int i = 0; i < numRows; ++i) {
+      if (output[i] != null) {
+        Check.that(output[i], Param.OUTPUT).has(length(), gte(), paths.length);
+      }
+    }
+  }
+
+  private void checkColumns(List<?> hosts, Object[][] columns) {
+    Check.notNull(hosts, HOSTS);
+    Check.notNull(columns, COLUMNS).has(length(), gte(), paths.length);
+    for (int i = 0; i < paths.length; ++i) {
+      Check.that(columns[i], COLUMNS).is(notNull()).has(length(), gte(), hosts.size());
+    }
+  }
+
+  private void readRows(List<?> hosts, int from, int to, Object[][] output) {
+    for (int i = from; i < to; ++i) {
+      if (output[i] == null) {
+        output[i] = new Object[paths.length];
+      }
+      readInto(hosts.get(i), output[i]);
+    }
+  }
+
+  private void readColumns(List<?> hosts, int from, int to, Object[][] columns) {
+    Object[] row = new Object[paths.length];
+    for (int i = from; i < to; ++i) {
+      readInto(hosts.get(i), row);
+      for (int j = 0; j < row.length; ++j) {
+        columns[j][i] = row[j];
+      }
+    }
+  }
+
+  // No argument checks
+  private void readInto(Object host, Object[] output) {
+    if (trie != null) {
+      trie.read(host, output);
+    } else {
+      ObjectReader reader = new ObjectReader(se, kd);
+      for (int i = 0; i < paths.length; ++i) {
+        output[i] = reader.read(host, parsed[i], 0);
+      }
+    }
+  }
+
+  private static final class BatchTask extends RecursiveAction {
+
+    private final PathWalker walker;
+    private final List<?> hosts;
+    private final Object[][] output;
+    private final boolean columnar;
+    private final int from;
+    private final int to;
+    private final int chunkSize;
+
+    BatchTask(PathWalker walker,
+        List<?> hosts,
+        Object[][] output,
+        boolean columnar,
+        int from,
+        int to,
+        int chunkSize) {
+      this.walker = walker;
+      this.hosts = hosts;
+      this.output = output;
+      this.columnar = columnar;
+      this.from = from;
+      this.to = to;
+      this.chunkSize = chunkSize;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= chunkSize) {
+        if (columnar) {
+          walker.readColumns(hosts, from, to, output);
+        } else {
+          walker.readRows(hosts, from, to, output);
+        }
+      } else {
+        int mid = (from + to) >>> 1;
+        invokeAll(new BatchTask(walker, hosts, output, columnar, from, mid, chunkSize),
+            new BatchTask(walker, hosts, output, columnar, mid, to, chunkSize));
+      }
+    }
+
+  }
+
 }
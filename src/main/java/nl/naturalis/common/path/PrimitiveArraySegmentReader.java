@@ -4,7 +4,6 @@ import nl.naturalis.common.invoke.InvokeException;
 
 import java.util.OptionalInt;
 
-import static nl.naturalis.common.NumberMethods.toInt;
 import static nl.naturalis.common.path.PathWalkerException.*;
 import static nl.naturalis.common.x.invoke.InvokeUtils.*;
 
@@ -16,10 +15,10 @@ final class PrimitiveArraySegmentReader extends SegmentReader<Object> {
   }
 
   @Override
-  Object read(Object array, Path path, int segment) {
-    OptionalInt opt = toInt(path.segment(segment));
+  Object read(Object array, ParsedPath path, int segment) {
+    OptionalInt opt = path.index(segment);
     if (opt.isEmpty()) {
-      return deadEnd(indexExpected(path, segment));
+      return deadEnd(indexExpected(path.path(), segment));
     }
     int idx = opt.getAsInt();
     int len = getArrayLength(array);
@@ -27,7 +26,7 @@ final class PrimitiveArraySegmentReader extends SegmentReader<Object> {
       Object val = getArrayElement(array, idx);
       return new ObjectReader(se, kd).read(val, path, ++segment);
     }
-    return deadEnd(indexOutOfBounds(path, segment));
+    return deadEnd(indexOutOfBounds(path.path(), segment));
   }
 
 }
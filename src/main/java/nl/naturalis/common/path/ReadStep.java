@@ -0,0 +1,260 @@
+package nl.naturalis.common.path;
+
+import nl.naturalis.common.invoke.Getter;
+import nl.naturalis.common.invoke.GetterFactory;
+import nl.naturalis.common.invoke.InvokeException;
+import nl.naturalis.common.invoke.NoPublicGettersException;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static nl.naturalis.common.ObjectMethods.isEmpty;
+import static nl.naturalis.common.path.PathWalkerException.*;
+
+/**
+ * Reads a single path segment from the objects passed to it, on behalf of a
+ * compiled {@link PathWalker}. The array index or map key that the segment
+ * represents is taken from the {@link ParsedPath} it belongs to. The way the
+ * segment is to be read from objects of a particular type (via a getter, an array
+ * index, etc.) is resolved just once for each type. The
+ * {@link Accessor} for the type that was read last is kept in an inline cache,
+ * and accessors for other types are kept in a {@code ConcurrentHashMap}, so
+ * reading the segment from objects of a previously seen type involves no
+ * introspection and no allocation. {@code ReadStep} instances are thread-safe.
+ *
+ * @author Ayco Holleman
+ */
+@SuppressWarnings({"rawtypes"})
+final class ReadStep {
+
+  // Returned by an Accessor if the segment could not be read
+  static final Object MISSING = new Object();
+
+  private record Cached(Class<?> type, Accessor accessor) {}
+
+  private final ParsedPath parsed;
+  private final int pos;
+  private final String segment;
+  // -1 if the segment is not a valid array index
+  private final int index;
+  private final ConcurrentHashMap<Class<?>, Accessor> accessors;
+  private final Function<Class<?>, Accessor> factory;
+
+  // Racy but benign: the worst that can happen is a redundant lookup
+  private Cached cached;
+
+  // Reads the segment at the specified position within the specified path
+  ReadStep(ParsedPath path, int pos) {
+    this.parsed = path;
+    this.pos = pos;
+    this.segment = path.segment(pos);
+    OptionalInt opt = path.index(pos);
+    this.index = opt.isPresent() && opt.getAsInt() >= 0 ? opt.getAsInt() : -1;
+    this.accessors = new ConcurrentHashMap<>(4);
+    this.factory = this::createAccessor;
+  }
+
+  String segment() {
+    return segment;
+  }
+
+  /*
+   * Returns the value of the segment within the specified object, or MISSING if
+   * the segment could not be read, in which case error() will tell why. The
+   * object must not be null.
+   */
+  Object read(Object obj) {
+    return accessor(obj.getClass()).read(obj, this);
+  }
+
+  PathWalkerException.Factory error(Object obj, Path path, int pos) {
+    return accessor(obj.getClass()).error(obj, this, path, pos);
+  }
+
+  private Accessor accessor(Class<?> type) {
+    Cached c = cached;
+    if (c != null && c.type == type) {
+      return c.accessor;
+    }
+    Accessor acc = accessors.computeIfAbsent(type, factory);
+    cached = new Cached(type, acc);
+    return acc;
+  }
+
+  // Resolution order mirrors that of ObjectReader
+  private Accessor createAccessor(Class<?> type) {
+    if (Collection.class.isAssignableFrom(type)) {
+      if (index == -1) {
+        return new DeadEnd((o, p, i) -> indexExpected(p, i));
+      }
+      return List.class.isAssignableFrom(type) && RandomAccess.class.isAssignableFrom(type)
+          ? new ListAccessor()
+          : new CollectionAccessor();
+    } else if (type.isArray()) {
+      if (index == -1) {
+        return new DeadEnd((o, p, i) -> indexExpected(p, i));
+      }
+      return type.getComponentType().isPrimitive()
+          ? new PrimitiveArrayAccessor()
+          : new ArrayAccessor();
+    } else if (Map.class.isAssignableFrom(type)) {
+      return new MapAccessor();
+    } else if (isEmpty(segment)) {
+      return new DeadEnd((o, p, i) -> emptySegment(p, i));
+    }
+    Map<String, Getter> getters;
+    try {
+      getters = GetterFactory.COMPILED.getGetters(type, true);
+    } catch (NoPublicGettersException e) {
+      return new DeadEnd((o, p, i) -> terminalValue(p, i, o.getClass()));
+    }
+    Getter getter = getters.get(segment);
+    if (getter == null) {
+      return new DeadEnd((o, p, i) -> noSuchProperty(p, i, o.getClass()));
+    }
+    return new BeanAccessor(getter);
+  }
+
+  private Object key() throws KeyDeserializationException {
+    return parsed.key(pos);
+  }
+
+  @FunctionalInterface
+  private interface ErrorFactory {
+    PathWalkerException.Factory create(Object obj, Path path, int pos);
+  }
+
+  abstract static sealed class Accessor {
+
+    abstract Object read(Object obj, ReadStep step);
+
+    PathWalkerException.Factory error(Object obj, ReadStep step, Path path, int pos) {
+      return indexOutOfBounds(path, pos);
+    }
+
+  }
+
+  static final class DeadEnd extends Accessor {
+
+    private final ErrorFactory ef;
+
+    DeadEnd(ErrorFactory ef) {
+      this.ef = ef;
+    }
+
+    @Override
+    Object read(Object obj, ReadStep step) {
+      return MISSING;
+    }
+
+    @Override
+    PathWalkerException.Factory error(Object obj, ReadStep step, Path path, int pos) {
+      return ef.create(obj, path, pos);
+    }
+
+  }
+
+  static final class BeanAccessor extends Accessor {
+
+    private final Getter getter;
+
+    BeanAccessor(Getter getter) {
+      this.getter = getter;
+    }
+
+    @Override
+    Object read(Object obj, ReadStep step) {
+      try {
+        return getter.read(obj);
+      } catch (Throwable t) {
+        throw InvokeException.wrap(t, obj, getter);
+      }
+    }
+
+  }
+
+  static final class MapAccessor extends Accessor {
+
+    @Override
+    Object read(Object obj, ReadStep step) {
+      Map map = (Map) obj;
+      Object key;
+      try {
+        key = step.key();
+      } catch (KeyDeserializationException e) {
+        return MISSING;
+      }
+      Object val = map.get(key);
+      if (val == null && !map.containsKey(key)) {
+        return MISSING;
+      }
+      return val;
+    }
+
+    @Override
+    PathWalkerException.Factory error(Object obj, ReadStep step, Path path, int pos) {
+      try {
+        return noSuchKey(path, pos, step.key());
+      } catch (KeyDeserializationException e) {
+        return keyDeserializationFailed(path, pos, e);
+      }
+    }
+
+  }
+
+  static final class ListAccessor extends Accessor {
+
+    @Override
+    Object read(Object obj, ReadStep step) {
+      List list = (List) obj;
+      return step.index < list.size() ? list.get(step.index) : MISSING;
+    }
+
+  }
+
+  static final class CollectionAccessor extends Accessor {
+
+    @Override
+    Object read(Object obj, ReadStep step) {
+      Collection collection = (Collection) obj;
+      int idx = step.index;
+      if (idx < collection.size()) {
+        Iterator iter = collection.iterator();
+        for (; idx != 0 && iter.hasNext(); --idx, iter.next())
+          ;
+        if (iter.hasNext()) {
+          return iter.next();
+        }
+      }
+      return MISSING;
+    }
+
+  }
+
+  static final class ArrayAccessor extends Accessor {
+
+    @Override
+    Object read(Object obj, ReadStep step) {
+      Object[] array = (Object[]) obj;
+      return step.index < array.length ? array[step.index] : MISSING;
+    }
+
+  }
+
+  static final class PrimitiveArrayAccessor extends Accessor {
+
+    @Override
+    Object read(Object obj, ReadStep step) {
+      return step.index < Array.getLength(obj) ? Array.get(obj, step.index) : MISSING;
+    }
+
+  }
+
+}
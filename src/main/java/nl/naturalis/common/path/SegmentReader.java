@@ -11,7 +11,7 @@ abstract sealed class SegmentReader<T> permits ArraySegmentReader, BeanSegmentRe
     this.kd = keyDeserializer;
   }
 
-  abstract Object read(T obj, Path path, int segment);
+  abstract Object read(T obj, ParsedPath path, int segment);
 
   Object deadEnd(PathWalkerException.Factory excFactory) {
     if (se) {
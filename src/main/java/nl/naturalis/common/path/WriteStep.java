@@ -0,0 +1,242 @@
+package nl.naturalis.common.path;
+
+import nl.naturalis.common.invoke.IllegalAssignmentException;
+import nl.naturalis.common.invoke.NoPublicSettersException;
+import nl.naturalis.common.invoke.Setter;
+import nl.naturalis.common.invoke.SetterFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static nl.naturalis.common.ObjectMethods.isEmpty;
+import static nl.naturalis.common.path.PathWalkerException.*;
+import static nl.naturalis.common.x.invoke.InvokeUtils.getArrayLength;
+import static nl.naturalis.common.x.invoke.InvokeUtils.setArrayElement;
+
+/**
+ * Writes a value to the last segment of a path, on behalf of a compiled
+ * {@link PathWalker}. The counterpart of {@link ReadStep}: the way the segment is
+ * to be written to objects of a particular type (via a setter, an array index,
+ * etc.) is resolved just once for each type. The {@link Writer} for the type that
+ * was written to last is kept in an inline cache, and writers for other types are
+ * kept in a {@code ConcurrentHashMap}. {@code WriteStep} instances are
+ * thread-safe.
+ *
+ * @author Ayco Holleman
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+final class WriteStep {
+
+  private record Cached(Class<?> type, Writer writer) {}
+
+  private final ParsedPath parsed;
+  private final Path path;
+  private final int pos;
+  private final String segment;
+  // -1 if the segment is not a valid array index
+  private final int index;
+  private final boolean se;
+  private final ConcurrentHashMap<Class<?>, Writer> writers;
+  private final Function<Class<?>, Writer> factory;
+
+  // Racy but benign: the worst that can happen is a redundant lookup
+  private Cached cached;
+
+  // Writes the last segment of the specified (non-empty) path
+  WriteStep(ParsedPath path, boolean suppressExceptions) {
+    this.parsed = path;
+    this.path = path.path();
+    this.pos = path.size() - 1;
+    this.segment = path.segment(pos);
+    OptionalInt opt = path.index(pos);
+    this.index = opt.isPresent() && opt.getAsInt() >= 0 ? opt.getAsInt() : -1;
+    this.se = suppressExceptions;
+    this.writers = new ConcurrentHashMap<>(4);
+    this.factory = this::createWriter;
+  }
+
+  /*
+   * Writes the value to the specified object, which is the value of the parent
+   * of the path. Returns false if the value could not be written and exceptions
+   * are suppressed.
+   */
+  boolean write(Object obj, Object value) {
+    if (obj == null) {
+      // Like ObjectWriter, blame the segment that yielded null
+      return deadEnd(nullValue(path, Math.max(pos - 1, 0)));
+    }
+    return writer(obj.getClass()).write(obj, value, this);
+  }
+
+  private Writer writer(Class<?> type) {
+    Cached c = cached;
+    if (c != null && c.type == type) {
+      return c.writer;
+    }
+    Writer w = writers.computeIfAbsent(type, factory);
+    cached = new Cached(type, w);
+    return w;
+  }
+
+  // Resolution order mirrors that of ObjectWriter
+  private Writer createWriter(Class<?> type) {
+    if (List.class.isAssignableFrom(type)) {
+      return index == -1
+          ? new DeadEnd(indexExpected(path, pos))
+          : new ListWriter();
+    } else if (Map.class.isAssignableFrom(type)) {
+      return new MapWriter();
+    } else if (type.isArray()) {
+      if (index == -1) {
+        return new DeadEnd(indexExpected(path, pos));
+      }
+      return type.getComponentType().isPrimitive()
+          ? new PrimitiveArrayWriter()
+          : new ArrayWriter(type.getComponentType());
+    } else if (isEmpty(segment)) {
+      return new DeadEnd(emptySegment(path, pos));
+    }
+    Map<String, Setter> setters;
+    try {
+      setters = SetterFactory.COMPILED.getSetters(type);
+    } catch (NoPublicSettersException e) {
+      return new DeadEnd(terminalValue(path, pos, type));
+    }
+    Setter setter = setters.get(segment);
+    if (setter == null) {
+      return new DeadEnd(noSuchProperty(path, pos, type));
+    }
+    return new BeanWriter(setter);
+  }
+
+  private boolean deadEnd(PathWalkerException.Factory excFactory) {
+    if (se) {
+      return false;
+    }
+    throw excFactory.get();
+  }
+
+  abstract static sealed class Writer {
+
+    abstract boolean write(Object obj, Object value, WriteStep step);
+
+  }
+
+  static final class DeadEnd extends Writer {
+
+    private final PathWalkerException.Factory ef;
+
+    DeadEnd(PathWalkerException.Factory ef) {
+      this.ef = ef;
+    }
+
+    @Override
+    boolean write(Object obj, Object value, WriteStep step) {
+      return step.deadEnd(ef);
+    }
+
+  }
+
+  static final class BeanWriter extends Writer {
+
+    private final Setter setter;
+
+    BeanWriter(Setter setter) {
+      this.setter = setter;
+    }
+
+    @Override
+    boolean write(Object obj, Object value, WriteStep step) {
+      try {
+        setter.write(obj, value);
+        return true;
+      } catch (IllegalAssignmentException e) {
+        return step.deadEnd(typeMismatch(step.path, step.pos, e.getMessage()));
+      } catch (Throwable t) {
+        return step.deadEnd(unexpectedError(step.path, step.pos, t));
+      }
+    }
+
+  }
+
+  static final class MapWriter extends Writer {
+
+    @Override
+    boolean write(Object obj, Object value, WriteStep step) {
+      Object key;
+      try {
+        key = step.parsed.key(step.pos);
+      } catch (KeyDeserializationException e) {
+        return step.deadEnd(keyDeserializationFailed(step.path, step.pos, e));
+      }
+      try {
+        ((Map) obj).put(key, value);
+      } catch (UnsupportedOperationException e) {
+        return step.deadEnd(notModifiable(step.path, step.pos, Map.class));
+      }
+      return true;
+    }
+
+  }
+
+  static final class ListWriter extends Writer {
+
+    @Override
+    boolean write(Object obj, Object value, WriteStep step) {
+      List list = (List) obj;
+      if (step.index < list.size()) {
+        try {
+          list.set(step.index, value);
+        } catch (UnsupportedOperationException e) {
+          return step.deadEnd(notModifiable(step.path, step.pos, List.class));
+        }
+        return true;
+      }
+      return step.deadEnd(indexOutOfBounds(step.path, step.pos));
+    }
+
+  }
+
+  static final class ArrayWriter extends Writer {
+
+    private final Class<?> elemClass;
+
+    ArrayWriter(Class<?> elemClass) {
+      this.elemClass = elemClass;
+    }
+
+    @Override
+    boolean write(Object obj, Object value, WriteStep step) {
+      Object[] array = (Object[]) obj;
+      if (value != null && !elemClass.isInstance(value)) {
+        return step.deadEnd(typeMismatch(step.path,
+            step.pos,
+            elemClass,
+            value.getClass()));
+      }
+      if (step.index < array.length) {
+        array[step.index] = value;
+        return true;
+      }
+      return step.deadEnd(indexOutOfBounds(step.path, step.pos));
+    }
+
+  }
+
+  static final class PrimitiveArrayWriter extends Writer {
+
+    @Override
+    boolean write(Object obj, Object value, WriteStep step) {
+      if (step.index < getArrayLength(obj)) {
+        setArrayElement(obj, step.index, value);
+        return true;
+      }
+      return step.deadEnd(indexOutOfBounds(step.path, step.pos));
+    }
+
+  }
+
+}
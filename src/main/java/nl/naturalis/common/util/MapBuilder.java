@@ -5,11 +5,18 @@ import nl.naturalis.common.check.Check;
 import nl.naturalis.common.path.Path;
 import nl.naturalis.common.x.Param;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static nl.naturalis.common.ObjectMethods.*;
 import static nl.naturalis.common.check.CommonChecks.*;
+import static nl.naturalis.common.check.CommonGetters.length;
 import static nl.naturalis.common.check.CommonGetters.strlen;
 
 /**
@@ -57,6 +64,34 @@ import static nl.naturalis.common.check.CommonGetters.strlen;
  *  .createMap();
  * }</pre></blockquote>
  *
+ * <h4>Persistent mode</h4>
+ *
+ * <p>Internally, the nested maps are copy-on-write nodes. A {@code MapBuilder}
+ * modifies them in place until they are shared with a snapshot or with another
+ * {@code MapBuilder}. From then on, writing a path copies just the maps along
+ * that path, while all other maps remain shared. This allows for two
+ * operations that cost O(1), whatever the size of the map being built:
+ *
+ * <ul>
+ *   <li>In persistent mode ({@link #MapBuilder(boolean) new MapBuilder(true)}),
+ *       {@link #createMap()} returns an unmodifiable snapshot of the map built
+ *       thus far, rather than a deep copy of it.
+ *   <li>{@link #derive()} returns a new {@code MapBuilder} that starts out with
+ *       the same map. Subsequent changes to either builder are not visible to the
+ *       other, and the maps neither of them touched remain shared.
+ * </ul>
+ *
+ * <p>This makes persistent mode well-suited for building large numbers of
+ * similar nested maps that differ in just a few leaves:
+ *
+ * <blockquote><pre>{@code
+ * MapBuilder template = new MapBuilder(true)
+ *  .set("person.address.country", "US")
+ *  .set("person.address.state", "CA");
+ * Map<String, Object> map1 = template.derive().set("person.firstName", "John").createMap();
+ * Map<String, Object> map2 = template.derive().set("person.firstName", "Jane").createMap();
+ * }</pre></blockquote>
+ *
  * @author Ayco Holleman
  */
 public final class MapBuilder {
@@ -95,7 +130,143 @@ public final class MapBuilder {
 
   private static final String ERR_HOME_ALREADY = "already in root map";
 
-  private final Map<String, Object> map;
+  private static final String PATHS = "paths";
+
+  /*
+   * A nested map. Its values are either terminal values or other nodes. A node may
+   * only be modified by the edit that created it. Once the tree has moved on to
+   * another edit, the node is frozen and must be copied before it can be
+   * modified.
+   */
+  private static final class Node {
+
+    final Object edit;
+    final LinkedHashMap<String, Object> map;
+
+    // Racy but benign: frozen nodes are immutable
+    private Snapshot view;
+
+    Node(Object edit) {
+      this(edit, new LinkedHashMap<>());
+    }
+
+    Node(Object edit, LinkedHashMap<String, Object> map) {
+      this.edit = edit;
+      this.map = map;
+    }
+
+    Snapshot view() {
+      Snapshot v = view;
+      if (v == null) {
+        view = v = new Snapshot(this);
+      }
+      return v;
+    }
+
+    // Shows up in the message of a PathBlockedException
+    @Override
+    public String toString() {
+      return copy(this).toString();
+    }
+
+  }
+
+  /*
+   * The tree of nodes shared by a MapBuilder and the MapBuilders returned from
+   * its in() method.
+   */
+  private static final class Tree {
+
+    final boolean persistent;
+    Node root;
+    Object edit = new Object();
+
+    Tree(boolean persistent) {
+      this.persistent = persistent;
+      this.root = new Node(edit);
+    }
+
+    Tree(Node root, boolean persistent) {
+      this.persistent = persistent;
+      this.root = root;
+    }
+
+    Node editable(Node node) {
+      return node.edit == edit
+          ? node
+          : new Node(edit, new LinkedHashMap<>(node.map));
+    }
+
+    // Freezes all nodes currently in the tree
+    void freeze() {
+      edit = new Object();
+    }
+
+  }
+
+  /*
+   * An unmodifiable view of a frozen node
+   */
+  private static final class Snapshot extends AbstractMap<String, Object> {
+
+    private final Node node;
+
+    Snapshot(Node node) {
+      this.node = node;
+    }
+
+    @Override
+    public Object get(Object key) {
+      return unwrap(node.map.get(key));
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return node.map.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+      return node.map.size();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+      return new AbstractSet<>() {
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+          Iterator<Entry<String, Object>> iter = node.map.entrySet().iterator();
+          return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+              return iter.hasNext();
+            }
+
+            @Override
+            public Entry<String, Object> next() {
+              Entry<String, Object> e = iter.next();
+              return new SimpleImmutableEntry<>(e.getKey(), unwrap(e.getValue()));
+            }
+          };
+        }
+
+        @Override
+        public int size() {
+          return node.map.size();
+        }
+      };
+    }
+
+    private static Object unwrap(Object val) {
+      if (val instanceof Node n) {
+        return n.view();
+      }
+      return replaceIf(val, sameAs(), _NULL_, null);
+    }
+
+  }
+
+  private final Tree tree;
   private final Path root;
   private final MapBuilder parent;
 
@@ -103,7 +274,18 @@ public final class MapBuilder {
    * Creates a new {@code MapBuilder}.
    */
   public MapBuilder() {
-    this(new LinkedHashMap<>());
+    this(false);
+  }
+
+  /**
+   * Creates a new {@code MapBuilder}. If {@code persistent} is {@code true},
+   * {@link #createMap()} returns unmodifiable snapshots rather than deep copies of
+   * the map built thus far.
+   *
+   * @param persistent whether to create a {@code MapBuilder} in persistent mode
+   */
+  public MapBuilder(boolean persistent) {
+    this(new Tree(persistent), Path.empty(), null);
   }
 
   /**
@@ -113,16 +295,29 @@ public final class MapBuilder {
    * @param map The initial {@code Map}
    */
   public MapBuilder(Map<String, Object> map) {
+    this(map, false);
+  }
+
+  /**
+   * Creates a {@code MapBuilder} that starts out with the entries in the specified
+   * map. The map is read, but not modified. If {@code persistent} is {@code true},
+   * {@link #createMap()} returns unmodifiable snapshots rather than deep copies of
+   * the map built thus far.
+   *
+   * @param map The initial {@code Map}
+   * @param persistent whether to create a {@code MapBuilder} in persistent mode
+   */
+  public MapBuilder(Map<String, Object> map, boolean persistent) {
     Check.notNull(map, Param.MAP);
-    this.map = new LinkedHashMap<>(map.size() + 10);
+    this.tree = new Tree(persistent);
     this.root = Path.empty();
     this.parent = null;
-    init(this, map);
+    init(tree.root, map);
   }
 
-  private MapBuilder(Path root, MapBuilder parent) {
+  private MapBuilder(Tree tree, Path root, MapBuilder parent) {
+    this.tree = tree;
     this.root = root;
-    this.map = new LinkedHashMap<>();
     this.parent = parent;
   }
 
@@ -142,7 +337,51 @@ public final class MapBuilder {
    */
   public MapBuilder set(String path, Object value) {
     Check.notNull(path, Param.PATH);
-    set(this, Path.from(path), value);
+    set(Path.intern(path), value);
+    return this;
+  }
+
+  /**
+   * Sets the paths in the specified map to their corresponding values. The keys
+   * of the map are path strings. This is equivalent to calling
+   * {@link #set(String, Object) set} for each entry in the map, but the maps
+   * along a path are looked up or created only once for consecutive paths that
+   * share them. Thus, if the map's keys are sorted or grouped by prefix, as when
+   * building a nested map from a flat row of key-value pairs, the cost is linear
+   * in the total number of path segments. The values are written in the map's
+   * iteration order.
+   *
+   * @param values the paths and the values to write to them
+   * @return this {@code MapBuilder}
+   */
+  public MapBuilder setAll(Map<String, Object> values) {
+    Check.notNull(values, Param.MAP);
+    BatchWriter writer = new BatchWriter();
+    values.forEach((path, value) -> {
+      Check.notNull(path, Param.PATH);
+      writer.set(path, value);
+    });
+    return this;
+  }
+
+  /**
+   * Sets the specified paths to the corresponding values in the specified array.
+   * The array must have the same length as the list. This is equivalent to
+   * calling {@link #set(String, Object) set} for each path, in the order of the
+   * list, but the maps along a path are looked up or created only once for
+   * consecutive paths that share them. See {@link #setAll(Map)}.
+   *
+   * @param paths the paths
+   * @param values the values to write to the paths
+   * @return this {@code MapBuilder}
+   */
+  public MapBuilder setAll(List<Path> paths, Object[] values) {
+    Check.that(paths, PATHS).is(deepNotNull());
+    Check.notNull(values, Param.VALUES).has(length(), eq(), paths.size());
+    BatchWriter writer = new BatchWriter();
+    for (int i = 0; i < values.length; ++i) {
+      writer.set(paths.get(i), values[i]);
+    }
     return this;
   }
 
@@ -157,7 +396,7 @@ public final class MapBuilder {
    */
   public Result<Object> get(String path) {
     Check.notNull(path, Param.PATH);
-    return get(this, Path.from(path));
+    return get(Path.intern(path));
   }
 
   /**
@@ -175,7 +414,7 @@ public final class MapBuilder {
    */
   public MapBuilder in(String path) {
     Check.notNull(path, Param.PATH);
-    return in(this, Path.from(path));
+    return in(Path.intern(path));
   }
 
   /**
@@ -278,7 +517,7 @@ public final class MapBuilder {
    */
   public boolean isSet(String path) {
     Check.notNull(path);
-    return isSet(this, Path.from(path));
+    return isSet(Path.intern(path));
   }
 
   /**
@@ -292,19 +531,44 @@ public final class MapBuilder {
    */
   public MapBuilder unset(String path) {
     Check.notNull(path);
-    unset(this, Path.from(path));
+    unset(Path.intern(path));
     return this;
   }
 
   /**
-   * Returns the {@code Map} resulting from the write actions. The returned map is
-   * modifiable and retains the order in which the paths (now keys) were written. You
-   * can continue to use the {@code MapBuilder} after a call to this method.
+   * Returns a new {@code MapBuilder} that starts out with the same map as this
+   * {@code MapBuilder}, and is positioned at the same branch within it. This is an
+   * O(1) operation: the two builders share all nested maps until either of them
+   * writes to them. Subsequent changes to either builder are not visible to the
+   * other. The new builder is in persistent mode if this builder is.
+   *
+   * @return a new {@code MapBuilder} that starts out with the same map as this
+   *     {@code MapBuilder}
+   */
+  public MapBuilder derive() {
+    tree.freeze();
+    MapBuilder mb = new MapBuilder(new Tree(tree.root, tree.persistent),
+        Path.empty(),
+        null);
+    return mb.in(root);
+  }
+
+  /**
+   * Returns the {@code Map} resulting from the write actions. The map retains the
+   * order in which the paths (now keys) were written. Unless this
+   * {@code MapBuilder} is in persistent mode, the returned map is a modifiable deep
+   * copy of the map built thus far. In persistent mode, an unmodifiable snapshot is
+   * returned in O(1) time. The snapshot is not affected by subsequent write actions.
+   * You can continue to use the {@code MapBuilder} after a call to this method.
    *
    * @return the {@code Map} resulting from the write actions
    */
   public Map<String, Object> createMap() {
-    return createMap(this);
+    Node node = readable();
+    if (node == null) {
+      return tree.persistent ? Map.of() : new LinkedHashMap<>();
+    }
+    return createMap(node);
   }
 
   /**
@@ -314,94 +578,220 @@ public final class MapBuilder {
    */
   @Override
   public String toString() {
-    return createMap().toString();
+    Node node = readable();
+    return node == null ? "{}" : copy(node).toString();
   }
 
   @SuppressWarnings({"rawtypes", "unchecked"})
-  private static void init(MapBuilder writer, Map map) {
-    map.forEach((key, val) -> processEntry(writer, key, val));
+  private void init(Node node, Map map) {
+    map.forEach((key, val) -> processEntry(node, key, val));
   }
 
-  private static void processEntry(MapBuilder writer, Object key, Object val) {
+  private void processEntry(Node node, Object key, Object val) {
     Check.that(key)
         .isNot(NULL(), "illegal null key in source map")
         .isNot(empty(), "illegal empty key in source map")
         .is(instanceOf(), String.class, "illegal key type in source map: ${type}");
     String k = key.toString();
     if (val instanceof Map nested) {
-      Path path = writer.root.append(k);
-      MapBuilder mb = new MapBuilder(path, writer);
-      writer.map.put(k, mb);
-      init(mb, nested);
+      Node kid = new Node(tree.edit);
+      node.map.put(k, kid);
+      init(kid, nested);
     } else {
       Check.that(val).isNot(instanceOf(), MapBuilder.class); // stifle nasty usage
-      writer.map.put(k, ifNull(val, _NULL_));
+      node.map.put(k, ifNull(val, _NULL_));
     }
   }
 
-  private static void set(MapBuilder writer, Path path, Object val) {
-    String key = firstSegment(path);
-    if (path.size() == 1) {
-      if (writer.map.containsKey(key)) {
-        throw alreadySet(writer, key);
-      }
-      Check.that(val, Param.VALUE)
-          .isNot(instanceOf(), Map.class)
-          .isNot(instanceOf(), MapBuilder.class); // stifle nasty usage
-      writer.map.put(key, ifNull(val, _NULL_));
-    } else {
-      set(getNestedWriter(writer, key), path.shift(), val);
+  private void set(Path path, Object val) {
+    put(writable(path, path.size() - 1), path, val);
+  }
+
+  // Writes the value of the last segment of the path to the specified node
+  private void put(Node node, Path path, Object val) {
+    int last = path.size() - 1;
+    String key = segment(path, last);
+    if (!put(node, key, val)) {
+      throw new PathBlockedException(absolute(path, last), node.map.get(key));
     }
   }
 
-  private static Result<Object> get(MapBuilder writer, Path path) {
-    String key = path.segment(0);
-    Object val = writer.map.get(key);
-    if (val instanceof MapBuilder nested) {
-      if (path.size() == 1) {
-        return Result.of(nested.createMap());
+  // Returns false if the key has already been set
+  private static boolean put(Node node, String key, Object val) {
+    if (node.map.containsKey(key)) {
+      return false;
+    }
+    Check.that(val, Param.VALUE)
+        .isNot(instanceOf(), Map.class)
+        .isNot(instanceOf(), MapBuilder.class); // stifle nasty usage
+    node.map.put(key, ifNull(val, _NULL_));
+    return true;
+  }
+
+  private Result<Object> get(Path path) {
+    Node node = readable();
+    if (node == null) {
+      return Result.none();
+    }
+    for (int i = 0; i < path.size(); ++i) {
+      Object val = node.map.get(path.segment(i));
+      if (val instanceof Node nested) {
+        if (i == path.size() - 1) {
+          return Result.of(createMap(nested));
+        }
+        node = nested;
+      } else if (i == path.size() - 1 && val != null) {
+        return Result.of(replaceIf(val, sameAs(), _NULL_, null));
+      } else {
+        break;
       }
-      return get(nested, path.shift());
-    } else if (path.size() == 1 && val != null) {
-      return Result.of(replaceIf(val, sameAs(), _NULL_, null));
     }
     return Result.none();
   }
 
-  private static MapBuilder in(MapBuilder writer, Path path) {
+  private MapBuilder in(Path path) {
     if (path.isEmpty()) {
-      return writer;
+      return this;
+    }
+    writable(path, path.size());
+    MapBuilder mb = this;
+    for (String segment : path) {
+      mb = new MapBuilder(tree, mb.root.append(segment), mb);
     }
-    String key = firstSegment(path);
-    return in(getNestedWriter(writer, key), path.shift());
+    return mb;
   }
 
-  private static boolean isSet(MapBuilder writer, Path path) {
-    String key = firstSegment(path);
-    Object val = writer.map.get(key);
-    if (val == null) {
-      return false;
-    } else if (path.size() == 1 || !(val instanceof MapBuilder)) {
-      return true;
+  private boolean isSet(Path path) {
+    Node node = readable();
+    for (int i = 0; i < path.size(); ++i) {
+      String key = segment(path, i);
+      Object val = node == null ? null : node.map.get(key);
+      if (val == null) {
+        return false;
+      } else if (i == path.size() - 1 || !(val instanceof Node)) {
+        return true;
+      }
+      node = (Node) val;
     }
-    return isSet((MapBuilder) val, path.shift());
+    return false;
   }
 
-  private static void unset(MapBuilder writer, Path path) {
-    String key = firstSegment(path);
-    if (path.size() == 1) {
-      writer.map.remove(key);
-    } else {
-      unset(getNestedWriter(writer, key), path.shift());
+  private void unset(Path path) {
+    int last = path.size() - 1;
+    Node node = writable(path, last);
+    node.map.remove(segment(path, last));
+  }
+
+  private Map<String, Object> createMap(Node node) {
+    if (tree.persistent) {
+      tree.freeze();
+      return node.view();
     }
+    return copy(node);
   }
 
-  private static Map<String, Object> createMap(MapBuilder writer) {
-    int sz = 1 + 4 * writer.map.size() / 3;
+  /*
+   * Writes a series of paths, remembering the nodes along the previous path. The
+   * next path only needs to descend from where it diverges from the previous
+   * path. A BatchWriter is only used for the duration of a single setAll call,
+   * during which the tree cannot be frozen, so the remembered nodes remain
+   * writable.
+   */
+  private final class BatchWriter {
+
+    // nodes[i] is the node for the first i segments of the previous path
+    private Node[] nodes = new Node[8];
+    // The number of segments of the previous path leading up to a node in nodes,
+    // or -1 if nodes[0] has not been set yet
+    private int depth = -1;
+    private Path prevPath;
+    private String prevString;
+    // dots[i] is the position of the dot following segment i of prevString
+    private int[] dots = new int[8];
+
+    void set(Path path, Object val) {
+      int last = path.size() - 1;
+      int d = 0;
+      if (depth == -1) {
+        nodes[0] = writable(path, 0);
+      } else {
+        int max = Math.min(last, depth);
+        while (d < max && prevPath.segment(d).equals(path.segment(d))) {
+          ++d;
+        }
+      }
+      if (last >= nodes.length) {
+        nodes = Arrays.copyOf(nodes, last + 8);
+      }
+      Node node = nodes[d];
+      for (; d < last; ++d) {
+        nodes[d + 1] = node = editableKid(node, path, d);
+      }
+      prevPath = path;
+      depth = d;
+      put(node, path, val);
+    }
+
+    /*
+     * Writes a path string without converting it to a Path, so that only the
+     * segments following the prefix it shares with the previous path string
+     * need to be extracted.
+     */
+    void set(String path, Object val) {
+      if (depth == -1) {
+        nodes[0] = writable(Path.empty(), 0);
+        depth = 0;
+      }
+      if (path.indexOf('^') != -1) {
+        // Leave escape sequences to Path
+        MapBuilder.this.set(Path.intern(path), val);
+        depth = 0;
+        return;
+      }
+      int d = 0;
+      int start = 0;
+      while (d < depth && path.regionMatches(start, prevString, start, dots[d] + 1 - start)) {
+        start = dots[d++] + 1;
+      }
+      Node node = nodes[d];
+      for (int dot; (dot = path.indexOf('.', start)) != -1; start = dot + 1) {
+        if (dot == start) {
+          // Leave empty segments to set(), which rejects them
+          MapBuilder.this.set(Path.from(path), val);
+          return;
+        }
+        String key = path.substring(start, dot);
+        Node kid = editableKid(tree, node, key);
+        if (kid == null) {
+          throw new PathBlockedException(absolute(Path.from(path), d), node.map.get(key));
+        }
+        if (++d == nodes.length) {
+          nodes = Arrays.copyOf(nodes, d + 8);
+          dots = Arrays.copyOf(dots, d + 8);
+        }
+        dots[d - 1] = dot;
+        nodes[d] = node = kid;
+      }
+      prevString = path;
+      depth = d;
+      if (start == path.length()) {
+        MapBuilder.this.set(Path.from(path), val);
+        return;
+      }
+      String key = path.substring(start);
+      if (!put(node, key, val)) {
+        throw new PathBlockedException(absolute(Path.from(path), d), node.map.get(key));
+      }
+    }
+
+  }
+
+  private static Map<String, Object> copy(Node node) {
+    int sz = 1 + 4 * node.map.size() / 3;
     Map<String, Object> m = new LinkedHashMap<>(sz);
-    writer.map.forEach((key, val) -> {
-      if (val instanceof MapBuilder mb) {
-        m.put(key, createMap(mb));
+    node.map.forEach((key, val) -> {
+      if (val instanceof Node nested) {
+        m.put(key, copy(nested));
       } else {
         m.put(key, replaceIf(val, sameAs(), _NULL_, null));
       }
@@ -409,24 +799,79 @@ public final class MapBuilder {
     return m;
   }
 
-  private static MapBuilder getNestedWriter(MapBuilder writer, String key) {
-    Path root = writer.root.append(key);
-    Object val = writer.map.computeIfAbsent(key, k -> new MapBuilder(root, writer));
-    if (val instanceof MapBuilder mb) {
-      return mb;
+  /*
+   * Returns the node for this builder's branch, or null if the branch has been
+   * unset since this builder was created.
+   */
+  private Node readable() {
+    Node node = tree.root;
+    for (int i = 0; i < root.size(); ++i) {
+      if (!(node.map.get(root.segment(i)) instanceof Node kid)) {
+        return null;
+      }
+      node = kid;
+    }
+    return node;
+  }
+
+  /*
+   * Returns the node for the first {@code depth} segments of the specified path,
+   * relative to this builder's branch, creating it and its ancestors if necessary.
+   * The nodes along the way are copied if they are frozen, so the returned node
+   * may be modified in place.
+   */
+  private Node writable(Path path, int depth) {
+    Tree t = tree;
+    Node node = t.root = t.editable(t.root);
+    for (int i = 0; i < root.size(); ++i) {
+      Node kid = editableKid(t, node, root.segment(i));
+      if (kid == null) {
+        Object val = node.map.get(root.segment(i));
+        throw new PathBlockedException(root.subpath(0, i + 1), val);
+      }
+      node = kid;
+    }
+    for (int i = 0; i < depth; ++i) {
+      node = editableKid(node, path, i);
+    }
+    return node;
+  }
+
+  // Returns the node for the segment at the specified index, which must be a
+  // child of the specified node
+  private Node editableKid(Node node, Path path, int index) {
+    String key = segment(path, index);
+    Node kid = editableKid(tree, node, key);
+    if (kid == null) {
+      throw new PathBlockedException(absolute(path, index), node.map.get(key));
+    }
+    return kid;
+  }
+
+  // Returns null if the key has a terminal value
+  private static Node editableKid(Tree tree, Node node, String key) {
+    Object val = node.map.get(key);
+    if (val == null) {
+      Node kid = new Node(tree.edit);
+      node.map.put(key, kid);
+      return kid;
+    } else if (val instanceof Node kid) {
+      Node copy = tree.editable(kid);
+      if (copy != kid) {
+        node.map.put(key, copy);
+      }
+      return copy;
     }
-    throw new PathBlockedException(root, val);
+    return null;
   }
 
-  private static PathBlockedException alreadySet(MapBuilder writer,
-      String key) {
-    Path absPath = writer.root.append(key);
-    Object curVal = writer.map.get(key);
-    return new PathBlockedException(absPath, curVal);
+  // Returns the absolute path of the segment at the specified index
+  private Path absolute(Path path, int index) {
+    return root.append(path.subpath(0, index + 1));
   }
 
-  private static String firstSegment(Path path) {
-    return Check.that(path.segment(0))
+  private static String segment(Path path, int index) {
+    return Check.that(path.segment(index))
         .isNot(NULL(), "illegal null segment in path \"${0}\"", path)
         .has(strlen(), gt(), 0, "illegal empty segment in path \"${0}\"", path)
         .ok();
@@ -71,10 +71,25 @@ public final class ArraySet<E> extends ImmutableSet<E> {
         : set.isEmpty() ? empty() : new ArraySet<>(set.toArray());
   }
 
+  /*
+   * Sets with more elements than this get an open-addressing hash index, so that
+   * contains() need not scan the entire array.
+   */
+  private static final int INDEX_THRESHOLD = 8;
+
   private final Object[] elems;
 
+  /*
+   * Maps hash buckets to (1-based) indices into elems. Zero means the bucket is
+   * empty. The table length is a power of two and at least twice the number of
+   * elements, so linear probing always ends on an empty bucket. Null if the set is
+   * small enough to just scan the array.
+   */
+  private final int[] index;
+
   private ArraySet(Object[] elems) {
     this.elems = elems;
+    this.index = elems.length > INDEX_THRESHOLD ? createIndex(elems) : null;
   }
 
   @Override
@@ -89,12 +104,28 @@ public final class ArraySet<E> extends ImmutableSet<E> {
 
   @Override
   public boolean contains(Object o) {
-    return ArrayMethods.isElementOf(o, elems);
+    if (index == null) {
+      return ArrayMethods.isElementOf(o, elems);
+    } else if (o == null) {
+      return false;
+    }
+    int mask = index.length - 1;
+    for (int i = hash(o) & mask; index[i] != 0; i = (i + 1) & mask) {
+      if (o.equals(elems[index[i] - 1])) {
+        return true;
+      }
+    }
+    return false;
   }
 
   @Override
   public boolean containsAll(Collection<?> c) {
-    return new HashSet<>(this).containsAll(c);
+    for (Object o : c) {
+      if (!contains(o)) {
+        return false;
+      }
+    }
+    return true;
   }
 
   @Override
@@ -193,4 +224,22 @@ public final class ArraySet<E> extends ImmutableSet<E> {
     return str;
   }
 
+  private static int[] createIndex(Object[] elems) {
+    int[] index = new int[Integer.highestOneBit(elems.length) << 2];
+    int mask = index.length - 1;
+    for (int i = 0; i < elems.length; ++i) {
+      int j = hash(elems[i]) & mask;
+      while (index[j] != 0) {
+        j = (j + 1) & mask;
+      }
+      index[j] = i + 1;
+    }
+    return index;
+  }
+
+  private static int hash(Object o) {
+    int h = o.hashCode();
+    return h ^ (h >>> 16);
+  }
+
 }
@@ -6,9 +6,21 @@ import nl.naturalis.common.ExceptionMethods;
 import nl.naturalis.common.check.Check;
 import nl.naturalis.common.invoke.InvokeException;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
 import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 import static java.lang.Character.isUpperCase;
 import static java.lang.Character.toLowerCase;
@@ -17,14 +29,34 @@ import static java.lang.invoke.MethodHandles.arrayElementSetter;
 import static java.lang.invoke.MethodType.methodType;
 import static java.lang.reflect.Modifier.isStatic;
 import static nl.naturalis.common.ArrayMethods.pack;
+import static nl.naturalis.common.ClassMethods.box;
 import static nl.naturalis.common.ClassMethods.unbox;
 import static nl.naturalis.common.check.Check.fail;
 
 @SuppressWarnings({"unchecked", "rawtypes"})
 public class InvokeUtils {
 
-  private static final Map<Class<?>, MethodHandle> noArgConstructors = new HashMap<>();
-  private static final Map<Class<?>, MethodHandle> intArgConstructors = new HashMap<>();
+  // A public constructor, the function calling it, or the exception thrown while
+  // looking it up. The function is spun by the LambdaMetafactory if possible, and
+  // otherwise falls back on the MethodHandle.
+  private record Constructor(MethodHandle mh,
+      Object fn,
+      ReflectiveOperationException error) {}
+
+  private static final ClassValue<Constructor> noArgConstructors = new ClassValue<>() {
+    @Override
+    protected Constructor computeValue(Class<?> clazz) {
+      return noArgConstructor(clazz);
+    }
+  };
+
+  private static final ClassValue<Constructor> intArgConstructors = new ClassValue<>() {
+    @Override
+    protected Constructor computeValue(Class<?> clazz) {
+      return intArgConstructor(clazz);
+    }
+  };
+
   private static final Set<String> NON_GETTERS = Set.of("getClass",
       "toString",
       "hashCode");
@@ -61,24 +93,57 @@ public class InvokeUtils {
   }
 
   public static <T> T newInstance(Class<T> clazz) {
-    try {
-      return (T) getNoArgConstructor(clazz).invoke();
-    } catch (NoSuchMethodException e) {
+    return getNoArgInstantiator(clazz).get();
+  }
+
+  public static <T> T newInstance(Class<T> clazz, int arg0) {
+    return getIntArgInstantiator(clazz).apply(arg0);
+  }
+
+  /**
+   * Returns a {@code Supplier} calling the public no-arg constructor of the
+   * specified class. If possible, the {@code Supplier} is spun by the
+   * {@link LambdaMetafactory}, so that calling it costs no more than calling
+   * {@code new}. Otherwise it calls the constructor through a
+   * {@code MethodHandle}. Instantiators are cached in a thread-safe manner.
+   *
+   * @param clazz The class to instantiate
+   * @param <T> The type of the instances
+   * @return A {@code Supplier} of new instances of the class
+   * @throws InvokeException If the class does not have a no-arg constructor
+   */
+  public static <T> Supplier<T> getNoArgInstantiator(Class<T> clazz)
+      throws InvokeException {
+    Constructor c = noArgConstructors.get(clazz);
+    if (c.error() instanceof NoSuchMethodException) {
       throw InvokeException.missingNoArgConstructor(clazz);
-    } catch (Throwable t) {
-      throw ExceptionMethods.uncheck(t);
+    } else if (c.error() != null) {
+      throw ExceptionMethods.uncheck(c.error());
     }
+    return (Supplier<T>) c.fn();
   }
 
-  @SuppressWarnings({"unchecked"})
-  public static <T> T newInstance(Class<T> clazz, int arg0) {
-    try {
-      return (T) getIntArgConstructor(clazz).invoke(arg0);
-    } catch (NoSuchMethodException e) {
+  /**
+   * Returns an {@code IntFunction} calling the public constructor of the
+   * specified class that takes a single {@code int} argument (typically an
+   * initial capacity). As with {@link #getNoArgInstantiator(Class)}, the
+   * {@code IntFunction} is spun by the {@link LambdaMetafactory} if possible.
+   *
+   * @param clazz The class to instantiate
+   * @param <T> The type of the instances
+   * @return An {@code IntFunction} producing new instances of the class
+   * @throws InvokeException If the class does not have a constructor taking a
+   *     single {@code int} argument
+   */
+  public static <T> IntFunction<T> getIntArgInstantiator(Class<T> clazz)
+      throws InvokeException {
+    Constructor c = intArgConstructors.get(clazz);
+    if (c.error() instanceof NoSuchMethodException) {
       throw InvokeException.noSuchConstructor(clazz, int.class);
-    } catch (Throwable t) {
-      throw ExceptionMethods.uncheck(t);
+    } else if (c.error() != null) {
+      throw ExceptionMethods.uncheck(c.error());
     }
+    return (IntFunction<T>) c.fn();
   }
 
   @SuppressWarnings({"unchecked"})
@@ -133,23 +198,245 @@ public class InvokeUtils {
 
   public static <T> MethodHandle getNoArgConstructor(Class<T> clazz)
       throws NoSuchMethodException, IllegalAccessException {
-    MethodHandle mh = noArgConstructors.get(clazz);
-    if (mh == null) {
-      mh = publicLookup().findConstructor(clazz, methodType(void.class));
-      noArgConstructors.put(clazz, mh);
-    }
-    return mh;
+    return getConstructor(noArgConstructors.get(clazz));
   }
 
   // Return MethodHandle for constructor taking a single argument of type int
   public static <T> MethodHandle getIntArgConstructor(Class<T> clazz)
       throws NoSuchMethodException, IllegalAccessException {
-    MethodHandle mh = intArgConstructors.get(clazz);
-    if (mh == null) {
+    return getConstructor(intArgConstructors.get(clazz));
+  }
+
+  private static MethodHandle getConstructor(Constructor c)
+      throws NoSuchMethodException, IllegalAccessException {
+    if (c.error() instanceof NoSuchMethodException e) {
+      throw e;
+    } else if (c.error() instanceof IllegalAccessException e) {
+      throw e;
+    }
+    return c.mh();
+  }
+
+  private static Constructor noArgConstructor(Class<?> clazz) {
+    MethodHandle mh;
+    try {
+      mh = publicLookup().findConstructor(clazz, methodType(void.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      return new Constructor(null, null, e);
+    }
+    Supplier<Object> fn = spinConstructor(clazz,
+        methodType(void.class),
+        Supplier.class,
+        "get",
+        methodType(Object.class),
+        methodType(clazz));
+    if (fn == null) {
+      fn = () -> {
+        try {
+          return mh.invoke();
+        } catch (Throwable t) {
+          throw ExceptionMethods.uncheck(t);
+        }
+      };
+    }
+    return new Constructor(mh, fn, null);
+  }
+
+  private static Constructor intArgConstructor(Class<?> clazz) {
+    MethodHandle mh;
+    try {
       mh = publicLookup().findConstructor(clazz, methodType(void.class, int.class));
-      intArgConstructors.put(clazz, mh);
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      return new Constructor(null, null, e);
+    }
+    IntFunction<Object> fn = spinConstructor(clazz,
+        methodType(void.class, int.class),
+        IntFunction.class,
+        "apply",
+        methodType(Object.class, int.class),
+        methodType(clazz, int.class));
+    if (fn == null) {
+      fn = i -> {
+        try {
+          return mh.invoke(i);
+        } catch (Throwable t) {
+          throw ExceptionMethods.uncheck(t);
+        }
+      };
+    }
+    return new Constructor(mh, fn, null);
+  }
+
+  /**
+   * Spins a {@code Function} that calls the specified getter directly, using the
+   * {@link LambdaMetafactory}. Contrary to a {@code MethodHandle} stored in a
+   * (non-constant) field, calls through the returned {@code Function} can be
+   * inlined by the JIT compiler. Returns {@code null} if the getter cannot be
+   * called directly from within this module, for example because its declaring
+   * class is not public or resides in a package that is not exported to this
+   * module. In that case the caller should fall back on a {@code MethodHandle}.
+   *
+   * @param getter The getter
+   * @return A {@code Function} calling the getter, or {@code null} if the getter
+   *     could not be compiled into a {@code Function}
+   */
+  public static Function<Object, Object> compileGetter(Method getter) {
+    return spin(getter,
+        Function.class,
+        "apply",
+        methodType(Object.class, Object.class),
+        methodType(box(getter.getReturnType()), getter.getDeclaringClass()));
+  }
+
+  /**
+   * Spins a {@code ToIntFunction} that calls the specified getter directly. The
+   * getter must return an {@code int}, or a type that can be widened to an
+   * {@code int}. Returns {@code null} if the getter cannot be called directly from
+   * within this module.
+   *
+   * @param getter The getter
+   * @return A {@code ToIntFunction} calling the getter, or {@code null} if the
+   *     getter could not be compiled into a {@code ToIntFunction}
+   * @see #compileGetter(Method)
+   */
+  public static ToIntFunction<Object> compileIntGetter(Method getter) {
+    return spin(getter,
+        ToIntFunction.class,
+        "applyAsInt",
+        methodType(int.class, Object.class),
+        methodType(int.class, getter.getDeclaringClass()));
+  }
+
+  /**
+   * Spins a {@code ToLongFunction} that calls the specified getter directly. The
+   * getter must return a {@code long}, or a type that can be widened to a
+   * {@code long}. Returns {@code null} if the getter cannot be called directly
+   * from within this module.
+   *
+   * @param getter The getter
+   * @return A {@code ToLongFunction} calling the getter, or {@code null} if the
+   *     getter could not be compiled into a {@code ToLongFunction}
+   * @see #compileGetter(Method)
+   */
+  public static ToLongFunction<Object> compileLongGetter(Method getter) {
+    return spin(getter,
+        ToLongFunction.class,
+        "applyAsLong",
+        methodType(long.class, Object.class),
+        methodType(long.class, getter.getDeclaringClass()));
+  }
+
+  /**
+   * Spins a {@code ToDoubleFunction} that calls the specified getter directly. The
+   * getter must return a {@code double}, or a type that can be widened to a
+   * {@code double}. Returns {@code null} if the getter cannot be called directly
+   * from within this module.
+   *
+   * @param getter The getter
+   * @return A {@code ToDoubleFunction} calling the getter, or {@code null} if the
+   *     getter could not be compiled into a {@code ToDoubleFunction}
+   * @see #compileGetter(Method)
+   */
+  public static ToDoubleFunction<Object> compileDoubleGetter(Method getter) {
+    return spin(getter,
+        ToDoubleFunction.class,
+        "applyAsDouble",
+        methodType(double.class, Object.class),
+        methodType(double.class, getter.getDeclaringClass()));
+  }
+
+  /**
+   * Spins a {@code BiConsumer} that calls the specified setter directly, using the
+   * {@link LambdaMetafactory}. Note that, contrary to a {@code MethodHandle}, the
+   * returned {@code BiConsumer} will not apply widening conversions to the value
+   * passed to it. If the setter takes an {@code int}, the value <i>must</i> be an
+   * {@code Integer}. Returns {@code null} if the setter cannot be called directly
+   * from within this module.
+   *
+   * @param setter The setter
+   * @return A {@code BiConsumer} calling the setter, or {@code null} if the setter
+   *     could not be compiled into a {@code BiConsumer}
+   * @see #compileGetter(Method)
+   */
+  public static BiConsumer<Object, Object> compileSetter(Method setter) {
+    return spin(setter,
+        BiConsumer.class,
+        "accept",
+        methodType(void.class, Object.class, Object.class),
+        methodType(void.class,
+            setter.getDeclaringClass(),
+            box(setter.getParameterTypes()[0])));
+  }
+
+  private static <T> T spin(Method method,
+      Class<? super T> iface,
+      String samName,
+      MethodType samType,
+      MethodType instantiatedType) {
+    if (!isDirectlyAccessible(method.getDeclaringClass())) {
+      return null;
+    }
+    try {
+      return spin(lookup().unreflect(method), iface, samName, samType, instantiatedType);
+    } catch (IllegalAccessException e) {
+      return null;
+    }
+  }
+
+  private static <T> T spinConstructor(Class<?> clazz,
+      MethodType ctorType,
+      Class<? super T> iface,
+      String samName,
+      MethodType samType,
+      MethodType instantiatedType) {
+    if (Modifier.isAbstract(clazz.getModifiers()) || !isDirectlyAccessible(clazz)) {
+      return null;
+    }
+    try {
+      MethodHandle ctor = lookup().findConstructor(clazz, ctorType);
+      return spin(ctor, iface, samName, samType, instantiatedType);
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      return null;
+    }
+  }
+
+  private static <T> T spin(MethodHandle impl,
+      Class<? super T> iface,
+      String samName,
+      MethodType samType,
+      MethodType instantiatedType) {
+    try {
+      CallSite site = LambdaMetafactory.metafactory(lookup(),
+          samName,
+          methodType(iface),
+          samType,
+          impl,
+          instantiatedType);
+      return (T) site.getTarget().invoke();
+    } catch (LambdaConversionException | LinkageError e) {
+      return null;
+    } catch (Throwable t) {
+      throw ExceptionMethods.uncheck(t);
+    }
+  }
+
+  // Whether bytecode within this module can reference the specified class. The
+  // lambda classes spun by the LambdaMetafactory live in this module, so unlike
+  // the reflective MethodHandle path they are subject to the module system's
+  // readability and export rules.
+  private static boolean isDirectlyAccessible(Class<?> beanClass) {
+    if (!Modifier.isPublic(beanClass.getModifiers())) {
+      return false;
+    }
+    Module self = InvokeUtils.class.getModule();
+    Module other = beanClass.getModule();
+    if (!other.isExported(beanClass.getPackageName(), self)) {
+      return false;
+    }
+    if (!self.canRead(other)) {
+      self.addReads(other);
     }
-    return mh;
+    return true;
   }
 
   /**
@@ -1,6 +1,9 @@
 package nl.naturalis.common;
 
 import org.junit.Test;
+
+import java.util.function.Function;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -51,4 +54,47 @@ public class MorphTest {
     int i = Morph.convert(new int[0], int.class);
     assertEquals(0, i);
   }
+
+  @Test
+  public void converter00() {
+    Function<Object, Integer> f = Morph.converter(String.class, int.class);
+    assertEquals(Integer.valueOf(42), f.apply("42"));
+    assertEquals(Integer.valueOf(-3), f.apply("-3"));
+  }
+
+  @Test
+  public void converter01() {
+    Function<Object, Double> f = Morph.converter(Integer.class, Double.class);
+    assertEquals(Double.valueOf(7), f.apply(7));
+  }
+
+  @Test
+  public void converter02() {
+    Function<Object, String> f = Morph.converter(Integer.class, String.class);
+    assertEquals("7", f.apply(7));
+  }
+
+  @Test
+  public void converter03() {
+    Function<Object, Integer> f = Morph.converter(int[].class, int.class);
+    assertEquals(Integer.valueOf(2), f.apply(new int[] {2}));
+    assertEquals(Integer.valueOf(0), f.apply(new int[0]));
+  }
+
+  @Test
+  public void converter04() {
+    Function<Object, Character> f = Morph.converter(String.class, char.class);
+    assertEquals(Character.valueOf('a'), f.apply("a"));
+  }
+
+  @Test(expected = TypeConversionException.class)
+  public void converter05() {
+    Morph.converter(String.class, int.class).apply("foo");
+  }
+
+  @Test(expected = TypeConversionException.class)
+  public void converter06() {
+    Morph.converter(Object.class, Thread.class).apply(new Object());
+  }
+
 }
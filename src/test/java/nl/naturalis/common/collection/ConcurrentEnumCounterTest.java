@@ -0,0 +1,81 @@
+package nl.naturalis.common.collection;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static java.time.DayOfWeek.*;
+import static org.junit.Assert.assertEquals;
+
+public class ConcurrentEnumCounterTest {
+
+  @Test
+  public void increment00() {
+    ConcurrentEnumCounter<DayOfWeek> counter = new ConcurrentEnumCounter<>(
+        DayOfWeek.class);
+    counter.increment(MONDAY);
+    counter.increment(MONDAY);
+    counter.add(FRIDAY, 40);
+    counter.decrement(FRIDAY);
+    assertEquals(2, counter.sum(MONDAY));
+    assertEquals(39, counter.sum(FRIDAY));
+    assertEquals(0, counter.sum(SUNDAY));
+    assertEquals(41, counter.total());
+  }
+
+  @Test
+  public void sumThenReset00() {
+    ConcurrentEnumCounter<DayOfWeek> counter = new ConcurrentEnumCounter<>(
+        DayOfWeek.class);
+    counter.add(TUESDAY, 7);
+    assertEquals(7, counter.sumThenReset(TUESDAY));
+    assertEquals(0, counter.sum(TUESDAY));
+  }
+
+  @Test
+  public void snapshot00() {
+    ConcurrentEnumCounter<DayOfWeek> counter = new ConcurrentEnumCounter<>(
+        DayOfWeek.class);
+    counter.add(TUESDAY, 7);
+    counter.add(SUNDAY, Integer.MAX_VALUE + 1L);
+    EnumToLongMap<DayOfWeek> map = counter.snapshotThenReset();
+    assertEquals(7, map.size());
+    assertEquals(7, map.get(TUESDAY));
+    assertEquals(Integer.MAX_VALUE + 1L, map.get(SUNDAY));
+    assertEquals(0, map.get(MONDAY));
+    assertEquals(0, counter.total());
+    assertEquals(new EnumToLongMap<>(DayOfWeek.class, k -> 0L), counter.snapshot());
+  }
+
+  @Test
+  public void concurrent00() throws InterruptedException {
+    ConcurrentEnumCounter<DayOfWeek> counter = new ConcurrentEnumCounter<>(
+        DayOfWeek.class);
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    for (int i = 0; i < 4; ++i) {
+      pool.execute(() -> {
+        for (int j = 0; j < 10_000; ++j) {
+          counter.increment(DayOfWeek.of(1 + j % 7));
+        }
+      });
+    }
+    pool.shutdown();
+    pool.awaitTermination(10, TimeUnit.SECONDS);
+    assertEquals(40_000, counter.total());
+    assertEquals(4 * 1429, counter.sum(MONDAY));
+  }
+
+  @Test
+  public void toString00() {
+    ConcurrentEnumCounter<DayOfWeek> counter = new ConcurrentEnumCounter<>(
+        DayOfWeek.class);
+    counter.increment(MONDAY);
+    assertEquals(
+        "[MONDAY=1, TUESDAY=0, WEDNESDAY=0, THURSDAY=0, FRIDAY=0, SATURDAY=0, SUNDAY=0]",
+        counter.toString());
+  }
+
+}
@@ -343,4 +343,64 @@ public class EnumToIntMapTest {
     assertEquals(map.entrySet().hashCode(), map.hashCode());
   }
 
+  @Test
+  public void addAll00() {
+    EnumToIntMap<TestEnum> map1 = new EnumToIntMap<>(TestEnum.class);
+    EnumToIntMap<TestEnum> map2 = new EnumToIntMap<>(TestEnum.class, -1);
+    map1.set(RED, 7).set(BLUE, 3);
+    map2.set(RED, 1).set(GREEN, 4);
+    map1.addAll(map2);
+    assertEquals(3, map1.size());
+    assertEquals(8, map1.get(RED));
+    assertEquals(3, map1.get(BLUE));
+    assertEquals(4, map1.get(GREEN));
+    assertFalse(map1.containsKey(BLACK));
+  }
+
+  @Test
+  public void subtract00() {
+    EnumToIntMap<TestEnum> map1 = new EnumToIntMap<>(TestEnum.class);
+    EnumToIntMap<TestEnum> map2 = new EnumToIntMap<>(TestEnum.class);
+    map1.set(RED, 7).set(BLUE, 3);
+    map2.set(RED, 1).set(GREEN, 4);
+    map1.subtract(map2);
+    assertEquals(6, map1.get(RED));
+    assertEquals(3, map1.get(BLUE));
+    assertEquals(-4, map1.get(GREEN));
+  }
+
+  @Test
+  public void maxMin00() {
+    EnumToIntMap<TestEnum> map1 = new EnumToIntMap<>(TestEnum.class);
+    EnumToIntMap<TestEnum> map2 = new EnumToIntMap<>(TestEnum.class);
+    map1.set(RED, 7).set(BLUE, 3);
+    map2.set(RED, 1).set(BLUE, 5).set(GREEN, 4);
+    EnumToIntMap<TestEnum> max = new EnumToIntMap<>(map1).max(map2);
+    assertEquals(7, max.get(RED));
+    assertEquals(5, max.get(BLUE));
+    assertEquals(4, max.get(GREEN));
+    EnumToIntMap<TestEnum> min = new EnumToIntMap<>(map1).min(map2);
+    assertEquals(1, min.get(RED));
+    assertEquals(3, min.get(BLUE));
+    assertEquals(4, min.get(GREEN));
+  }
+
+  @Test
+  public void scale00() {
+    EnumToIntMap<TestEnum> map = new EnumToIntMap<>(TestEnum.class);
+    map.set(RED, 7).set(BLUE, -3).scale(3);
+    assertEquals(2, map.size());
+    assertEquals(21, map.get(RED));
+    assertEquals(-9, map.get(BLUE));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void addAll01() {
+    EnumToIntMap<TestEnum> map1 = new EnumToIntMap<>(TestEnum.class, 10);
+    EnumToIntMap<TestEnum> map2 = new EnumToIntMap<>(TestEnum.class, -1);
+    map1.put(RED, 7);
+    map2.put(RED, 3);
+    map1.addAll(map2);
+  }
+
 }
@@ -0,0 +1,78 @@
+package nl.naturalis.common.collection;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Map;
+
+import static java.time.DayOfWeek.*;
+import static org.junit.Assert.*;
+
+public class EnumToLongMapTest {
+
+  @Test
+  public void put00() {
+    EnumToLongMap<DayOfWeek> map = new EnumToLongMap<>(DayOfWeek.class);
+    assertTrue(map.isEmpty());
+    map.put(MONDAY, 7L);
+    map.put(FRIDAY, Long.MAX_VALUE);
+    assertEquals(2, map.size());
+    assertEquals(7L, map.get(MONDAY));
+    assertEquals(Long.MAX_VALUE, map.get(FRIDAY));
+    assertEquals(Long.MIN_VALUE, map.get(SUNDAY));
+    assertEquals(-1L, map.getOrDefault(SUNDAY, -1L));
+    assertEquals(7L, map.remove(MONDAY));
+    assertFalse(map.containsKey(MONDAY));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void put01() {
+    EnumToLongMap<DayOfWeek> map = new EnumToLongMap<>(DayOfWeek.class, 0L);
+    map.put(MONDAY, 0L);
+  }
+
+  @Test
+  public void equals00() {
+    EnumToLongMap<DayOfWeek> map1 = new EnumToLongMap<>(DayOfWeek.class, -1L);
+    EnumToLongMap<DayOfWeek> map2 = new EnumToLongMap<>(DayOfWeek.class, -2L);
+    map1.put(MONDAY, 3L);
+    map2.put(MONDAY, 3L);
+    assertEquals(map1, map2);
+    map2.putAll(map1);
+    assertEquals(map1, new EnumToLongMap<>(map2, -1L));
+  }
+
+  @Test
+  public void toGenericMap00() {
+    EnumToLongMap<DayOfWeek> map = new EnumToLongMap<>(DayOfWeek.class);
+    map.set(MONDAY, 3L).set(TUESDAY, 4L);
+    assertEquals(Map.of(MONDAY, 3L, TUESDAY, 4L), map.toGenericMap());
+    assertEquals(List.of(3L, 4L), map.values());
+  }
+
+  @Test
+  public void addAll00() {
+    EnumToLongMap<DayOfWeek> map1 = new EnumToLongMap<>(DayOfWeek.class);
+    EnumToLongMap<DayOfWeek> map2 = new EnumToLongMap<>(DayOfWeek.class, -1L);
+    map1.set(MONDAY, Integer.MAX_VALUE).set(TUESDAY, 3L);
+    map2.set(MONDAY, Integer.MAX_VALUE).set(SUNDAY, 4L);
+    map1.addAll(map2).subtract(map2);
+    assertEquals(3, map1.size());
+    assertEquals(Integer.MAX_VALUE, map1.get(MONDAY));
+    assertEquals(3L, map1.get(TUESDAY));
+    assertEquals(0L, map1.get(SUNDAY));
+  }
+
+  @Test
+  public void maxScale00() {
+    EnumToLongMap<DayOfWeek> map1 = new EnumToLongMap<>(DayOfWeek.class);
+    EnumToLongMap<DayOfWeek> map2 = new EnumToLongMap<>(DayOfWeek.class);
+    map1.set(MONDAY, 10L).set(TUESDAY, 3L);
+    map2.set(MONDAY, 1L).set(TUESDAY, 5L);
+    map1.max(map2).scale(1L << 33);
+    assertEquals(10L << 33, map1.get(MONDAY));
+    assertEquals(5L << 33, map1.get(TUESDAY));
+  }
+
+}
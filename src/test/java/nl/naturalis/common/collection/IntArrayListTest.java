@@ -5,12 +5,18 @@ import static nl.naturalis.common.util.ResizeMethod.ADD;
 import static nl.naturalis.common.util.ResizeMethod.PERCENTAGE;
 import static org.junit.Assert.*;
 
+import nl.naturalis.common.ArrayMethods;
 import nl.naturalis.common.util.MutableInt;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.OptionalInt;
+import java.util.Random;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
 
 public class IntArrayListTest {
 
@@ -345,4 +351,94 @@ public class IntArrayListTest {
     assertEquals(IntList.of(0, 1, 2, 3, 4, 5), list);
   }
 
+  @Test
+  public void sum00() {
+    IntList list = new IntArrayList();
+    assertEquals(0L, list.sum());
+    list.addAll(ints(Integer.MAX_VALUE, Integer.MAX_VALUE, 2));
+    assertEquals(2L * Integer.MAX_VALUE + 2, list.sum());
+  }
+
+  @Test
+  public void minMax00() {
+    IntList list = new IntArrayList();
+    assertEquals(OptionalInt.empty(), list.min());
+    assertEquals(OptionalInt.empty(), list.max());
+    list.addAll(ints(3, -7, 2, 5, 4, 1, 11, 0, 9, -2, 6, 8, 3, 3, 3, 3, 3, 3));
+    assertEquals(OptionalInt.of(-7), list.min());
+    assertEquals(OptionalInt.of(11), list.max());
+  }
+
+  @Test
+  public void count00() {
+    IntList list = new IntArrayList();
+    list.addAll(ints(3, -7, 2, 5, 4, 1, 11, 0, 9, -2, 6, 8, 3, 3, 3, 3, 3, 3));
+    assertEquals(7, list.count(3, 3));
+    assertEquals(11, list.count(0, 4));
+    assertEquals(0, list.count(12, 100));
+    assertEquals(18, list.count(Integer.MIN_VALUE, Integer.MAX_VALUE));
+  }
+
+  @Test
+  public void indexOf01() {
+    IntArrayList list = new IntArrayList(100);
+    for (int i = 0; i < 100; ++i) {
+      list.add(i % 37);
+    }
+    assertEquals(OptionalInt.of(36), list.indexOf(36));
+    assertEquals(OptionalInt.of(73), list.lastIndexOf(36));
+    assertEquals(OptionalInt.of(99), list.lastIndexOf(25));
+    assertEquals(OptionalInt.empty(), list.indexOf(37));
+    list.trim(74);
+    assertEquals(OptionalInt.of(62), list.lastIndexOf(25));
+  }
+
+  @Test
+  public void parallelSort00() {
+    IntList list = new IntArrayList();
+    list.addAll(ints(3, 0, Integer.MIN_VALUE, 2, 5, Integer.MAX_VALUE, 4, 1));
+    list.parallelSortDescending();
+    assertEquals(IntList.of(Integer.MAX_VALUE, 5, 4, 3, 2, 1, 0, Integer.MIN_VALUE),
+        list);
+    list.parallelSort();
+    assertEquals(IntList.of(Integer.MIN_VALUE, 0, 1, 2, 3, 4, 5, Integer.MAX_VALUE),
+        list);
+  }
+
+  @Test
+  public void parallelSort01() {
+    IntArrayList list = new IntArrayList(10_000);
+    new Random(13).ints(10_000).forEach(list::add);
+    list.trim(9_000);
+    int[] expected = list.toArray();
+    Arrays.sort(expected);
+    list.parallelSort();
+    assertArrayEquals(expected, list.toArray());
+    list.parallelSortDescending();
+    ArrayMethods.reverse(expected);
+    assertArrayEquals(expected, list.toArray());
+  }
+
+  @Test
+  public void parallelForEach00() {
+    IntArrayList list = new IntArrayList(10_000);
+    IntStream.range(0, 10_000).forEach(list::add);
+    list.trim(5_000);
+    LongAdder sum = new LongAdder();
+    list.parallelForEach(sum::add);
+    assertEquals(list.sum(), sum.sum());
+  }
+
+  @Test
+  public void spliterator00() {
+    IntArrayList list = new IntArrayList(100);
+    IntStream.range(0, 64).forEach(list::add);
+    Spliterator.OfInt s = list.spliterator();
+    assertTrue(s.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+    assertFalse(s.hasCharacteristics(Spliterator.IMMUTABLE));
+    assertEquals(64, s.estimateSize());
+    assertEquals(32, s.trySplit().estimateSize());
+    assertEquals(32, s.estimateSize());
+  }
+
 }
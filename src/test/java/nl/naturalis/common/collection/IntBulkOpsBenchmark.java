@@ -0,0 +1,110 @@
+package nl.naturalis.common.collection;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the loop-based and the Vector API-based implementations of the
+ * {@code IntList} bulk operations. Run from the command line after
+ * {@code mvn test-compile}:
+ *
+ * <blockquote><pre>{@code
+ * java -cp target/classes:target/test-classes:<jmh jars> \
+ *   nl.naturalis.common.collection.IntBulkOpsBenchmark
+ * }</pre></blockquote>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class IntBulkOpsBenchmark {
+
+  @Param({"16", "1024", "65536"})
+  public int size;
+
+  private final IntBulkOps scalar = new ScalarIntBulkOps();
+  private final IntBulkOps vector = new VectorIntBulkOps();
+
+  private int[] data;
+  private int absent;
+
+  @Setup
+  public void setup() {
+    data = new Random(42).ints(size, 0, 1_000_000).toArray();
+    absent = -1;
+  }
+
+  @Benchmark
+  public int indexOfScalar() {
+    return scalar.indexOf(data, 0, size, absent);
+  }
+
+  @Benchmark
+  public int indexOfVector() {
+    return vector.indexOf(data, 0, size, absent);
+  }
+
+  @Benchmark
+  public int lastIndexOfScalar() {
+    return scalar.lastIndexOf(data, 0, size, absent);
+  }
+
+  @Benchmark
+  public int lastIndexOfVector() {
+    return vector.lastIndexOf(data, 0, size, absent);
+  }
+
+  @Benchmark
+  public long sumScalar() {
+    return scalar.sum(data, 0, size);
+  }
+
+  @Benchmark
+  public long sumVector() {
+    return vector.sum(data, 0, size);
+  }
+
+  @Benchmark
+  public int minScalar() {
+    return scalar.min(data, 0, size);
+  }
+
+  @Benchmark
+  public int minVector() {
+    return vector.min(data, 0, size);
+  }
+
+  @Benchmark
+  public int maxScalar() {
+    return scalar.max(data, 0, size);
+  }
+
+  @Benchmark
+  public int maxVector() {
+    return vector.max(data, 0, size);
+  }
+
+  @Benchmark
+  public int countScalar() {
+    return scalar.count(data, 0, size, 250_000, 750_000);
+  }
+
+  @Benchmark
+  public int countVector() {
+    return vector.count(data, 0, size, 250_000, 750_000);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(IntBulkOpsBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+}
@@ -0,0 +1,48 @@
+package nl.naturalis.common.collection;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class IntBulkOpsTest {
+
+  private static final IntBulkOps SCALAR = new ScalarIntBulkOps();
+
+  @Test
+  public void compareWithScalar00() {
+    Random random = new Random(42);
+    for (int len = 1; len < 150; ++len) {
+      int[] array = random.ints(len, -50, 50).toArray();
+      for (int from = 0; from < Math.min(len, 9); ++from) {
+        compare(array, from, len, random.nextInt(100) - 50);
+      }
+    }
+  }
+
+  @Test
+  public void compareWithScalar01() {
+    int[] array = new Random(7).ints(10_000).toArray();
+    compare(array, 0, array.length, array[9_999]);
+    compare(array, 3, 9_997, array[5000]);
+  }
+
+  private static void compare(int[] array, int from, int to, int value) {
+    IntBulkOps ops = IntBulkOps.INSTANCE;
+    String msg = String.format("from=%d, to=%d, value=%d", from, to, value);
+    assertEquals(msg,
+        SCALAR.indexOf(array, from, to, value),
+        ops.indexOf(array, from, to, value));
+    assertEquals(msg,
+        SCALAR.lastIndexOf(array, from, to, value),
+        ops.lastIndexOf(array, from, to, value));
+    assertEquals(msg, SCALAR.sum(array, from, to), ops.sum(array, from, to));
+    assertEquals(msg, SCALAR.min(array, from, to), ops.min(array, from, to));
+    assertEquals(msg, SCALAR.max(array, from, to), ops.max(array, from, to));
+    assertEquals(msg,
+        SCALAR.count(array, from, to, value, value + 20),
+        ops.count(array, from, to, value, value + 20));
+  }
+
+}
@@ -4,6 +4,10 @@ import nl.naturalis.common.ClassMethods;
 import org.junit.Test;
 
 import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+
+import static java.util.Spliterator.*;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -29,4 +33,19 @@ public class IntListTest {
     assertEquals(ial, IntList.of(3, 5, 7, 9, 11));
   }
 
-}
\ No newline at end of file
+  @Test
+  public void spliterator00() {
+    IntList list = IntList.copyOf(IntStream.range(0, 100).boxed().toList());
+    Spliterator.OfInt s = list.spliterator();
+    assertTrue(s.hasCharacteristics(SIZED | SUBSIZED | IMMUTABLE | ORDERED));
+    assertEquals(100, s.estimateSize());
+    assertEquals(50, s.trySplit().estimateSize());
+    assertEquals(4950, list.stream().parallel().sum());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void parallelSort00() {
+    IntList.of(3, 2, 1).parallelSort();
+  }
+
+}
@@ -0,0 +1,126 @@
+package nl.naturalis.common.invoke;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading and writing bean properties through direct method calls,
+ * through {@code MethodHandle}-based getters and setters, and through compiled
+ * getters and setters. Run from the command line after {@code mvn test-compile}:
+ *
+ * <blockquote><pre>{@code
+ * java -cp target/classes:target/test-classes:<jmh jars> \
+ *   nl.naturalis.common.invoke.AccessorBenchmark
+ * }</pre></blockquote>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccessorBenchmark {
+
+  private final Person person = new Person();
+
+  private Getter mhStringGetter;
+  private Getter mhIntGetter;
+  private Getter compiledStringGetter;
+  private Getter compiledIntGetter;
+
+  private Setter mhStringSetter;
+  private Setter mhIntSetter;
+  private Setter compiledStringSetter;
+  private Setter compiledIntSetter;
+
+  private Integer intValue = 42;
+
+  @Setup
+  public void setup() {
+    person.setLastName("Smith");
+    person.setId(42);
+    var getters = GetterFactory.INSTANCE.getGetters(Person.class, true);
+    mhStringGetter = getters.get("lastName");
+    mhIntGetter = getters.get("id");
+    getters = GetterFactory.COMPILED.getGetters(Person.class, true);
+    compiledStringGetter = getters.get("lastName");
+    compiledIntGetter = getters.get("id");
+    var setters = SetterFactory.INSTANCE.getSetters(Person.class);
+    mhStringSetter = setters.get("lastName");
+    mhIntSetter = setters.get("id");
+    setters = SetterFactory.COMPILED.getSetters(Person.class);
+    compiledStringSetter = setters.get("lastName");
+    compiledIntSetter = setters.get("id");
+  }
+
+  @Benchmark
+  public Object readStringDirect() {
+    return person.getLastName();
+  }
+
+  @Benchmark
+  public Object readStringMethodHandle() throws Throwable {
+    return mhStringGetter.read(person);
+  }
+
+  @Benchmark
+  public Object readStringCompiled() throws Throwable {
+    return compiledStringGetter.read(person);
+  }
+
+  @Benchmark
+  public Object readIntDirect() {
+    return person.getId();
+  }
+
+  @Benchmark
+  public Object readIntMethodHandle() throws Throwable {
+    return mhIntGetter.read(person);
+  }
+
+  @Benchmark
+  public Object readIntCompiled() throws Throwable {
+    return compiledIntGetter.read(person);
+  }
+
+  @Benchmark
+  public void writeStringDirect() {
+    person.setLastName("Jones");
+  }
+
+  @Benchmark
+  public void writeStringMethodHandle() throws Throwable {
+    mhStringSetter.write(person, "Jones");
+  }
+
+  @Benchmark
+  public void writeStringCompiled() throws Throwable {
+    compiledStringSetter.write(person, "Jones");
+  }
+
+  @Benchmark
+  public void writeIntDirect() {
+    person.setId(intValue);
+  }
+
+  @Benchmark
+  public void writeIntMethodHandle() throws Throwable {
+    mhIntSetter.write(person, intValue);
+  }
+
+  @Benchmark
+  public void writeIntCompiled() throws Throwable {
+    compiledIntSetter.write(person, intValue);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(AccessorBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+}
@@ -0,0 +1,120 @@
+package nl.naturalis.common.invoke;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class AccessorTableTest {
+
+  public static class Tabled {
+    private int count;
+    private String label;
+
+    public int getCount() {return count;}
+
+    public void setCount(int count) {this.count = count;}
+
+    public String getLabel() {return label;}
+
+    public void setLabel(String label) {this.label = label;}
+
+    public String shout() {return label.toUpperCase();}
+  }
+
+  public static class TabledProvider implements AccessorTableProvider {
+    @Override
+    public List<AccessorTable<?>> getAccessorTables() {
+      return List.of(AccessorTable.of(Tabled.class)
+          .getter("count", int.class, Tabled::getCount)
+          .getter("label", String.class, Tabled::getLabel)
+          .setter("count", int.class, Tabled::setCount)
+          .setter("label", String.class, Tabled::setLabel)
+          .build());
+    }
+  }
+
+  @BeforeClass
+  public static void register() {
+    AccessorIndex.register(new TabledProvider());
+  }
+
+  @Test
+  public void getters00() throws Throwable {
+    assertTrue(AccessorIndex.contains(Tabled.class));
+    Map<String, Getter> getters = GetterFactory.INSTANCE.getGetters(Tabled.class, true);
+    assertEquals(Set.of("count", "label"), getters.keySet());
+    assertSame(getters, GetterFactory.COMPILED.getGetters(Tabled.class, true));
+    Tabled bean = new Tabled();
+    bean.setCount(7);
+    bean.setLabel("foo");
+    assertTrue(getters.get("count").isCompiled());
+    assertEquals(int.class, getters.get("count").getReturnType());
+    assertEquals(7, getters.get("count").read(bean));
+    assertEquals("foo", getters.get("label").read(bean));
+  }
+
+  @Test // Non-strict lookups still use reflection
+  public void getters01() {
+    Map<String, Getter> getters = GetterFactory.INSTANCE.getGetters(Tabled.class, false);
+    assertEquals(Set.of("count", "label", "shout"), getters.keySet());
+  }
+
+  @Test
+  public void setters00() throws Throwable {
+    Map<String, Setter> setters = SetterFactory.INSTANCE.getSetters(Tabled.class);
+    assertEquals(Set.of("count", "label"), setters.keySet());
+    Tabled bean = new Tabled();
+    setters.get("count").write(bean, 3);
+    assertEquals(3, bean.getCount());
+    // Widening conversion
+    setters.get("count").write(bean, (short) 4);
+    assertEquals(4, bean.getCount());
+    setters.get("label").write(bean, "bar");
+    assertEquals("bar", bean.getLabel());
+  }
+
+  @Test(expected = IllegalAssignmentException.class)
+  public void setters01() throws Throwable {
+    SetterFactory.INSTANCE.getSetters(Tabled.class).get("count").write(new Tabled(), "3");
+  }
+
+  @Test(expected = IllegalAssignmentException.class)
+  public void setters02() throws Throwable {
+    SetterFactory.INSTANCE.getSetters(Tabled.class).get("label").write(new Tabled(), 3);
+  }
+
+  @Test
+  public void beanWriter00() throws Throwable {
+    Tabled from = new Tabled();
+    from.setCount(5);
+    from.setLabel("baz");
+    Tabled to = new Tabled();
+    new BeanWriter<>(Tabled.class).copy(from, to);
+    assertEquals(5, to.getCount());
+    assertEquals("baz", to.getLabel());
+  }
+
+  @Test
+  public void readPlan00() {
+    Tabled bean = new Tabled();
+    bean.setCount(9);
+    bean.setLabel("qux");
+    ReadPlan<Tabled> plan = new BeanReader<>(Tabled.class).getReadPlan("count", "label");
+    assertArrayEquals(new Object[] {9, "qux"}, plan.read(bean));
+    ColumnBatch batch = plan.readColumns(List.of(bean, bean));
+    assertArrayEquals(new int[] {9, 9}, batch.getIntColumn(0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void duplicate00() {
+    AccessorTable.of(Tabled.class)
+        .getter("count", int.class, Tabled::getCount)
+        .getter("count", int.class, Tabled::getCount);
+  }
+
+}
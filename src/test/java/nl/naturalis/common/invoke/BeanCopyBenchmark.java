@@ -0,0 +1,88 @@
+package nl.naturalis.common.invoke;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link BeanWriter#copy(Object, Object)} with a hand-written copy
+ * method. Run from the command line after {@code mvn test-compile}:
+ *
+ * <blockquote><pre>{@code
+ * java -cp target/classes:target/test-classes:<jmh jars> \
+ *   nl.naturalis.common.invoke.BeanCopyBenchmark
+ * }</pre></blockquote>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanCopyBenchmark {
+
+  private final Person from = new Person();
+  private final Person to = new Person();
+
+  private final BeanWriter<Person> writer = new BeanWriter<>(Person.class,
+      "id",
+      "firstName",
+      "lastName",
+      "lastModified",
+      "hobbies",
+      "someInt",
+      "someDouble");
+
+  @Setup
+  public void setup() {
+    from.setId(42);
+    from.setFirstName("John");
+    from.setLastName("Smith");
+    from.setLastModified(LocalDate.of(2022, 3, 7));
+    from.setHobbies(List.of("Soccer", "Tennis"));
+    from.setSomeInt(7);
+    from.setSomeDouble(3.14);
+  }
+
+  @Benchmark
+  public Person copyByHand() {
+    to.setId(from.getId());
+    to.setFirstName(from.getFirstName());
+    to.setLastName(from.getLastName());
+    to.setLastModified(from.getLastModified());
+    to.setHobbies(from.getHobbies());
+    to.setSomeInt(from.getSomeInt());
+    to.setSomeDouble(from.getSomeDouble());
+    return to;
+  }
+
+  @Benchmark
+  public Person copyWithBeanWriter() throws Throwable {
+    writer.copy(from, to);
+    return to;
+  }
+
+  @Benchmark
+  public Person copyNonNullWithBeanWriter() throws Throwable {
+    writer.copyNonNull(from, to);
+    return to;
+  }
+
+  @Benchmark
+  public Person enrichWithBeanWriter() throws Throwable {
+    writer.enrich(from, to);
+    return to;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(BeanCopyBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+}
@@ -0,0 +1,112 @@
+package nl.naturalis.common.invoke;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link BeanDiff} with comparing and diffing beans through
+ * {@link BeanReader#read(Object, String)}. Run from the command line after
+ * {@code mvn test-compile}:
+ *
+ * <blockquote><pre>{@code
+ * java -cp target/classes:target/test-classes:<jmh jars> \
+ *   nl.naturalis.common.invoke.BeanDiffBenchmark
+ * }</pre></blockquote>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanDiffBenchmark {
+
+  private static final String[] PROPS = {"id",
+      "firstName",
+      "lastName",
+      "lastModified",
+      "hobbies",
+      "someInt",
+      "someDouble"};
+
+  private final Person bean0 = new Person();
+  private final Person bean1 = new Person();
+
+  private final BeanReader<Person> reader = new BeanReader<>(Person.class, PROPS);
+  private final BeanDiff<Person> diff = reader.getBeanDiff(PROPS);
+  private final int[] changed = new int[PROPS.length];
+
+  @Setup
+  public void setup() {
+    for (Person p : List.of(bean0, bean1)) {
+      p.setId(42);
+      p.setFirstName("John");
+      p.setLastName("Smith");
+      p.setLastModified(LocalDate.of(2022, 3, 7));
+      p.setHobbies(List.of("Soccer", "Tennis"));
+      p.setSomeInt(7);
+      p.setSomeDouble(3.14);
+    }
+    bean1.setSomeInt(8);
+  }
+
+  @Benchmark
+  public boolean equalsWithBeanReader() {
+    for (String prop : PROPS) {
+      if (!Objects.equals(reader.read(bean0, prop), reader.read(bean1, prop))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Benchmark
+  public boolean equalsWithBeanDiff() {
+    return diff.equals(bean0, bean1);
+  }
+
+  @Benchmark
+  public int hashCodeWithBeanReader() {
+    int hash = 1;
+    for (String prop : PROPS) {
+      hash = 31 * hash + Objects.hashCode(reader.read(bean0, prop));
+    }
+    return hash;
+  }
+
+  @Benchmark
+  public int hashCodeWithBeanDiff() {
+    return diff.hashCode(bean0);
+  }
+
+  @Benchmark
+  public List<String> diffWithBeanReader() {
+    List<String> changed = new ArrayList<>();
+    for (String prop : PROPS) {
+      if (!Objects.equals(reader.read(bean0, prop), reader.read(bean1, prop))) {
+        changed.add(prop);
+      }
+    }
+    return changed;
+  }
+
+  @Benchmark
+  public int diffWithBeanDiff() {
+    return diff.diff(bean0, bean1, changed);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(BeanDiffBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+}
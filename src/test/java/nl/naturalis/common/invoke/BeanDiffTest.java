@@ -0,0 +1,173 @@
+package nl.naturalis.common.invoke;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BeanDiffTest {
+
+  public static class Mixed {
+    private int count;
+    private long size;
+    private double weight;
+    private byte level;
+    private char grade;
+    private boolean flag;
+    private float ratio;
+    private String name;
+    private List<String> tags;
+
+    public int getCount() {return count;}
+
+    public void setCount(int count) {this.count = count;}
+
+    public long getSize() {return size;}
+
+    public void setSize(long size) {this.size = size;}
+
+    public double getWeight() {return weight;}
+
+    public void setWeight(double weight) {this.weight = weight;}
+
+    public byte getLevel() {return level;}
+
+    public void setLevel(byte level) {this.level = level;}
+
+    public char getGrade() {return grade;}
+
+    public void setGrade(char grade) {this.grade = grade;}
+
+    public boolean isFlag() {return flag;}
+
+    public void setFlag(boolean flag) {this.flag = flag;}
+
+    public float getRatio() {return ratio;}
+
+    public void setRatio(float ratio) {this.ratio = ratio;}
+
+    public String getName() {return name;}
+
+    public void setName(String name) {this.name = name;}
+
+    public List<String> getTags() {return tags;}
+
+    public void setTags(List<String> tags) {this.tags = tags;}
+  }
+
+  private static final String[] PROPS = {"count", "size", "weight", "level", "grade",
+      "flag", "ratio", "name", "tags"};
+
+  private static Mixed mixed() {
+    Mixed m = new Mixed();
+    m.setCount(1);
+    m.setSize(2L);
+    m.setWeight(3.5);
+    m.setLevel((byte) 4);
+    m.setGrade('x');
+    m.setFlag(true);
+    m.setRatio(6.5F);
+    m.setName("foo");
+    m.setTags(List.of("a", "b"));
+    return m;
+  }
+
+  private static BeanDiff<Mixed> beanDiff() {
+    return new BeanReader<Mixed>(Mixed.class).getBeanDiff(PROPS);
+  }
+
+  @Test
+  public void equals00() {
+    BeanDiff<Mixed> diff = beanDiff();
+    assertEquals(PROPS.length, diff.size());
+    assertTrue(diff.equals(mixed(), mixed()));
+    assertTrue(diff.equals(null, null));
+    assertFalse(diff.equals(mixed(), null));
+    assertFalse(diff.equals(null, mixed()));
+    Mixed m = mixed();
+    m.setGrade('y');
+    assertFalse(diff.equals(mixed(), m));
+  }
+
+  @Test // NaN equals NaN, 0.0 does not equal -0.0, like Double.equals
+  public void equals01() {
+    BeanDiff<Mixed> diff = beanDiff();
+    Mixed m0 = mixed();
+    Mixed m1 = mixed();
+    m0.setWeight(Double.NaN);
+    m1.setWeight(Double.NaN);
+    assertTrue(diff.equals(m0, m1));
+    m0.setWeight(0.0);
+    m1.setWeight(-0.0);
+    assertFalse(diff.equals(m0, m1));
+  }
+
+  @Test
+  public void hashCode00() {
+    BeanDiff<Mixed> diff = beanDiff();
+    Mixed m = mixed();
+    Object[] values = new BeanReader<Mixed>(Mixed.class).getReadPlan(PROPS).read(m);
+    assertEquals(Arrays.hashCode(values), diff.hashCode(m));
+    assertEquals(diff.hashCode(mixed()), diff.hashCode(m));
+    assertEquals(0, diff.hashCode(null));
+    m.setName(null);
+    m.setTags(null);
+    values = new BeanReader<Mixed>(Mixed.class).getReadPlan(PROPS).read(m);
+    assertEquals(Arrays.hashCode(values), diff.hashCode(m));
+  }
+
+  @Test
+  public void diff00() {
+    BeanDiff<Mixed> diff = beanDiff();
+    Mixed m0 = mixed();
+    Mixed m1 = mixed();
+    assertArrayEquals(new int[0], diff.diff(m0, m1));
+    m1.setSize(20L);
+    m1.setFlag(false);
+    m1.setTags(List.of("a"));
+    assertArrayEquals(new int[] {1, 5, 8}, diff.diff(m0, m1));
+  }
+
+  @Test
+  public void diff01() {
+    BeanDiff<Mixed> diff = beanDiff();
+    Mixed m0 = mixed();
+    Mixed m1 = mixed();
+    m1.setCount(10);
+    m1.setLevel((byte) 40);
+    m1.setRatio(1.0F);
+    m1.setName(null);
+    int[] changed = new int[diff.size()];
+    assertEquals(4, diff.diff(m0, m1, changed));
+    assertArrayEquals(new int[] {0, 3, 6, 7}, Arrays.copyOf(changed, 4));
+    // Reuse
+    assertEquals(0, diff.diff(m0, m0, changed));
+  }
+
+  @Test
+  public void getBeanDiff00() {
+    BeanDiff<Mixed> diff = new BeanReader<Mixed>(Mixed.class).getBeanDiff();
+    assertEquals(PROPS.length, diff.size());
+    assertEquals(Mixed.class, diff.getBeanClass());
+  }
+
+  @Test(expected = NoSuchPropertyException.class)
+  public void getBeanDiff01() {
+    new BeanReader<Mixed>(Mixed.class).getBeanDiff("count", "foo");
+  }
+
+  @Test(expected = InvokeException.class)
+  public void readError00() {
+    BeanDiff<Mixed> diff = new BeanReader<Mixed>(Mixed.class).getBeanDiff("tags");
+    Mixed m = new Mixed() {
+      @Override
+      public List<String> getTags() {
+        throw new IllegalStateException();
+      }
+    };
+    diff.hashCode(m);
+  }
+
+}
@@ -8,6 +8,7 @@ import java.util.Random;
 import java.util.Set;
 
 import static nl.naturalis.common.invoke.IncludeExclude.EXCLUDE;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 
@@ -88,4 +89,76 @@ public class BeanReaderTest {
     reader.read(new Person(), "firstName");
   }
 
+  @Test
+  public void readPlan00() {
+    Person p0 = new Person();
+    p0.setId(7);
+    p0.setFirstName("John");
+    p0.setLastName("Smith");
+    BeanReader<Person> reader = new BeanReader<>(Person.class);
+    ReadPlan<Person> plan = reader.getReadPlan("lastName", "id", "firstName");
+    assertEquals(3, plan.size());
+    assertEquals(List.of("lastName", "id", "firstName"), plan.getProperties());
+    assertEquals(1, plan.slotOf("id"));
+    assertEquals(-1, plan.slotOf("hobbies"));
+    assertEquals("Smith", plan.read(p0, 0));
+    assertEquals(7, (int) plan.read(p0, 1));
+    assertArrayEquals(new Object[] {"Smith", 7, "John"}, plan.read(p0));
+    Object[] row = new Object[4];
+    plan.readInto(p0, row);
+    assertArrayEquals(new Object[] {"Smith", 7, "John", null}, row);
+  }
+
+  @Test
+  public void readPlan01() {
+    Person p0 = new Person();
+    p0.setFirstName("John");
+    Person p1 = new Person();
+    p1.setFirstName("Mary");
+    BeanReader<Person> reader = new BeanReader<>(Person.class);
+    ReadPlan<Person> plan = reader.getReadPlan("firstName", "someInt");
+    Object[][] rows = plan.readAll(List.of(p0, p1));
+    assertEquals(2, rows.length);
+    assertArrayEquals(new Object[] {"John", 0}, rows[0]);
+    assertArrayEquals(new Object[] {"Mary", 0}, rows[1]);
+  }
+
+  @Test
+  public void readPlan02() {
+    BeanReader<Person> reader = new BeanReader<>(Person.class, "id", "lastName");
+    List<String> props = reader.getReadPlan().getProperties();
+    assertEquals(Set.of("id", "lastName"), Set.copyOf(props));
+  }
+
+  @Test(expected = NoSuchPropertyException.class)
+  public void readPlan03() {
+    BeanReader<Person> reader = new BeanReader<>(Person.class, EXCLUDE, "id");
+    reader.getReadPlan("lastName", "id");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void readPlan04() {
+    BeanReader<Person> reader = new BeanReader<>(Person.class);
+    reader.getReadPlan("lastName").read(new Person(), 1);
+  }
+
+  public record Point(int x, int y, String label) {}
+
+  @Test
+  public void record00() {
+    Point p = new Point(3, 4, "foo");
+    BeanReader<Point> reader = new BeanReader<>(Point.class);
+    assertEquals(Set.of("x", "y", "label"), reader.getReadableProperties());
+    assertEquals(3, (int) reader.read(p, "x"));
+    assertEquals(4, (int) reader.read(p, "y"));
+    assertEquals("foo", reader.read(p, "label"));
+  }
+
+  @Test
+  public void record01() {
+    Point p = new Point(3, 4, "foo");
+    AnyBeanReader reader = new AnyBeanReader();
+    assertEquals("foo", reader.read(p, "label"));
+  }
+
 }
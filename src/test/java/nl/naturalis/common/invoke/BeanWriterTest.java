@@ -304,6 +304,79 @@ public class BeanWriterTest {
     assertEquals('\0', person1.getSomeChar()); // Yes, that's EXCLUDE for you
   }
 
+  @Test
+  public void copy03() throws Throwable {
+    Person person0 = new Person();
+    person0.setId(100);
+    person0.setLastName("Smith");
+    person0.setSomeDouble(3.14);
+    Person person1 = new Person();
+    person1.setFirstName("Patrick");
+    // Goes through the conversion function rather than the composed copier
+    BeanWriter<Person> writer = BeanWriter.getTolerantWriter(Person.class);
+    writer.copy(person0, person1);
+    assertEquals(100, person1.getId());
+    assertEquals("Smith", person1.getLastName());
+    assertNull(person1.getFirstName());
+    assertEquals(3.14, person1.getSomeDouble(), 0);
+  }
+
+  @Test
+  public void tolerant00() throws Throwable {
+    Map<String, String> map = Map.of("id", "42",
+        "lastName", "Smith",
+        "someDouble", "2.5",
+        "someChar", "x",
+        "someShortWrapper", "7");
+    Person person = new Person();
+    BeanWriter<Person> writer = BeanWriter.getTolerantWriter(Person.class);
+    writer.copy(map, person);
+    assertEquals(42, person.getId());
+    assertEquals("Smith", person.getLastName());
+    assertEquals(2.5, person.getSomeDouble(), 0);
+    assertEquals('x', person.getSomeChar());
+    assertEquals(Short.valueOf((short) 7), person.getSomeShortWrapper());
+  }
+
+  @Test
+  public void tolerant01() throws Throwable {
+    // Different value types for the same property
+    Person person = new Person();
+    BeanWriter<Person> writer = BeanWriter.getTolerantWriter(Person.class);
+    writer.set(person, "id", "42");
+    assertEquals(42, person.getId());
+    writer.set(person, "id", 43L);
+    assertEquals(43, person.getId());
+    writer.set(person, "id", "44");
+    assertEquals(44, person.getId());
+    writer.set(person, "id", null);
+    assertEquals(0, person.getId());
+  }
+
+  @Test(expected = IllegalAssignmentException.class)
+  public void tolerant02() throws Throwable {
+    BeanWriter<Person> writer = BeanWriter.getTolerantWriter(Person.class);
+    writer.set(new Person(), "id", "foo");
+  }
+
+  @Test(expected = NoSuchPropertyException.class)
+  public void tolerant03() throws Throwable {
+    BeanWriter<Person> writer = BeanWriter.getTolerantWriter(Person.class, "id");
+    writer.set(new Person(), "lastName", "Smith");
+  }
+
+  @Test
+  public void copy04() throws Throwable {
+    WriteOnly bean0 = new WriteOnly();
+    bean0.setFoo("foo");
+    bean0.setBar("bar");
+    WriteOnly bean1 = new WriteOnly();
+    BeanWriter<WriteOnly> writer = new BeanWriter<>(WriteOnly.class);
+    writer.copy(bean0, bean1);
+    assertEquals("foo", bean1.getFoo());
+    assertNull(bean1.bar); // Not readable, so skipped
+  }
+
   @Test
   public void copyNonNull00() throws Throwable {
     Person person0 = new Person();
@@ -379,6 +452,25 @@ public class BeanWriterTest {
     assertEquals('A', person1.getSomeChar());
   }
 
+  @Test
+  public void copyNonNull02() throws Throwable {
+    Person person0 = new Person();
+    person0.setId(100);
+    person0.setSomeChar('B');
+    person0.setSomeDouble(2.5);
+    Person person1 = new Person();
+    person1.setId(80);
+    person1.setFirstName("Patrick");
+    person1.setSomeDoubleWrapper(7.0);
+    BeanWriter<Person> writer = new BeanWriter<>(Person.class);
+    writer.copyNonNull(person0, person1);
+    assertEquals(100, person1.getId());
+    assertEquals('B', person1.getSomeChar());
+    assertEquals(2.5, person1.getSomeDouble(), 0);
+    assertEquals("Patrick", person1.getFirstName());
+    assertEquals(Double.valueOf(7.0), person1.getSomeDoubleWrapper());
+  }
+
   @Test
   public void enrich00() throws Throwable {
     Person person0 = new Person();
@@ -570,4 +662,21 @@ public class BeanWriterTest {
     assertEquals('A', person1.getSomeChar());
   }
 
+  public static class WriteOnly {
+    private String foo;
+    private String bar;
+
+    public String getFoo() {
+      return foo;
+    }
+
+    public void setFoo(String foo) {
+      this.foo = foo;
+    }
+
+    public void setBar(String bar) {
+      this.bar = bar;
+    }
+  }
+
 }
@@ -0,0 +1,114 @@
+package nl.naturalis.common.invoke;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class GetterFactoryTest {
+
+  @Test
+  public void compiled00() throws Throwable {
+    Person person = new Person();
+    person.setId(42);
+    person.setLastName("Smith");
+    person.setLastModified(LocalDate.of(2022, 3, 7));
+    person.setSomeChar('a');
+    Map<String, Getter> getters = GetterFactory.COMPILED.getGetters(Person.class, true);
+    assertTrue(getters.get("id").isCompiled());
+    assertEquals(42, getters.get("id").read(person));
+    assertEquals("Smith", getters.get("lastName").read(person));
+    assertEquals(LocalDate.of(2022, 3, 7), getters.get("lastModified").read(person));
+    assertEquals('a', getters.get("someChar").read(person));
+    assertNull(getters.get("firstName").read(person));
+  }
+
+  @Test
+  public void compiled01() {
+    Map<String, Getter> getters = GetterFactory.INSTANCE.getGetters(Person.class, true);
+    assertFalse(getters.get("id").isCompiled());
+    assertNotSame(getters, GetterFactory.COMPILED.getGetters(Person.class, true));
+  }
+
+  @Test // Falls back on MethodHandle
+  public void compiled02() throws Throwable {
+    Map<String, Getter> getters = GetterFactory.COMPILED.getGetters(Hidden.class, true);
+    assertFalse(getters.get("foo").isCompiled());
+    assertEquals("bar", getters.get("foo").read(new Hidden()));
+  }
+
+  @Test
+  public void strict00() {
+    Map<String, Getter> strict = GetterFactory.INSTANCE.getGetters(Hidden.class, true);
+    Map<String, Getter> lenient = GetterFactory.INSTANCE.getGetters(Hidden.class, false);
+    assertEquals(Set.of("foo"), strict.keySet());
+    assertEquals(Set.of("foo", "bar"), lenient.keySet());
+  }
+
+  @Test
+  public void cacheStats00() {
+    CacheStats before = GetterFactory.COMPILED.getCacheStats();
+    GetterFactory.COMPILED.getGetters(StatsBean.class, true);
+    GetterFactory.COMPILED.getGetters(StatsBean.class, true);
+    GetterFactory.COMPILED.getGetters(StatsBean.class, false);
+    CacheStats after = GetterFactory.COMPILED.getCacheStats();
+    assertEquals(1, after.hits() - before.hits());
+    assertEquals(2, after.misses() - before.misses());
+    assertEquals(3, after.lookups() - before.lookups());
+    assertEquals(2, after.size() - before.size());
+  }
+
+  @Test
+  public void concurrent00() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Map<String, Getter>>> futures = new ArrayList<>();
+      for (int i = 0; i < 64; ++i) {
+        futures.add(executor.submit(() ->
+            GetterFactory.INSTANCE.getGetters(ConcurrentBean.class, true)));
+      }
+      Map<String, Getter> first = futures.get(0).get();
+      for (Future<Map<String, Getter>> f : futures) {
+        assertSame(first, f.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test(expected = NoPublicGettersException.class)
+  public void noGetters00() {
+    GetterFactory.INSTANCE.getGetters(Object.class, true);
+  }
+
+  static class Hidden {
+    public String getFoo() {
+      return "bar";
+    }
+
+    public String bar() {
+      return "foo";
+    }
+  }
+
+  public static class StatsBean {
+    public int getFoo() {
+      return 1;
+    }
+  }
+
+  public static class ConcurrentBean {
+    public int getFoo() {
+      return 1;
+    }
+  }
+
+}
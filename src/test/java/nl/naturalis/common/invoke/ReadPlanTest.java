@@ -0,0 +1,92 @@
+package nl.naturalis.common.invoke;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class ReadPlanTest {
+
+  private static Person person(int i) {
+    Person p = new Person();
+    p.setId(i);
+    p.setLastName("Name" + i);
+    p.setSomeLong(i * 10L);
+    p.setSomeDouble(i / 2D);
+    p.setSomeChar((char) ('a' + i % 26));
+    return p;
+  }
+
+  private static List<Person> persons(int count) {
+    return IntStream.range(0, count).mapToObj(ReadPlanTest::person).toList();
+  }
+
+  private static ReadPlan<Person> plan() {
+    return new BeanReader<>(Person.class).getReadPlan("id",
+        "lastName",
+        "someLong",
+        "someDouble",
+        "someChar");
+  }
+
+  @Test
+  public void readColumns00() {
+    ColumnBatch batch = plan().readColumns(persons(10));
+    assertEquals(10, batch.size());
+    assertEquals(5, batch.columnCount());
+    assertEquals(int.class, batch.getColumnType(0));
+    assertEquals(String.class, batch.getColumnType(1));
+    assertArrayEquals(new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, batch.getIntColumn(0));
+    assertEquals("Name7", batch.getObjectColumn(1)[7]);
+    assertEquals(90L, batch.getLongColumn(2)[9]);
+    assertEquals(1.5, batch.getDoubleColumn(3)[3], 0);
+    assertEquals('e', ((char[]) batch.getColumn(4))[4]);
+  }
+
+  @Test
+  public void readColumns01() {
+    List<Person> persons = persons(100_000);
+    ColumnBatch batch = plan().readColumns(persons, ForkJoinPool.commonPool());
+    assertEquals(100_000, batch.size());
+    int[] ids = batch.getIntColumn(0);
+    Object[] names = batch.getObjectColumn(1);
+    for (int i = 0; i < persons.size(); ++i) {
+      assertEquals(i, ids[i]);
+      assertEquals("Name" + i, names[i]);
+    }
+  }
+
+  @Test
+  public void readColumns02() {
+    List<ColumnBatch> batches = new ArrayList<>();
+    plan().readColumns(persons(25).stream(), 10, batches::add);
+    assertEquals(3, batches.size());
+    assertEquals(10, batches.get(0).size());
+    assertEquals(10, batches.get(1).size());
+    assertEquals(5, batches.get(2).size());
+    assertEquals(20, batches.get(2).getIntColumn(0)[0]);
+    assertEquals(24, batches.get(2).getIntColumn(0)[4]);
+  }
+
+  @Test
+  public void readColumns03() {
+    List<ColumnBatch> batches = new ArrayList<>();
+    plan().readColumns(persons(0).stream(), 10, batches::add);
+    assertTrue(batches.isEmpty());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void readColumns04() {
+    plan().readColumns(persons(1)).getLongColumn(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void readColumns05() {
+    plan().readColumns(persons(1)).getObjectColumn(0);
+  }
+
+}
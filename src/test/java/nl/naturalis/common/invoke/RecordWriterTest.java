@@ -0,0 +1,81 @@
+package nl.naturalis.common.invoke;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class RecordWriterTest {
+
+  public record Employee(int id, String name, double salary, List<String> skills) {}
+
+  public record Badge(int id, String name) {}
+
+  @Test
+  public void fromMap00() {
+    RecordWriter<Employee> writer = new RecordWriter<>(Employee.class);
+    Employee e = writer.fromMap(Map.of("id", 7,
+        "name", "John",
+        "salary", 1000D,
+        "skills", List.of("Java"),
+        "foo", "bar"));
+    assertEquals(new Employee(7, "John", 1000D, List.of("Java")), e);
+  }
+
+  @Test
+  public void fromMap01() {
+    RecordWriter<Employee> writer = new RecordWriter<>(Employee.class);
+    Map<String, Object> map = new HashMap<>();
+    map.put("name", "John");
+    map.put("salary", null);
+    // Missing and null values become type defaults
+    assertEquals(new Employee(0, "John", 0D, null), writer.fromMap(map));
+  }
+
+  @Test
+  public void fromMap02() {
+    RecordWriter<Employee> writer = new RecordWriter<>(Employee.class);
+    // short can be widened to int, int to double
+    Employee e = writer.fromMap(Map.of("id", (short) 7, "salary", 1000));
+    assertEquals(7, e.id());
+    assertEquals(1000D, e.salary(), 0);
+  }
+
+  @Test(expected = IllegalAssignmentException.class)
+  public void fromMap03() {
+    new RecordWriter<>(Employee.class).fromMap(Map.of("name", 42));
+  }
+
+  @Test(expected = IllegalAssignmentException.class)
+  public void fromMap04() {
+    new RecordWriter<>(Employee.class).fromMap(Map.of("id", 7L));
+  }
+
+  @Test
+  public void fromBean00() {
+    Person person = new Person();
+    person.setId(7);
+    person.setLastName("Smith");
+    RecordWriter<Badge> writer = new RecordWriter<>(Badge.class);
+    assertEquals(new Badge(7, null), writer.fromBean(person));
+    person.setId(8);
+    assertEquals(new Badge(8, null), writer.fromBean(person));
+  }
+
+  @Test
+  public void fromBean01() {
+    Employee e = new Employee(7, "John", 1000D, List.of());
+    RecordWriter<Badge> writer = new RecordWriter<>(Badge.class);
+    assertEquals(new Badge(7, "John"), writer.fromBean(e));
+  }
+
+  @Test
+  public void getComponentNames00() {
+    RecordWriter<Employee> writer = new RecordWriter<>(Employee.class);
+    assertEquals(List.of("id", "name", "salary", "skills"), writer.getComponentNames());
+  }
+
+}
@@ -0,0 +1,67 @@
+package nl.naturalis.common.invoke;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class SetterFactoryTest {
+
+  @Test
+  public void compiled00() throws Throwable {
+    Person person = new Person();
+    Map<String, Setter> setters = SetterFactory.COMPILED.getSetters(Person.class);
+    assertTrue(setters.get("id").isCompiled());
+    setters.get("id").write(person, 42);
+    setters.get("lastName").write(person, "Smith");
+    setters.get("someNumber").write(person, 7L);
+    assertEquals(42, person.getId());
+    assertEquals("Smith", person.getLastName());
+    assertEquals(7L, person.getSomeNumber());
+  }
+
+  @Test // Widening conversions are left to the MethodHandle
+  public void compiled01() throws Throwable {
+    Person person = new Person();
+    Map<String, Setter> setters = SetterFactory.COMPILED.getSetters(Person.class);
+    setters.get("someLong").write(person, (byte) 3);
+    setters.get("id").write(person, 'a');
+    assertEquals(3L, person.getSomeLong());
+    assertEquals(97, person.getId());
+  }
+
+  @Test(expected = IllegalAssignmentException.class)
+  public void compiled02() throws Throwable {
+    Map<String, Setter> setters = SetterFactory.COMPILED.getSetters(Person.class);
+    setters.get("lastName").write(new Person(), 42);
+  }
+
+  @Test(expected = IllegalAssignmentException.class)
+  public void compiled03() throws Throwable {
+    Map<String, Setter> setters = SetterFactory.COMPILED.getSetters(Person.class);
+    setters.get("id").write(new Person(), 6L);
+  }
+
+  @Test(expected = IllegalAssignmentException.class)
+  public void compiled04() throws Throwable {
+    Map<String, Setter> setters = SetterFactory.COMPILED.getSetters(Person.class);
+    setters.get("id").write(new Person(), null);
+  }
+
+  @Test
+  public void cacheStats00() {
+    CacheStats before = SetterFactory.INSTANCE.getCacheStats();
+    SetterFactory.INSTANCE.getSetters(StatsBean.class);
+    SetterFactory.INSTANCE.getSetters(StatsBean.class);
+    CacheStats after = SetterFactory.INSTANCE.getCacheStats();
+    assertEquals(1, after.hits() - before.hits());
+    assertEquals(1, after.misses() - before.misses());
+    assertEquals(1, after.size() - before.size());
+  }
+
+  public static class StatsBean {
+    public void setFoo(int foo) {}
+  }
+
+}
@@ -0,0 +1,53 @@
+package nl.naturalis.common.invoke;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link BeanWriter#copy(Map, Object)} for a tolerant writer and a map
+ * containing nothing but strings, as you would get when reading a CSV file. Run
+ * from the command line after {@code mvn test-compile}:
+ *
+ * <blockquote><pre>{@code
+ * java -cp target/classes:target/test-classes:<jmh jars> \
+ *   nl.naturalis.common.invoke.TolerantWriterBenchmark
+ * }</pre></blockquote>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TolerantWriterBenchmark {
+
+  private final Map<String, String> row = Map.of("id", "42",
+      "firstName", "John",
+      "lastName", "Smith",
+      "someInt", "7",
+      "someLong", "123456789",
+      "someDouble", "3.14",
+      "someChar", "x");
+
+  private final BeanWriter<Person> writer = BeanWriter.getTolerantWriter(Person.class);
+
+  private final Person person = new Person();
+
+  @Benchmark
+  public Person copyMap() throws Throwable {
+    writer.copy(row, person);
+    return person;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(TolerantWriterBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+}
@@ -0,0 +1,138 @@
+package nl.naturalis.common.path;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of creating, combining, hashing and comparing {@link Path}
+ * instances. Reports throughput and, through the GC profiler, the number of bytes
+ * allocated per operation ({@code gc.alloc.rate.norm}). Run from the command line
+ * after {@code mvn test-compile}:
+ *
+ * <blockquote><pre>{@code
+ * java -cp target/classes:target/test-classes:<jmh jars> \
+ *   nl.naturalis.common.path.PathBenchmark
+ * }</pre></blockquote>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathBenchmark {
+
+  private static final String PATH = "sections.books.3.attributes.isbn";
+  private static final String ESCAPED_PATH = "sections.books.3.attributes.isbn^.13";
+
+  // Not a compile-time constant, so JMH cannot fold the parsing away
+  private String pathString = PATH;
+  private String escapedPathString = ESCAPED_PATH;
+
+  private Path path;
+  private Path same;
+  private Path other;
+  private Path prefix;
+  private Path suffix;
+  private Map<Path, Object> map;
+
+  @Setup
+  public void setup() {
+    path = Path.from(PATH);
+    // Equal, but created from a different string
+    same = Path.of("sections", "books", "3", "attributes", "isbn");
+    other = Path.from("sections.books.3.attributes.issn");
+    prefix = Path.from("sections.books.3");
+    suffix = Path.from("attributes.isbn");
+    map = new HashMap<>();
+    for (int i = 0; i < 64; ++i) {
+      map.put(Path.from("sections.books." + i + ".attributes.isbn"), i);
+    }
+  }
+
+  @Benchmark
+  public Path from() {
+    return Path.from(pathString);
+  }
+
+  @Benchmark
+  public Path fromEscaped() {
+    return Path.from(escapedPathString);
+  }
+
+  @Benchmark
+  public Path intern() {
+    return Path.intern(pathString);
+  }
+
+  @Benchmark
+  public String fromAndSegment() {
+    return Path.from(pathString).segment(4);
+  }
+
+  @Benchmark
+  public Path ofSegments() {
+    return Path.of("sections", "books", "3", "attributes", "isbn");
+  }
+
+  @Benchmark
+  public Path appendPath() {
+    return prefix.append(suffix);
+  }
+
+  @Benchmark
+  public Path appendString() {
+    return prefix.append("attributes.isbn");
+  }
+
+  @Benchmark
+  public Path subpath() {
+    return path.subpath(1, 3);
+  }
+
+  @Benchmark
+  public Path parent() {
+    return path.parent();
+  }
+
+  @Benchmark
+  public String subpathToString() {
+    return path.subpath(1, 3).toString();
+  }
+
+  @Benchmark
+  public int hashCodeUncached() {
+    // A new view has not computed its hash code yet
+    return path.subpath(0).hashCode();
+  }
+
+  @Benchmark
+  public boolean equalsSame() {
+    return path.equals(same);
+  }
+
+  @Benchmark
+  public boolean equalsOther() {
+    return path.equals(other);
+  }
+
+  @Benchmark
+  public Object hashMapLookup() {
+    return map.get(Path.from(pathString));
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(PathBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .build()).run();
+  }
+
+}
@@ -3,6 +3,7 @@ package nl.naturalis.common.path;
 import org.junit.Test;
 
 import java.util.Iterator;
+import java.util.List;
 
 import static nl.naturalis.common.ArrayMethods.pack;
 import static org.junit.Assert.*;
@@ -327,4 +328,52 @@ public class PathTest {
     assertEquals(7, p.size());
   }
 
+  @Test
+  public void compact00() {
+    Path p = Path.from("a.b.c.d");
+    assertEquals(Path.of("a", "b", "c", "d"), p);
+    assertEquals(Path.of("a", "b", "c", "d").hashCode(), p.hashCode());
+    assertEquals("b.c", p.subpath(1, 2).toString());
+    assertEquals("c.d", p.shift().shift().toString());
+    assertEquals("b.c", p.shift().parent().toString());
+    assertEquals(Path.of("b", "c"), p.shift().parent());
+    assertEquals(Path.of("b", "c").hashCode(), p.shift().parent().hashCode());
+    assertEquals(Path.from("b.c"), p.shift().parent());
+    assertEquals("d", p.shift().shift().shift().segment(0));
+    assertEquals("c", p.shift().parent().segment(-1));
+    assertEquals(0, p.subpath(1, 2).compareTo(Path.from("b.c")));
+  }
+
+  @Test
+  public void compact01() {
+    Path p = Path.from("a..b.");
+    assertEquals(4, p.size());
+    assertEquals(Path.of("a", "", "b", ""), p);
+    assertEquals(Path.of("", "b"), p.subpath(1, 2));
+    assertEquals(".b", p.subpath(1, 2).toString());
+    assertNotEquals(Path.from("a.b"), Path.from("a.bb"));
+    assertNotEquals(Path.from("ab.c"), Path.from("a.bc"));
+  }
+
+  @Test
+  public void compact02() {
+    Path p = Path.from("a.x^.y.^0.b");
+    assertEquals(Path.of("x.y", null, "b"), p.shift());
+    assertEquals("x^.y.^0", p.shift().parent().toString());
+    assertEquals(List.of("a", "x.y"), p.parent().parent().stream().toList());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void compact03() {
+    Path.from("a.b.c").shift().segment(2);
+  }
+
+  @Test
+  public void intern00() {
+    Path p = Path.intern("a.b.c");
+    assertSame(p, Path.intern("a.b.c"));
+    assertEquals(Path.from("a.b.c"), p);
+    assertSame(Path.empty(), Path.intern(""));
+  }
+
 }
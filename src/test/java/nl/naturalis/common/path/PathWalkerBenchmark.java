@@ -0,0 +1,195 @@
+package nl.naturalis.common.path;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading, writing and streaming values with a non-compiled and a
+ * compiled {@link PathWalker}. The host object is a bean containing a map of
+ * lists of beans, which in turn contain a primitive array and a map. Reports
+ * throughput and, through the GC profiler, the number of bytes allocated per
+ * operation ({@code gc.alloc.rate.norm}). Run from the command line after
+ * {@code mvn test-compile}:
+ *
+ * <blockquote><pre>{@code
+ * java -cp target/classes:target/test-classes:<jmh jars> \
+ *   nl.naturalis.common.path.PathWalkerBenchmark
+ * }</pre></blockquote>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathWalkerBenchmark {
+
+  private static final String[] SECTIONS = {"books", "music", "games", "films"};
+
+  public static class Catalog {
+
+    private String name;
+    private Map<String, List<Item>> sections;
+
+    public String getName() {return name;}
+
+    public void setName(String name) {this.name = name;}
+
+    public Map<String, List<Item>> getSections() {return sections;}
+
+    public void setSections(Map<String, List<Item>> sections) {this.sections = sections;}
+
+  }
+
+  public static class Item {
+
+    private String title;
+    private double price;
+    private int[] stock;
+    private Map<String, Object> attributes;
+
+    public String getTitle() {return title;}
+
+    public void setTitle(String title) {this.title = title;}
+
+    public double getPrice() {return price;}
+
+    public void setPrice(double price) {this.price = price;}
+
+    public int[] getStock() {return stock;}
+
+    public void setStock(int[] stock) {this.stock = stock;}
+
+    public Map<String, Object> getAttributes() {return attributes;}
+
+    public void setAttributes(Map<String, Object> attributes) {this.attributes = attributes;}
+
+  }
+
+  private Catalog catalog;
+
+  // A single deep path, ending in a map key
+  private PathWalker single;
+  private PathWalker singleCompiled;
+
+  // 41 paths into beans, maps, lists and primitive arrays
+  private PathWalker walker;
+  private PathWalker compiled;
+  private Object[] output;
+  private Object[] values;
+
+  // The titles of all items in all sections
+  private PathWalker wildcard;
+  private PathWalker wildcardCompiled;
+
+  @Setup
+  public void setup() {
+    catalog = new Catalog();
+    catalog.setName("Catalog");
+    catalog.setSections(new LinkedHashMap<>());
+    for (String section : SECTIONS) {
+      List<Item> items = new ArrayList<>();
+      for (int i = 0; i < 10; ++i) {
+        Item item = new Item();
+        item.setTitle(section + i);
+        item.setPrice(9.95 + i);
+        item.setStock(new int[] {i, i + 1, i + 2});
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("isbn", "978-" + i);
+        attributes.put("publisher", "Publisher " + i);
+        item.setAttributes(attributes);
+        items.add(item);
+      }
+      catalog.getSections().put(section, items);
+    }
+    single = new PathWalker("sections.books.3.attributes.isbn");
+    singleCompiled = single.compiled();
+    List<Path> paths = new ArrayList<>();
+    List<Object> vals = new ArrayList<>();
+    paths.add(Path.from("name"));
+    vals.add("Catalog");
+    for (String section : SECTIONS) {
+      for (int i = 0; i < 2; ++i) {
+        Path item = Path.of("sections", section, String.valueOf(i));
+        Item value = catalog.getSections().get(section).get(i);
+        paths.add(item.append("title"));
+        vals.add(value.getTitle());
+        paths.add(item.append("price"));
+        vals.add(value.getPrice());
+        paths.add(item.append("stock.1"));
+        vals.add(value.getStock()[1]);
+        paths.add(item.append("attributes.isbn"));
+        vals.add(value.getAttributes().get("isbn"));
+        paths.add(item.append("attributes.publisher"));
+        vals.add(value.getAttributes().get("publisher"));
+      }
+    }
+    walker = new PathWalker(paths);
+    compiled = walker.compiled();
+    output = new Object[paths.size()];
+    // Writing back the values that are already there keeps the graph intact
+    values = vals.toArray();
+    wildcard = new PathWalker("sections.*.*.title");
+    wildcardCompiled = wildcard.compiled();
+  }
+
+  @Benchmark
+  public Object read() {
+    return single.read(catalog);
+  }
+
+  @Benchmark
+  public Object readCompiled() {
+    return singleCompiled.read(catalog);
+  }
+
+  @Benchmark
+  public Object[] readValues() {
+    walker.readValues(catalog, output);
+    return output;
+  }
+
+  @Benchmark
+  public Object[] readValuesCompiled() {
+    compiled.readValues(catalog, output);
+    return output;
+  }
+
+  @Benchmark
+  public int writeValues() {
+    return walker.writeValues(catalog, values);
+  }
+
+  @Benchmark
+  public int writeValuesCompiled() {
+    return compiled.writeValues(catalog, values);
+  }
+
+  @Benchmark
+  public long stream() {
+    return wildcard.stream(catalog).count();
+  }
+
+  @Benchmark
+  public long streamCompiled() {
+    return wildcardCompiled.stream(catalog).count();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(PathWalkerBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .build()).run();
+  }
+
+}
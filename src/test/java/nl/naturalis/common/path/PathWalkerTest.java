@@ -6,7 +6,9 @@ import java.math.BigDecimal;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static nl.naturalis.common.CollectionMethods.newHashMap;
 import static nl.naturalis.common.path.ErrorCode.INDEX_OUT_OF_BOUNDS;
@@ -330,4 +332,496 @@ public class PathWalkerTest {
     assertEquals(300, mapOut.get(Path.from("c")));
   }
 
+  private static final String[] SHELL_PATHS = {"",
+      "name",
+      "sales",
+      "quarterlySales.1",
+      "quarterlySales.10",
+      "quarterlySales.10.foo",
+      "quarterlySales.0.3",
+      "quarterlySales.foo",
+      "departments.1.reactiveBingoDates.0.0",
+      "departments.1.hipsterFriendly",
+      "departments.0.hipsterFriendly",
+      "departments.0.employees.0.twitter",
+      "departments.0.employees.0.twitter.host",
+      "departments.0.employees.0.extraInfo.https://nos^.nl",
+      "departments.0.employees.0.extraInfo.^0",
+      "departments.0.employees.0.extraInfo.deep stuff.e=mc2",
+      "departments.0.employees.1.extraInfo.numberOfPets",
+      "departments.0.employees.1.extraInfo.numberOfPets.foo",
+      "departments.0.telNos.0",
+      "departments.1.telNos.0.foo",
+      "departments.0.foo",
+      "departments.2",
+      "departments.bar",
+      "name.foo",
+      "profit.foo"};
+
+  @Test // Compiled and non-compiled PathWalkers must agree
+  public void compiled00() throws MalformedURLException {
+    Company shell = shell();
+    PathWalker pw = new PathWalker(paths(SHELL_PATHS), true);
+    PathWalker compiled = pw.compiled();
+    assertTrue(compiled.isCompiled());
+    assertFalse(pw.isCompiled());
+    assertSame(compiled, compiled.compiled());
+    Object[] expected = pw.readValues(shell);
+    for (int i = 0; i < 3; ++i) {
+      assertArrayEquals(expected, compiled.readValues(shell));
+    }
+  }
+
+  @Test // Same error codes
+  public void compiled01() throws MalformedURLException {
+    Company shell = shell();
+    for (String path : SHELL_PATHS) {
+      PathWalker pw = new PathWalker(paths(path), false);
+      ErrorCode expected = null;
+      try {
+        pw.read(shell);
+      } catch (PathWalkerException e) {
+        expected = e.getErrorCode();
+      }
+      PathWalker compiled = pw.compiled();
+      for (int i = 0; i < 2; ++i) {
+        ErrorCode actual = null;
+        try {
+          compiled.read(shell);
+        } catch (PathWalkerException e) {
+          actual = e.getErrorCode();
+        }
+        assertEquals(path, expected, actual);
+      }
+    }
+  }
+
+  @Test // Different types of objects at the same position in the path
+  public void compiled02() throws MalformedURLException {
+    PathWalker pw = new PathWalker("name", "0", "address.city").compiled();
+    Department dept = new Department();
+    dept.setName("Sales");
+    dept.setAddress(new Address("Koeienstraat", 5, "1111AA", "Rotterdam"));
+    Map<String, Object> map = Map.of("name", "Marketing",
+        "address", Map.of("city", "Amsterdam"));
+    List<Object> list = List.of("foo");
+    for (int i = 0; i < 3; ++i) {
+      assertArrayEquals(new Object[] {"Sales", null, "Rotterdam"}, pw.readValues(dept));
+      assertArrayEquals(new Object[] {"Marketing", null, "Amsterdam"},
+          pw.readValues(map));
+      assertArrayEquals(new Object[] {null, "foo", null}, pw.readValues(list));
+    }
+  }
+
+  @Test
+  public void compiled03() throws MalformedURLException {
+    Company shell = shell();
+    List<Path> paths = paths("departments.0.employees.0.extraInfo.https://nos^.nl");
+    PathWalker pw = new PathWalker(paths, true, (p, s) -> {
+      try {
+        return new URL(p.segment(-1));
+      } catch (MalformedURLException e) {
+        throw new KeyDeserializationException();
+      }
+    }).compiled();
+    assertEquals("OkiDoki", pw.read(shell));
+    assertEquals("OkiDoki", pw.read(shell));
+  }
+
+  @Test
+  public void compiled04() throws MalformedURLException {
+    PathWalker pw = new PathWalker(Path.from("a"), Path.from("b")).compiled();
+    Map<Path, Object> out = new HashMap<>();
+    pw.readValues(Map.of("a", 1), out);
+    assertEquals(1, out.get(Path.from("a")));
+    assertTrue(out.containsKey(Path.from("b")));
+    assertNull(out.get(Path.from("b")));
+  }
+
+  @Test // Shared prefixes are read just once
+  public void trie00() {
+    int[] reads = new int[1];
+    Map<String, Object> host = new HashMap<>() {
+      @Override
+      public Object get(Object key) {
+        ++reads[0];
+        return super.get(key);
+      }
+    };
+    host.put("a", Map.of("b", Map.of("x", 1, "y", 2, "z", 3)));
+    PathWalker pw = new PathWalker("a.b.x", "a.b.y", "a.b.z", "a.b.q").compiled();
+    assertArrayEquals(new Object[] {1, 2, 3, null}, pw.readValues(host));
+    assertEquals(1, reads[0]);
+  }
+
+  @Test // Duplicate paths, the empty path, and paths that are prefixes of others
+  public void trie01() {
+    Map<String, Object> host = Map.of("a", Map.of("b", "foo"));
+    PathWalker pw = new PathWalker(Path.from("a.b"),
+        Path.empty(),
+        Path.from("a"),
+        Path.from("a.b"),
+        Path.from("a.b.c")).compiled();
+    assertArrayEquals(new Object[] {"foo", host, host.get("a"), "foo", null},
+        pw.readValues(host));
+  }
+
+  @Test // Same exception as non-compiled PathWalker: that of the first failing path
+  public void trie02() throws MalformedURLException {
+    Company shell = shell();
+    List<Path> paths = paths("departments.0.foo",
+        "departments.10.name",
+        "departments.0.bar");
+    PathWalker pw = new PathWalker(paths, false);
+    PathWalkerException expected = null;
+    try {
+      pw.readValues(shell);
+    } catch (PathWalkerException e) {
+      expected = e;
+    }
+    assertNotNull(expected);
+    try {
+      pw.compiled().readValues(shell);
+      fail();
+    } catch (PathWalkerException e) {
+      assertEquals(expected.getErrorCode(), e.getErrorCode());
+      assertEquals(expected.getMessage(), e.getMessage());
+    }
+  }
+
+  private static List<Map<String, Object>> hosts(int count) {
+    List<Map<String, Object>> hosts = new ArrayList<>(count);
+    for (int i = 0; i < count; ++i) {
+      hosts.add(Map.of("id", i, "address", Map.of("street", "street" + i)));
+    }
+    return hosts;
+  }
+
+  @Test
+  public void batch00() {
+    List<Map<String, Object>> hosts = hosts(10);
+    for (PathWalker pw : List.of(new PathWalker("id", "address.street", "foo"),
+        new PathWalker("id", "address.street", "foo").compiled())) {
+      Object[][] output = new Object[10][];
+      output[3] = new Object[5];
+      pw.readValues(hosts, output);
+      for (int i = 0; i < 10; ++i) {
+        assertEquals(i, output[i][0]);
+        assertEquals("street" + i, output[i][1]);
+        assertNull(output[i][2]);
+      }
+      assertEquals(5, output[3].length);
+    }
+  }
+
+  @Test
+  public void batch01() {
+    List<Map<String, Object>> hosts = hosts(1000);
+    PathWalker pw = new PathWalker("id", "address.street").compiled();
+    Object[][] output = new Object[1000][];
+    pw.readValues(hosts, output, ForkJoinPool.commonPool(), 7);
+    for (int i = 0; i < 1000; ++i) {
+      assertArrayEquals(new Object[] {i, "street" + i}, output[i]);
+    }
+  }
+
+  @Test
+  public void batch02() {
+    List<Map<String, Object>> hosts = hosts(100);
+    PathWalker pw = new PathWalker("id", "address.street");
+    Object[][] columns = new Object[][] {new Object[100], new String[100]};
+    pw.readColumns(hosts, columns);
+    Object[][] parallel = new Object[][] {new Object[100], new String[100]};
+    pw.compiled().readColumns(hosts, parallel, ForkJoinPool.commonPool(), 10);
+    for (int i = 0; i < 100; ++i) {
+      assertEquals(i, columns[0][i]);
+      assertEquals("street" + i, columns[1][i]);
+    }
+    assertArrayEquals(columns, parallel);
+  }
+
+  @Test
+  public void batch03() {
+    List<Map<String, Object>> hosts = hosts(10);
+    PathWalker pw = new PathWalker("id").compiled();
+    Object[][] buffer = new Object[4][];
+    List<Object> ids = new ArrayList<>();
+    List<Integer> sizes = new ArrayList<>();
+    int total = pw.readValues(hosts.stream(), buffer, (rows, size) -> {
+      sizes.add(size);
+      for (int i = 0; i < size; ++i) {
+        ids.add(rows[i][0]);
+      }
+    });
+    assertEquals(10, total);
+    assertEquals(List.of(4, 4, 2), sizes);
+    assertEquals(hosts.stream().map(m -> m.get("id")).collect(Collectors.toList()), ids);
+  }
+
+  @Test
+  public void batch04() {
+    List<Map<String, Object>> hosts = hosts(100);
+    PathWalker pw = new PathWalker(paths("id", "address.foo"), false).compiled();
+    try {
+      pw.readValues(hosts, new Object[100][], ForkJoinPool.commonPool(), 10);
+      fail();
+    } catch (PathWalkerException e) {
+      assertEquals(NO_SUCH_KEY, e.getErrorCode());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void batch05() {
+    new PathWalker("id").readValues(hosts(10), new Object[9][]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void batch06() {
+    new PathWalker("id", "foo").readColumns(hosts(10), new Object[][] {new Object[10]});
+  }
+
+  private static Map<String, Object> orders() {
+    return Map.of("orders", List.of(
+        Map.of("lines", List.of(Map.of("price", 1), Map.of("price", 2))),
+        Map.of("lines", new Object[] {Map.of("price", 3)}),
+        Map.of("lines", List.of()),
+        Map.of("foo", "bar"),
+        Map.of("lines", List.of(Map.of("price", 4), Map.of("foo", 5), Map.of("price", 6)))));
+  }
+
+  private static List<Object> toList(Stream<Object> stream) {
+    return stream.collect(Collectors.toList());
+  }
+
+  @Test
+  public void stream00() {
+    PathWalker pw = new PathWalker("orders.*.lines.*.price");
+    assertEquals(List.of(1, 2, 3, 4, 6), toList(pw.stream(orders())));
+    assertEquals(List.of(1, 2, 3, 4, 6), toList(pw.compiled().stream(orders())));
+  }
+
+  @Test
+  public void stream01() {
+    PathWalker pw = new PathWalker("orders.1:.lines.0.price", "orders.0.lines.:1.price");
+    assertEquals(List.of(3, 4, 1), toList(pw.stream(orders())));
+    pw = new PathWalker("orders.:2.lines.1:2.price");
+    assertEquals(List.of(2), toList(pw.stream(orders())));
+    pw = new PathWalker("orders.4.lines.99999999999:.price");
+    assertEquals(List.of(), toList(pw.stream(orders())));
+  }
+
+  @Test // No wildcards
+  public void stream02() throws MalformedURLException {
+    PathWalker pw = new PathWalker("departments.0.name", "departments.0.foo", "");
+    Company shell = shell();
+    assertEquals(List.of("H&R", shell), toList(pw.stream(shell)));
+  }
+
+  @Test // Wildcards on beans, maps and primitive arrays
+  public void stream03() throws MalformedURLException {
+    Company shell = shell();
+    PathWalker pw = new PathWalker("departments.0.employees.*.birthDate.*");
+    assertEquals(List.of(1972, 1, 1, 1972, 2, 2), toList(pw.stream(shell)));
+    pw = new PathWalker("departments.0.employees.1.extraInfo.*");
+    assertEquals(5, toList(pw.stream(shell)).size());
+    pw = new PathWalker("departments.0.address.*");
+    assertEquals(Set.of("Koeienstraat", 5, "1111AA", "Rotterdam"),
+        new HashSet<>(toList(pw.stream(shell))));
+  }
+
+  @Test // Lazy: never materializes the (huge) list
+  public void stream04() {
+    class Huge extends AbstractList<Object> implements RandomAccess {
+      int reads;
+
+      @Override
+      public Object get(int index) {
+        ++reads;
+        return Map.of("id", index);
+      }
+
+      @Override
+      public int size() {
+        return Integer.MAX_VALUE;
+      }
+    }
+    Huge huge = new Huge();
+    PathWalker pw = new PathWalker("*.id");
+    assertEquals(List.of(0, 1, 2), pw.stream(huge).limit(3).collect(Collectors.toList()));
+    assertEquals(3, huge.reads);
+  }
+
+  @Test
+  public void stream05() {
+    PathWalker pw = new PathWalker(paths("orders.*.lines.*.price"), false);
+    try {
+      toList(pw.stream(orders()));
+      fail();
+    } catch (PathWalkerException e) {
+      assertEquals(NO_SUCH_KEY, e.getErrorCode());
+    }
+    pw = new PathWalker(paths("orders.0.1:"), false);
+    try {
+      toList(pw.stream(orders()));
+      fail();
+    } catch (PathWalkerException e) {
+      assertEquals(INDEX_EXPECTED, e.getErrorCode());
+    }
+  }
+
+  @Test // Wildcards and slices are taken literally when reading
+  public void stream06() {
+    Map<String, Object> map = Map.of("*", 1, "1:2", 2);
+    assertEquals(List.of(1, 2), Arrays.asList(new PathWalker("*", "1:2").readValues(map)));
+    assertTrue(Path.from("a.*").hasWildcards());
+    assertTrue(Path.from("a.:3").hasWildcards());
+    assertFalse(Path.from("a.b:c").hasWildcards());
+  }
+
+  @Test // Keys are deserialized once, when the PathWalker is created
+  public void keys00() {
+    int[] calls = new int[1];
+    KeyDeserializer kd = (p, i) -> {
+      ++calls[0];
+      return Integer.valueOf(p.segment(i));
+    };
+    Map<Integer, Object> host = Map.of(1, Map.of(2, "foo"), 3, List.of("bar"));
+    PathWalker pw = new PathWalker(paths("1.2", "3.0"), false, kd);
+    assertEquals(4, calls[0]);
+    for (PathWalker walker : List.of(pw, pw.compiled())) {
+      for (int i = 0; i < 3; ++i) {
+        assertArrayEquals(new Object[] {"foo", "bar"}, walker.readValues(host));
+      }
+    }
+    assertEquals(4, calls[0]);
+  }
+
+  @Test // Deserialization errors only surface if the segment is used as a map key
+  public void keys01() throws MalformedURLException {
+    KeyDeserializer kd = (p, i) -> {
+      if (p.segment(i).equals("name")) {
+        throw new IllegalStateException();
+      }
+      throw new KeyDeserializationException();
+    };
+    Company shell = shell();
+    PathWalker pw = new PathWalker(paths("name", "departments.0.name"), false, kd);
+    assertArrayEquals(new Object[] {"Shell", "H&R"}, pw.readValues(shell));
+    assertArrayEquals(new Object[] {"Shell", "H&R"}, pw.compiled().readValues(shell));
+    pw = new PathWalker(paths("departments.0.employees.0.extraInfo.hobbies"), false, kd);
+    for (PathWalker walker : List.of(pw, pw.compiled())) {
+      try {
+        walker.read(shell);
+        fail();
+      } catch (PathWalkerException e) {
+        assertEquals(KEY_DESERIALIZATION_FAILED, e.getErrorCode());
+      }
+    }
+    pw = new PathWalker(paths("departments.0.employees.0.extraInfo.name"), false, kd);
+    try {
+      pw.read(shell);
+      fail();
+    } catch (IllegalStateException e) {
+      // Fatal errors are rethrown as-is
+    }
+  }
+
+  private static final String[] WRITE_PATHS = {"name",
+      "departments.0.name",
+      "departments.1.name",
+      "departments.0.employees.0.firstName",
+      "departments.0.employees.1.lastName",
+      "departments.0.employees.0.extraInfo.hobbies",
+      "departments.0.employees.0.extraInfo.^0",
+      "departments.0.telNos.0",
+      "departments.0.employees.0.birthDate.1",
+      "departments.5.name",
+      "departments.0.foo",
+      "departments.0.employees.0.birthDate.7"};
+
+  private static final Object[] WRITE_VALUES = {"Foo",
+      "Bar",
+      "Bozo",
+      "John",
+      "Smith",
+      List.of("judo"),
+      "nothing",
+      "555-1234",
+      12,
+      "Nope",
+      "Nope",
+      7};
+
+  @Test // Compiled and non-compiled writes must have the same effect
+  public void compiledWrite00() throws MalformedURLException {
+    PathWalker pw = new PathWalker(paths(WRITE_PATHS), true);
+    Company expected = shell();
+    int x = pw.writeValues(expected, WRITE_VALUES);
+    PathWalker compiled = pw.compiled();
+    for (int i = 0; i < 3; ++i) {
+      Company actual = shell();
+      assertEquals(x, compiled.writeValues(actual, WRITE_VALUES));
+      assertArrayEquals(pw.readValues(expected), pw.readValues(actual));
+    }
+    assertEquals(9, x);
+  }
+
+  @Test // Same error codes
+  public void compiledWrite01() throws MalformedURLException {
+    for (int i = 0; i < WRITE_PATHS.length; ++i) {
+      PathWalker pw = new PathWalker(paths(WRITE_PATHS[i]), false);
+      ErrorCode expected = null;
+      try {
+        pw.write(shell(), WRITE_VALUES[i]);
+      } catch (PathWalkerException e) {
+        expected = e.getErrorCode();
+      }
+      ErrorCode actual = null;
+      try {
+        pw.compiled().writeValues(shell(), WRITE_VALUES[i]);
+      } catch (PathWalkerException e) {
+        actual = e.getErrorCode();
+      }
+      assertEquals(WRITE_PATHS[i], expected, actual);
+    }
+  }
+
+  @Test // A path that is the parent of another path is written first
+  public void compiledWrite02() {
+    PathWalker pw = new PathWalker("a", "a.b", "c.d").compiled();
+    Map<String, Object> host = new HashMap<>();
+    Map<String, Object> a = new HashMap<>();
+    host.put("c", new HashMap<>());
+    assertEquals(3, pw.writeValues(host, a, 1, 2));
+    assertSame(a, host.get("a"));
+    assertEquals(Map.of("b", 1), a);
+    assertEquals(Map.of("d", 2), host.get("c"));
+  }
+
+  @Test // Shared parents are read just once
+  public void compiledWrite03() {
+    int[] reads = new int[1];
+    Map<String, Object> host = new HashMap<>() {
+      @Override
+      public Object get(Object key) {
+        ++reads[0];
+        return super.get(key);
+      }
+    };
+    Map<String, Object> b = new HashMap<>();
+    host.put("a", Map.of("b", b));
+    PathWalker pw = new PathWalker("a.b.x", "a.b.y", "a.b.z", "a.q.z").compiled();
+    assertEquals(3, pw.writeValues(host, 1, 2, 3, 4));
+    assertEquals(Map.of("x", 1, "y", 2, "z", 3), b);
+    assertEquals(1, reads[0]);
+  }
+
+  @Test
+  public void compiledWrite04() throws MalformedURLException {
+    PathWalker pw = new PathWalker("departments.0.employees.0.extraInfo.hobbies");
+    Company shell = shell();
+    assertTrue(pw.compiled().write(shell, "chess"));
+    assertEquals("chess", pw.read(shell));
+  }
+
 }
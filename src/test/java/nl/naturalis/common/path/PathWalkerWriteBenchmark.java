@@ -0,0 +1,152 @@
+package nl.naturalis.common.path;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares writing 120 paths per record with a non-compiled and a compiled
+ * {@link PathWalker}. The record consists of 10 nested sections, 5 of them maps
+ * and 5 of them beans, each with 12 values. Run from the command line after
+ * {@code mvn test-compile}:
+ *
+ * <blockquote><pre>{@code
+ * java -cp target/classes:target/test-classes:<jmh jars> \
+ *   nl.naturalis.common.path.PathWalkerWriteBenchmark
+ * }</pre></blockquote>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathWalkerWriteBenchmark {
+
+  private static final String[] BEAN_PROPS = {"firstName",
+      "lastName",
+      "street",
+      "number",
+      "city",
+      "zipCode",
+      "birthDate",
+      "email",
+      "phone",
+      "title",
+      "department",
+      "salary"};
+
+  public static class Contact {
+
+    private String firstName;
+    private String lastName;
+    private String street;
+    private String number;
+    private String city;
+    private String zipCode;
+    private String birthDate;
+    private String email;
+    private String phone;
+    private String title;
+    private String department;
+    private String salary;
+
+    public String getFirstName() {return firstName;}
+
+    public void setFirstName(String firstName) {this.firstName = firstName;}
+
+    public String getLastName() {return lastName;}
+
+    public void setLastName(String lastName) {this.lastName = lastName;}
+
+    public String getStreet() {return street;}
+
+    public void setStreet(String street) {this.street = street;}
+
+    public String getNumber() {return number;}
+
+    public void setNumber(String number) {this.number = number;}
+
+    public String getCity() {return city;}
+
+    public void setCity(String city) {this.city = city;}
+
+    public String getZipCode() {return zipCode;}
+
+    public void setZipCode(String zipCode) {this.zipCode = zipCode;}
+
+    public String getBirthDate() {return birthDate;}
+
+    public void setBirthDate(String birthDate) {this.birthDate = birthDate;}
+
+    public String getEmail() {return email;}
+
+    public void setEmail(String email) {this.email = email;}
+
+    public String getPhone() {return phone;}
+
+    public void setPhone(String phone) {this.phone = phone;}
+
+    public String getTitle() {return title;}
+
+    public void setTitle(String title) {this.title = title;}
+
+    public String getDepartment() {return department;}
+
+    public void setDepartment(String department) {this.department = department;}
+
+    public String getSalary() {return salary;}
+
+    public void setSalary(String salary) {this.salary = salary;}
+
+  }
+
+  private final Map<String, Object> host = new HashMap<>();
+  private final Object[] values;
+  private final PathWalker walker;
+  private final PathWalker compiled;
+
+  public PathWalkerWriteBenchmark() {
+    List<Path> paths = new ArrayList<>();
+    for (int i = 0; i < 5; ++i) {
+      host.put("map" + i, new HashMap<>());
+      host.put("bean" + i, new Contact());
+      for (int j = 0; j < 12; ++j) {
+        paths.add(Path.of("map" + i, "field" + j));
+      }
+      for (String prop : BEAN_PROPS) {
+        paths.add(Path.of("bean" + i, prop));
+      }
+    }
+    values = new Object[paths.size()];
+    for (int i = 0; i < values.length; ++i) {
+      values[i] = "value" + i;
+    }
+    walker = new PathWalker(paths);
+    compiled = walker.compiled();
+  }
+
+  @Benchmark
+  public int writeValues() {
+    return walker.writeValues(host, values);
+  }
+
+  @Benchmark
+  public int writeValuesCompiled() {
+    return compiled.writeValues(host, values);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(PathWalkerWriteBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+}
@@ -0,0 +1,77 @@
+package nl.naturalis.common.util;
+
+import nl.naturalis.common.path.Path;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building a nested map from a flat row of 240 key-value pairs through
+ * individual {@code set} calls and through {@code setAll}. The paths are three
+ * segments deep and grouped by prefix. Run from the command line after
+ * {@code mvn test-compile}:
+ *
+ * <blockquote><pre>{@code
+ * java -cp target/classes:target/test-classes:<jmh jars> \
+ *   nl.naturalis.common.util.MapBuilderBenchmark
+ * }</pre></blockquote>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapBuilderBenchmark {
+
+  private final Map<String, Object> row = new LinkedHashMap<>();
+  private final List<Path> paths = new ArrayList<>();
+  private Object[] values;
+
+  @Setup
+  public void setup() {
+    for (int i = 0; i < 10; ++i) {
+      for (int j = 0; j < 3; ++j) {
+        for (int k = 0; k < 8; ++k) {
+          String path = "section" + i + ".group" + j + ".field" + k;
+          row.put(path, k);
+          paths.add(Path.from(path));
+        }
+      }
+    }
+    values = row.values().toArray();
+  }
+
+  @Benchmark
+  public Map<String, Object> set() {
+    MapBuilder mb = new MapBuilder();
+    row.forEach(mb::set);
+    return mb.createMap();
+  }
+
+  @Benchmark
+  public Map<String, Object> setAllMap() {
+    return new MapBuilder().setAll(row).createMap();
+  }
+
+  @Benchmark
+  public Map<String, Object> setAllPaths() {
+    return new MapBuilder().setAll(paths, values).createMap();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(MapBuilderBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .build()).run();
+  }
+
+}
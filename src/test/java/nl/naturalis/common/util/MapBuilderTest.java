@@ -3,9 +3,12 @@ package nl.naturalis.common.util;
 import java.io.File;
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import nl.naturalis.common.Result;
+import nl.naturalis.common.path.Path;
 import org.junit.Test;
 import nl.naturalis.common.util.MapBuilder.PathBlockedException;
 
@@ -514,4 +517,195 @@ public class MapBuilderTest {
     assertEquals("", mw.where());
   }
 
+  @Test
+  public void persistent00() {
+    MapBuilder mb = new MapBuilder(true);
+    mb.set("person.address.street", "Sunset Blvd")
+        .set("person.firstName", "John")
+        .set("car.brand", null);
+    Map<String, Object> snapshot = mb.createMap();
+    mb.set("person.lastName", "Smith").unset("car.brand");
+    assertEquals("{person={address={street=Sunset Blvd}, firstName=John}, car={brand=null}}",
+        snapshot.toString());
+    assertEquals("{person={address={street=Sunset Blvd}, firstName=John, lastName=Smith}, car={}}",
+        mb.createMap().toString());
+    // snapshots are ordinary maps as far as equals() is concerned
+    MapBuilder mb2 = new MapBuilder();
+    mb2.set("person.address.street", "Sunset Blvd")
+        .set("person.firstName", "John")
+        .set("person.lastName", "Smith")
+        .in("car");
+    assertEquals(mb2.createMap(), mb.createMap());
+    assertTrue(snapshot.containsKey("car"));
+    assertNull(((Map) snapshot.get("car")).get("brand"));
+  }
+
+  @Test
+  public void persistent01() {
+    MapBuilder mb = new MapBuilder(true);
+    mb.set("person.address.street", "Sunset Blvd").set("car.brand", "BMW");
+    Map<String, Object> snapshot1 = mb.createMap();
+    mb.set("person.firstName", "John");
+    Map<String, Object> snapshot2 = mb.createMap();
+    // unchanged branches are shared
+    assertSame(snapshot1.get("car"), snapshot2.get("car"));
+    assertNotSame(snapshot1.get("person"), snapshot2.get("person"));
+    assertSame(((Map) snapshot1.get("person")).get("address"),
+        ((Map) snapshot2.get("person")).get("address"));
+    // no writes in between
+    assertSame(snapshot2, mb.createMap());
+  }
+
+  @Test
+  public void persistent02() {
+    MapBuilder mb = new MapBuilder(true);
+    mb.set("person.firstName", "John");
+    Map<String, Object> snapshot = mb.createMap();
+    assertThrows(UnsupportedOperationException.class, () -> snapshot.put("foo", "bar"));
+    assertThrows(UnsupportedOperationException.class, () -> snapshot.remove("person"));
+    assertThrows(UnsupportedOperationException.class, () -> snapshot.clear());
+    Map person = (Map) snapshot.get("person");
+    assertThrows(UnsupportedOperationException.class, () -> person.put("lastName", "Smith"));
+    assertEquals(Result.of(person), mb.get("person"));
+  }
+
+  @Test
+  public void derive00() {
+    MapBuilder template = new MapBuilder(true)
+        .set("person.address.country", "US")
+        .set("person.address.state", "CA")
+        .set("company.name", "ACME");
+    MapBuilder mb1 = template.derive().set("person.firstName", "John");
+    MapBuilder mb2 = template.derive().set("person.firstName", "Jane");
+    template.set("person.lastName", "Smith");
+    assertEquals("{person={address={country=US, state=CA}, firstName=John}, company={name=ACME}}",
+        mb1.toString());
+    assertEquals("{person={address={country=US, state=CA}, firstName=Jane}, company={name=ACME}}",
+        mb2.toString());
+    assertEquals("{person={address={country=US, state=CA}, lastName=Smith}, company={name=ACME}}",
+        template.toString());
+    Map<String, Object> map1 = mb1.createMap();
+    Map<String, Object> map2 = mb2.createMap();
+    assertSame(map1.get("company"), map2.get("company"));
+    assertSame(((Map) map1.get("person")).get("address"),
+        ((Map) map2.get("person")).get("address"));
+  }
+
+  @Test
+  public void derive01() {
+    MapBuilder mb = new MapBuilder().in("person.address").set("street", "Sunset Blvd");
+    MapBuilder derived = mb.derive();
+    assertEquals("person.address", derived.where());
+    derived.set("state", "CA").up("person").set("firstName", "John");
+    mb.set("zipCode", "CA 12345");
+    assertEquals("{person={address={street=Sunset Blvd, zipCode=CA 12345}}}",
+        mb.reset().toString());
+    assertEquals("{person={address={street=Sunset Blvd, state=CA}, firstName=John}}",
+        derived.reset().toString());
+    // not in persistent mode
+    Map<String, Object> map = derived.reset().createMap();
+    map.put("foo", "bar");
+    assertFalse(derived.isSet("foo"));
+  }
+
+  @Test
+  public void setAll00() {
+    Map<String, Object> row = new LinkedHashMap<>();
+    row.put("person.address.street", "Sunset Blvd");
+    row.put("person.address.state", "CA");
+    row.put("person.firstName", "John");
+    row.put("car.brand", null);
+    row.put("person.lastName", "Smith");
+    row.put("person.address.zipCode", "CA 12345");
+    row.put("id", 42);
+    MapBuilder mb1 = new MapBuilder().setAll(row);
+    MapBuilder mb2 = new MapBuilder();
+    row.forEach(mb2::set);
+    assertEquals(mb2.toString(), mb1.toString());
+    assertEquals("{person={address={street=Sunset Blvd, state=CA, zipCode=CA 12345},"
+            + " firstName=John, lastName=Smith}, car={brand=null}, id=42}",
+        mb1.toString());
+  }
+
+  @Test
+  public void setAll01() {
+    MapBuilder mb = new MapBuilder().in("department");
+    mb.set("name", "Sales");
+    mb.setAll(List.of(Path.from("manager.address.street"),
+            Path.from("manager.address.state"),
+            Path.from("manager.name"),
+            Path.from("budget")),
+        new Object[] {"Sunset Blvd", "CA", "John", 1000});
+    assertEquals("department", mb.where());
+    assertEquals("{department={name=Sales, manager={address={street=Sunset Blvd,"
+        + " state=CA}, name=John}, budget=1000}}", mb.reset().toString());
+  }
+
+  @Test(expected = PathBlockedException.class)
+  public void setAll02() {
+    Map<String, Object> row = new LinkedHashMap<>();
+    row.put("person.address", "Sunset Blvd");
+    row.put("person.address.street", "Sunset Blvd");
+    new MapBuilder().setAll(row);
+  }
+
+  @Test(expected = PathBlockedException.class)
+  public void setAll03() {
+    new MapBuilder().setAll(List.of(Path.from("person.name"), Path.from("person.name")),
+        new Object[] {"John", "Jim"});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void setAll04() {
+    new MapBuilder().setAll(List.of(Path.from("person.name")), new Object[] {"John", "Jim"});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void setAll05() {
+    new MapBuilder().setAll(List.of(Path.from("person.name"), Path.of("person", null, "street")),
+        new Object[] {"John", "Sunset Blvd"});
+  }
+
+  @Test
+  public void setAll06() {
+    MapBuilder mb = new MapBuilder(true).setAll(Map.of("person.address.street", "Sunset Blvd"));
+    Map<String, Object> snapshot = mb.createMap();
+    mb.setAll(Map.of("person.address.state", "CA"));
+    assertEquals("{person={address={street=Sunset Blvd}}}", snapshot.toString());
+    assertEquals("{person={address={street=Sunset Blvd, state=CA}}}", mb.toString());
+  }
+
+  @Test
+  public void setAll07() {
+    Map<String, Object> row = new LinkedHashMap<>();
+    row.put("person.address.street", "Sunset Blvd");
+    row.put("person.address^.home", "CA");
+    row.put("person.addressLine", "Sunset Blvd, CA");
+    row.put("person.address.state", "CA");
+    row.put("person", null);
+    MapBuilder mb = new MapBuilder();
+    try {
+      mb.setAll(row);
+      fail();
+    } catch (PathBlockedException e) {
+      assertEquals("path \"person\" blocked by terminal value {address={street=Sunset Blvd,"
+          + " state=CA}, address.home=CA, addressLine=Sunset Blvd, CA}", e.getMessage());
+    }
+    assertEquals("{person={address={street=Sunset Blvd, state=CA}, address.home=CA,"
+        + " addressLine=Sunset Blvd, CA}}", mb.toString());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void setAll08() {
+    Map<String, Object> row = new LinkedHashMap<>();
+    row.put("person.name", "John");
+    row.put("person..street", "Sunset Blvd");
+    new MapBuilder().setAll(row);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void setAll09() {
+    new MapBuilder().setAll(Map.of("person.", "John"));
+  }
+
 }
@@ -94,4 +94,41 @@ public class ArraySetTest {
     assertEquals(pack(0, 1, 2, 3, 4, 5, null), set.toArray(new Integer[7]));
   }
 
+  @Test
+  public void contains01() {
+    List<Integer> list = new ArrayList<>();
+    for (int i = 0; i < 100; ++i) {
+      list.add(i * 31);
+    }
+    ArraySet<Integer> set = ArraySet.copyOf(list, false);
+    for (int i = 0; i < 100; ++i) {
+      assertTrue(set.contains(i * 31));
+      assertFalse(set.contains(i * 31 + 1));
+    }
+    assertFalse(set.contains(null));
+    assertFalse(set.contains("foo"));
+    assertTrue(set.containsAll(list.subList(40, 60)));
+    assertFalse(set.containsAll(List.of(0, 31, 32)));
+  }
+
+  @Test
+  public void contains02() {
+    // all elements end up in the same hash bucket
+    record Colliding(int i) {
+      @Override
+      public int hashCode() {
+        return 42;
+      }
+    }
+    Colliding[] elems = new Colliding[20];
+    for (int i = 0; i < elems.length; ++i) {
+      elems[i] = new Colliding(i);
+    }
+    ArraySet<Colliding> set = ArraySet.of(elems, false);
+    for (int i = 0; i < elems.length; ++i) {
+      assertTrue(set.contains(new Colliding(i)));
+    }
+    assertFalse(set.contains(new Colliding(20)));
+  }
+
 }
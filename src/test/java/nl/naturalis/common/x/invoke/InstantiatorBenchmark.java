@@ -0,0 +1,91 @@
+package nl.naturalis.common.x.invoke;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Compares creating objects through the instantiators in {@link InvokeUtils}
+ * with {@code new} and with the underlying {@code MethodHandle}. Run from the
+ * command line after {@code mvn test-compile}:
+ *
+ * <blockquote><pre>{@code
+ * java -cp target/classes:target/test-classes:<jmh jars> \
+ *   nl.naturalis.common.x.invoke.InstantiatorBenchmark
+ * }</pre></blockquote>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstantiatorBenchmark {
+
+  private MethodHandle noArg;
+  private MethodHandle intArg;
+  private Supplier<ArrayList> supplier;
+  private IntFunction<ArrayList> intFunction;
+
+  @Setup
+  public void setup() throws Exception {
+    noArg = InvokeUtils.getNoArgConstructor(ArrayList.class);
+    intArg = InvokeUtils.getIntArgConstructor(ArrayList.class);
+    supplier = InvokeUtils.getNoArgInstantiator(ArrayList.class);
+    intFunction = InvokeUtils.getIntArgInstantiator(ArrayList.class);
+  }
+
+  @Benchmark
+  public Object noArgNew() {
+    return new ArrayList<>();
+  }
+
+  @Benchmark
+  public Object noArgMethodHandle() throws Throwable {
+    return noArg.invoke();
+  }
+
+  @Benchmark
+  public Object noArgInstantiator() {
+    return supplier.get();
+  }
+
+  @Benchmark
+  public Object noArgNewInstance() {
+    return InvokeUtils.newInstance(ArrayList.class);
+  }
+
+  @Benchmark
+  public Object intArgNew() {
+    return new ArrayList<>(8);
+  }
+
+  @Benchmark
+  public Object intArgMethodHandle() throws Throwable {
+    return intArg.invoke(8);
+  }
+
+  @Benchmark
+  public Object intArgInstantiator() {
+    return intFunction.apply(8);
+  }
+
+  @Benchmark
+  public Object intArgNewInstance() {
+    return InvokeUtils.newInstance(ArrayList.class, 8);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(InstantiatorBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+}
@@ -1,5 +1,6 @@
 package nl.naturalis.common.x.invoke;
 
+import nl.naturalis.common.invoke.InvokeException;
 import org.junit.Test;
 
 import java.lang.invoke.MethodHandle;
@@ -7,9 +8,17 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 import java.lang.invoke.WrongMethodTypeException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 
 import static nl.naturalis.common.ClassMethods.simpleClassName;
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 public class InvokeUtilsTest {
 
@@ -149,4 +158,53 @@ public class InvokeUtilsTest {
     assertEquals(ld, LocalDate.of(2000, 4, 4));
   }
 
+  @Test
+  public void instantiator00() {
+    Supplier<ArrayList> s = InvokeUtils.getNoArgInstantiator(ArrayList.class);
+    assertNotSame(s.get(), s.get());
+    assertSame(s, InvokeUtils.getNoArgInstantiator(ArrayList.class));
+    assertEquals(HashSet.class, InvokeUtils.newInstance(HashSet.class).getClass());
+  }
+
+  @Test
+  public void instantiator01() {
+    IntFunction<ArrayList> f = InvokeUtils.getIntArgInstantiator(ArrayList.class);
+    assertTrue(f.apply(7).isEmpty());
+    assertEquals(ArrayList.class, InvokeUtils.newInstance(ArrayList.class, 3).getClass());
+  }
+
+  @Test
+  public void instantiator02() throws Throwable {
+    // Abstract classes cannot be spun into a Supplier
+    MethodHandle mh = InvokeUtils.getNoArgConstructor(Number.class);
+    assertNotNull(mh);
+  }
+
+  @Test(expected = InvokeException.class)
+  public void instantiator03() {
+    InvokeUtils.newInstance(LocalDate.class);
+  }
+
+  @Test(expected = InvokeException.class)
+  public void instantiator04() {
+    InvokeUtils.getIntArgInstantiator(LocalDate.class);
+  }
+
+  @Test
+  public void instantiator05() throws Exception {
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Supplier<HashSet>>> futures = new ArrayList<>();
+      for (int i = 0; i < 16; ++i) {
+        futures.add(pool.submit(() -> InvokeUtils.getNoArgInstantiator(HashSet.class)));
+      }
+      Supplier<HashSet> first = futures.get(0).get();
+      for (Future<Supplier<HashSet>> f : futures) {
+        assertSame(first, f.get());
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
 }